@@ -8,6 +8,7 @@ plugins {
 }
 
 dependencies {
+  jmhImplementation("io.opentelemetry:opentelemetry-api")
   jmhImplementation("org.springframework.boot:spring-boot-starter-web:2.5.2")
 }
 
@@ -0,0 +1,16 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.benchmark.executors;
+
+import org.openjdk.jmh.annotations.Fork;
+
+@Fork(
+    jvmArgsAppend = {
+      "-Dotel.traces.sampler=traceidratio",
+      "-Dotel.traces.sampler.arg=0.01",
+      "-Dotel.instrumentation.executors.experimental.propagation-policy=sampled"
+    })
+public class ExecutorWithSampledPropagationPolicyBenchmark extends ExecutorBenchmark {}
@@ -0,0 +1,50 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.benchmark.forkjoin;
+
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Maps and reduces a parallel stream of a million elements from within a span, so that the context
+ * is propagated to the fork/join subtasks of the stream.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class ParallelStreamBenchmark {
+
+  private Tracer tracer;
+  private List<Long> values;
+
+  @Setup
+  public void setup() {
+    tracer = GlobalOpenTelemetry.getTracer("benchmark");
+    values = LongStream.range(0, 1_000_000).boxed().collect(Collectors.toList());
+  }
+
+  @Benchmark
+  public long mapReduce() {
+    Span span = tracer.spanBuilder("request").startSpan();
+    try (io.opentelemetry.context.Scope ignored = span.makeCurrent()) {
+      return values.parallelStream().map(value -> value * 31).reduce(0L, Long::sum);
+    } finally {
+      span.end();
+    }
+  }
+}
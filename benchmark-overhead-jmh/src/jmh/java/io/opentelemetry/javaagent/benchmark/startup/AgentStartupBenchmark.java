@@ -0,0 +1,69 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.benchmark.startup;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long it takes to start a JVM running the agent and an application that exits right
+ * away. The agent is the same one that the benchmark JVM is running with.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@State(Scope.Benchmark)
+public class AgentStartupBenchmark {
+
+  @Param({"disabled", "sequential", "parallel"})
+  public String agent;
+
+  private List<String> command;
+
+  @Setup
+  public void setup() {
+    String agentArgument =
+        ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+            .filter(argument -> argument.startsWith("-javaagent:"))
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("Benchmark must run with the agent"));
+
+    command = new ArrayList<>();
+    command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+    command.add(agentArgument);
+    command.add("-Dotel.traces.exporter=none");
+    command.add("-Dotel.metrics.exporter=none");
+    command.add("-Dotel.logs.exporter=none");
+    command.add("-Dotel.javaagent.enabled=" + !agent.equals("disabled"));
+    command.add(
+        "-Dotel.javaagent.experimental.parallel-module-preparation.enabled="
+            + agent.equals("parallel"));
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    command.add(EmptyApplication.class.getName());
+  }
+
+  @Benchmark
+  public int startup() throws IOException, InterruptedException {
+    Process process = new ProcessBuilder(command).inheritIO().start();
+    return process.waitFor();
+  }
+}
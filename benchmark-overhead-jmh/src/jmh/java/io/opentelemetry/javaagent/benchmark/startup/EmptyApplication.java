@@ -0,0 +1,14 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.benchmark.startup;
+
+/** An application that exits right away, so that the JVM run time is dominated by the premain. */
+public class EmptyApplication {
+
+  public static void main(String... args) {}
+
+  private EmptyApplication() {}
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.benchmark.virtualthreads;
+
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Scope;
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Starts the given number of virtual threads from within a span and waits for all of them to
+ * finish. Each thread checks whether the span was propagated to it; when the agent is enabled, the
+ * application exits with a non-zero status if any of them didn't get it. Virtual threads are
+ * started reflectively, they are only available on Java 21+.
+ */
+public class VirtualThreadsApplication {
+
+  public static void main(String... args) throws Exception {
+    int threadCount = Integer.parseInt(args[0]);
+    boolean agentEnabled = Boolean.parseBoolean(args[1]);
+    Method startVirtualThread = Thread.class.getMethod("startVirtualThread", Runnable.class);
+
+    LongAdder propagated = new LongAdder();
+    Runnable task =
+        () -> {
+          if (Span.current().getSpanContext().isValid()) {
+            propagated.increment();
+          }
+        };
+
+    Span parent = GlobalOpenTelemetry.getTracer("benchmark").spanBuilder("parent").startSpan();
+    try (Scope ignored = parent.makeCurrent()) {
+      Thread[] threads = new Thread[threadCount];
+      for (int i = 0; i < threadCount; i++) {
+        threads[i] = (Thread) startVirtualThread.invoke(null, task);
+      }
+      for (Thread thread : threads) {
+        thread.join();
+      }
+    } finally {
+      parent.end();
+    }
+    if (agentEnabled && propagated.sum() != threadCount) {
+      System.err.println(
+          "Context propagated to " + propagated.sum() + " of " + threadCount + " virtual threads");
+      System.exit(1);
+    }
+  }
+
+  private VirtualThreadsApplication() {}
+}
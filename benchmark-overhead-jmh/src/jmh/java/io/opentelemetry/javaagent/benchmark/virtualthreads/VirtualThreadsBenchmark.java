@@ -0,0 +1,81 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.benchmark.virtualthreads;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long it takes a JVM to start a million virtual threads from within a span and wait
+ * for them, with and without the agent. The agent is the same one that the benchmark JVM is running
+ * with. Fails when the context is not propagated to all the threads. Requires Java 21+.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@State(Scope.Benchmark)
+public class VirtualThreadsBenchmark {
+
+  private static final int THREADS = 1_000_000;
+
+  @Param({"disabled", "enabled"})
+  public String agent;
+
+  private List<String> command;
+
+  @Setup
+  public void setup() {
+    String javaVersion = System.getProperty("java.specification.version");
+    if (javaVersion.startsWith("1.") || Integer.parseInt(javaVersion) < 21) {
+      throw new IllegalStateException("Virtual threads require Java 21+");
+    }
+    String agentArgument =
+        ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+            .filter(argument -> argument.startsWith("-javaagent:"))
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("Benchmark must run with the agent"));
+
+    command = new ArrayList<>();
+    command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+    command.add(agentArgument);
+    command.add("-Dotel.traces.exporter=none");
+    command.add("-Dotel.metrics.exporter=none");
+    command.add("-Dotel.logs.exporter=none");
+    boolean agentEnabled = agent.equals("enabled");
+    command.add("-Dotel.javaagent.enabled=" + agentEnabled);
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    command.add(VirtualThreadsApplication.class.getName());
+    command.add(String.valueOf(THREADS));
+    command.add(String.valueOf(agentEnabled));
+  }
+
+  @Benchmark
+  public int startVirtualThreads() throws IOException, InterruptedException {
+    Process process = new ProcessBuilder(command).inheritIO().start();
+    int exitCode = process.waitFor();
+    if (exitCode != 0) {
+      // e.g. the context was not propagated to all the virtual threads
+      throw new IllegalStateException("Application exited with " + exitCode);
+    }
+    return exitCode;
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.db;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the generated and the hand-written lexers on cache misses, i.e. without the cache of the
+ * {@link SqlStatementSanitizer}.
+ */
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+public class SqlStatementSanitizerBenchmark {
+
+  private static final String[] STATEMENTS = {
+    "SELECT id, name, email FROM users WHERE id = 42",
+    "select u.id, u.name from users u where u.email = 'john.doe@example.com' and u.active = 1",
+    "SELECT * FROM orders o JOIN order_items i ON o.id = i.order_id WHERE o.created > '2022-01-01'",
+    "INSERT INTO audit_log (user_id, action, created_at) VALUES (17, 'login', 1669112325000)",
+    "insert into \"events\" (\"type\", \"payload\") values ('click', '{\"x\": 12, \"y\": -3.5}')",
+    "UPDATE accounts SET balance = balance - 100.25, version = version + 1 WHERE id = 9876543",
+    "DELETE FROM sessions WHERE expires_at < 1669112325 AND user_id IN (1, 2, 3, 4, 5)",
+    "MERGE INTO inventory t USING (SELECT ? sku, ? qty FROM dual) s ON (t.sku = s.sku)",
+    "/* controller:users,action:show */ SELECT `users`.* FROM `users` WHERE `users`.`id` = 1 LIMIT"
+        + " 1",
+    "select this_.id as id1_0_0_, this_.name as name2_0_0_ from product this_ where this_.id=?",
+    "SELECT count(*) FROM (SELECT DISTINCT customer_id FROM orders WHERE total > 1000) t",
+    "SELECT * FROM measurements WHERE sensor = 0x1f2e3d AND value BETWEEN -1.5e3 AND 2.5E+3",
+    "FROM Customer c WHERE c.status = 'ACTIVE' ORDER BY c.lastName",
+    "SELECT p.* FROM products p WHERE p.description = 'na\u00efve caf\u00e9'",
+  };
+
+  @Param({"generated", "handWritten"})
+  String lexer;
+
+  private int index;
+
+  @Benchmark
+  public SqlStatementInfo sanitize() {
+    String statement = STATEMENTS[index];
+    index = (index + 1) % STATEMENTS.length;
+    if (lexer.equals("generated")) {
+      return AutoSqlSanitizer.sanitize(statement, SqlDialect.DEFAULT);
+    }
+    return FastSqlSanitizer.sanitize(statement, SqlDialect.DEFAULT);
+  }
+}
@@ -0,0 +1,516 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.db;
+
+import javax.annotation.Nullable;
+
+/**
+ * A hand-written, single pass implementation of the {@code SqlSanitizer.jflex} lexer that works
+ * directly on the statement string and writes the sanitized statement into a single buffer. It
+ * produces exactly the same results as {@link AutoSqlSanitizer}, but only handles the ASCII subset
+ * of the grammar: statements that contain non-ASCII characters outside of quoted strings, that
+ * contain unterminated quoted strings or that would have to be truncated are passed to the
+ * generated lexer instead.
+ */
+final class FastSqlSanitizer {
+
+  // must be the same as AutoSqlSanitizer.LIMIT
+  private static final int LIMIT = 32 * 1024;
+
+  // you can reference a table in the FROM clause in one of the following ways:
+  //   table
+  //   table t
+  //   table as t
+  // in other words, you need max 3 identifiers to reference a table
+  private static final int FROM_TABLE_REF_MAX_IDENTIFIERS = 3;
+
+  private static final int NO_OP = 0;
+  private static final int SELECT = 1;
+  private static final int INSERT = 2;
+  private static final int DELETE = 3;
+  private static final int UPDATE = 4;
+  private static final int MERGE = 5;
+
+  private static final String[] OPERATION_NAMES = {
+    null, "SELECT", "INSERT", "DELETE", "UPDATE", "MERGE"
+  };
+
+  static SqlStatementInfo sanitize(String statement, SqlDialect dialect) {
+    SqlStatementInfo result = trySanitize(statement, dialect);
+    return result != null ? result : AutoSqlSanitizer.sanitize(statement, dialect);
+  }
+
+  /**
+   * Returns the sanitized statement, or {@code null} if the statement contains a construct that
+   * only the generated lexer handles.
+   */
+  // visible for tests
+  @Nullable
+  static SqlStatementInfo trySanitize(String statement, SqlDialect dialect) {
+    // none of the rules makes the statement longer, so a statement that is not over the limit
+    // never needs to be truncated
+    if (statement.length() > LIMIT) {
+      return null;
+    }
+    return new FastSqlSanitizer(statement, dialect).scan();
+  }
+
+  private final String statement;
+  private final SqlDialect dialect;
+  private final char[] buffer;
+  private int bufferLength = 0;
+
+  private int parenLevel = 0;
+  private boolean insideComment = false;
+  private int operation = NO_OP;
+  private boolean extractionDone = false;
+
+  // operation specific state, see the Operation subclasses in SqlSanitizer.jflex
+  private boolean expectingTableName = false;
+  private boolean mainTableSetAlready = false;
+  private int identifiersAfterMainFromClause = 0;
+  // the main table is kept as a range of the statement until the result is created
+  private int mainTableStart = -1;
+  private int mainTableEnd = -1;
+
+  private FastSqlSanitizer(String statement, SqlDialect dialect) {
+    this.statement = statement;
+    this.dialect = dialect;
+    this.buffer = new char[statement.length()];
+  }
+
+  @Nullable
+  private SqlStatementInfo scan() {
+    String statement = this.statement;
+    int length = statement.length();
+    int i = 0;
+    while (i < length) {
+      char c = statement.charAt(i);
+      int end;
+      if (isIdentifierStart(c)) {
+        end = identifierEnd(i + 1);
+        if (end < 0) {
+          return null;
+        }
+        handleWord(i, end);
+        append(i, end);
+      } else if (isNumberStart(c)) {
+        end = numberEnd(i);
+        if (end < 0) {
+          // a lone '.', '+' or '-'
+          end = i + 1;
+          append(c);
+        } else {
+          append('?');
+        }
+      } else {
+        switch (c) {
+          case ' ':
+          case '\t':
+          case '\r':
+          case '\n':
+            end = i + 1;
+            while (end < length && isWhitespace(statement.charAt(end))) {
+              end++;
+            }
+            append(' ');
+            break;
+          case ',':
+            end = i + 1;
+            if (!insideComment && !extractionDone) {
+              extractionDone = handleComma();
+            }
+            append(c);
+            break;
+          case '(':
+            end = i + 1;
+            if (!insideComment) {
+              parenLevel += 1;
+            }
+            append(c);
+            break;
+          case ')':
+            end = i + 1;
+            if (!insideComment) {
+              parenLevel -= 1;
+            }
+            append(c);
+            break;
+          case '/':
+            end = i + 1;
+            if (end < length && statement.charAt(end) == '*') {
+              end++;
+              insideComment = true;
+            }
+            append(i, end);
+            break;
+          case '*':
+            end = i + 1;
+            if (end < length && statement.charAt(end) == '/') {
+              end++;
+              insideComment = false;
+            }
+            append(i, end);
+            break;
+          case '\'':
+            end = quotedStringEnd(i, '\'');
+            if (end < 0) {
+              return null;
+            }
+            append('?');
+            break;
+          case '"':
+            end = quotedStringEnd(i, '"');
+            if (end < 0) {
+              return null;
+            }
+            if (dialect == SqlDialect.COUCHBASE) {
+              append('?');
+            } else {
+              handleQuotedIdentifier(i, end);
+              append(i, end);
+            }
+            break;
+          case '`':
+            end = statement.indexOf('`', i + 1) + 1;
+            if (end == 0) {
+              return null;
+            }
+            handleQuotedIdentifier(i, end);
+            append(i, end);
+            break;
+          case '$':
+            end = i + 1;
+            if (end < length && statement.charAt(end) == '$') {
+              int closing = statement.indexOf('$', i + 2);
+              if (closing < 0 || closing + 1 >= length || statement.charAt(closing + 1) != '$') {
+                return null;
+              }
+              end = closing + 2;
+              append('?');
+            } else {
+              append(c);
+            }
+            break;
+          default:
+            if (c >= 0x80) {
+              // might be a unicode letter starting an identifier
+              return null;
+            }
+            end = i + 1;
+            append(c);
+        }
+      }
+      i = end;
+    }
+    return getResult();
+  }
+
+  private void handleWord(int start, int end) {
+    int length = end - start;
+    if (length == 6) {
+      if (matches(start, "SELECT")) {
+        setOperation(SELECT);
+        return;
+      }
+      if (matches(start, "INSERT")) {
+        setOperation(INSERT);
+        return;
+      }
+      if (matches(start, "DELETE")) {
+        setOperation(DELETE);
+        return;
+      }
+      if (matches(start, "UPDATE")) {
+        setOperation(UPDATE);
+        return;
+      }
+    } else if (length == 5) {
+      if (matches(start, "MERGE")) {
+        setOperation(MERGE);
+        return;
+      }
+    } else if (length == 4) {
+      if (matches(start, "FROM")) {
+        if (!insideComment && !extractionDone) {
+          if (operation == NO_OP) {
+            // hql/jpql queries may skip SELECT and start with FROM clause
+            // treat such queries as SELECT queries
+            operation = SELECT;
+          }
+          extractionDone = handleFrom();
+        }
+        return;
+      }
+      if (matches(start, "INTO")) {
+        if (!insideComment && !extractionDone) {
+          extractionDone = handleInto();
+        }
+        return;
+      }
+      if (matches(start, "JOIN")) {
+        if (!insideComment && !extractionDone) {
+          extractionDone = handleJoin();
+        }
+        return;
+      }
+    }
+    if (!insideComment && !extractionDone) {
+      extractionDone = handleIdentifier(start, end);
+    }
+  }
+
+  private void handleQuotedIdentifier(int start, int end) {
+    if (!insideComment && !extractionDone) {
+      extractionDone = handleIdentifier(start, end);
+    }
+  }
+
+  private boolean matches(int start, String keyword) {
+    return statement.regionMatches(true, start, keyword, 0, keyword.length());
+  }
+
+  private void setOperation(int operation) {
+    if (!insideComment && this.operation == NO_OP) {
+      this.operation = operation;
+    }
+  }
+
+  /** Returns true if all statement info is gathered. */
+  private boolean handleFrom() {
+    if (operation == SELECT) {
+      if (parenLevel == 0) {
+        // main query FROM clause
+        expectingTableName = true;
+        return false;
+      }
+      // subquery in WITH or SELECT clause, before main FROM clause; skipping
+      clearMainTable();
+      return true;
+    }
+    if (operation == DELETE) {
+      expectingTableName = true;
+    }
+    return false;
+  }
+
+  /** Returns true if all statement info is gathered. */
+  private boolean handleInto() {
+    if (operation == INSERT) {
+      expectingTableName = true;
+    }
+    return false;
+  }
+
+  /** Returns true if all statement info is gathered. */
+  private boolean handleJoin() {
+    if (operation == SELECT) {
+      // for SELECT statements with joined tables there's no main table
+      clearMainTable();
+      return true;
+    }
+    return false;
+  }
+
+  /** Returns true if all statement info is gathered. */
+  private boolean handleComma() {
+    // comma was encountered in the FROM clause, i.e. implicit join
+    // (if less than 3 identifiers have appeared before first comma then it means that it's a table
+    // list; any other list that can appear later needs at least 4 idents)
+    if (operation == SELECT
+        && identifiersAfterMainFromClause > 0
+        && identifiersAfterMainFromClause <= FROM_TABLE_REF_MAX_IDENTIFIERS) {
+      clearMainTable();
+      return true;
+    }
+    return false;
+  }
+
+  /** Returns true if all statement info is gathered. */
+  private boolean handleIdentifier(int start, int end) {
+    switch (operation) {
+      case SELECT:
+        if (identifiersAfterMainFromClause > 0) {
+          ++identifiersAfterMainFromClause;
+        }
+        if (!expectingTableName) {
+          return false;
+        }
+        // SELECT FROM (subquery) case, or more than one table is used (e.g. unions)
+        if (parenLevel != 0 || mainTableSetAlready) {
+          clearMainTable();
+          return true;
+        }
+        setMainTable(start, end);
+        mainTableSetAlready = true;
+        expectingTableName = false;
+        // start counting identifiers after encountering main from clause
+        identifiersAfterMainFromClause = 1;
+        // continue scanning the query, there may be more than one table (e.g. joins)
+        return false;
+      case INSERT:
+      case DELETE:
+        if (!expectingTableName) {
+          return false;
+        }
+        setMainTable(start, end);
+        return true;
+      case UPDATE:
+      case MERGE:
+        setMainTable(start, end);
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private void setMainTable(int start, int end) {
+    mainTableStart = start;
+    mainTableEnd = end;
+  }
+
+  private void clearMainTable() {
+    mainTableStart = -1;
+    mainTableEnd = -1;
+  }
+
+  private SqlStatementInfo getResult() {
+    String fullStatement = new String(buffer, 0, bufferLength);
+    if (operation == NO_OP) {
+      return SqlStatementInfo.create(fullStatement, null, null);
+    }
+    return SqlStatementInfo.create(fullStatement, OPERATION_NAMES[operation], readMainTable());
+  }
+
+  @Nullable
+  private String readMainTable() {
+    if (mainTableStart < 0) {
+      return null;
+    }
+    char first = statement.charAt(mainTableStart);
+    if (first == '"' || first == '`') {
+      // quoted identifiers are returned without the enclosing quotes
+      return statement.substring(mainTableStart + 1, mainTableEnd - 1);
+    }
+    return statement.substring(mainTableStart, mainTableEnd);
+  }
+
+  private int identifierEnd(int start) {
+    String statement = this.statement;
+    int length = statement.length();
+    int i = start;
+    while (i < length) {
+      char c = statement.charAt(i);
+      if (isIdentifierStart(c) || isDigit(c) || c == '.') {
+        i++;
+      } else if (c >= 0x80) {
+        // might be a unicode letter continuing the identifier
+        return -1;
+      } else {
+        break;
+      }
+    }
+    return i;
+  }
+
+  /**
+   * Returns the end of the longest number starting at {@code start}, or -1 if there's no number
+   * there.
+   */
+  private int numberEnd(int start) {
+    String statement = this.statement;
+    int length = statement.length();
+    // [.+-]* [0-9] ([0-9] | [eE.+-])*
+    int i = start;
+    while (i < length && isSign(statement.charAt(i))) {
+      i++;
+    }
+    if (i == length || !isDigit(statement.charAt(i))) {
+      return -1;
+    }
+    int digitStart = i;
+    i++;
+    while (i < length) {
+      char c = statement.charAt(i);
+      if (isDigit(c) || isSign(c) || c == 'e' || c == 'E') {
+        i++;
+      } else {
+        break;
+      }
+    }
+    // "0x" ([a-f] | [A-F] | [0-9])+, the longer match wins
+    if (digitStart == start
+        && statement.charAt(start) == '0'
+        && start + 2 < length
+        && (statement.charAt(start + 1) == 'x' || statement.charAt(start + 1) == 'X')
+        && isHexDigit(statement.charAt(start + 2))) {
+      int hexEnd = start + 3;
+      while (hexEnd < length && isHexDigit(statement.charAt(hexEnd))) {
+        hexEnd++;
+      }
+      return Math.max(i, hexEnd);
+    }
+    return i;
+  }
+
+  /**
+   * Returns the end of the longest string quoted with {@code quote} (which is escaped by doubling
+   * it) starting at {@code start}, or -1 if the string is not terminated.
+   */
+  private int quotedStringEnd(int start, char quote) {
+    String statement = this.statement;
+    int length = statement.length();
+    int longestEnd = -1;
+    int i = start + 1;
+    while (i < length) {
+      int next = statement.indexOf(quote, i);
+      if (next < 0) {
+        break;
+      }
+      if (next + 1 < length && statement.charAt(next + 1) == quote) {
+        // either the end of the string or an escaped quote, the longer match wins
+        longestEnd = next + 1;
+        i = next + 2;
+      } else {
+        return next + 1;
+      }
+    }
+    return longestEnd;
+  }
+
+  private void append(char c) {
+    buffer[bufferLength++] = c;
+  }
+
+  private void append(int start, int end) {
+    statement.getChars(start, end, buffer, bufferLength);
+    bufferLength += end - start;
+  }
+
+  private static boolean isIdentifierStart(char c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_';
+  }
+
+  private static boolean isNumberStart(char c) {
+    return isDigit(c) || isSign(c);
+  }
+
+  private static boolean isSign(char c) {
+    return c == '.' || c == '+' || c == '-';
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static boolean isHexDigit(char c) {
+    return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+  }
+
+  private static boolean isWhitespace(char c) {
+    return c == ' ' || c == '\t' || c == '\r' || c == '\n';
+  }
+}
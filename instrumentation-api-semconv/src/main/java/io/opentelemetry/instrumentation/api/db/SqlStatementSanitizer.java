@@ -5,11 +5,11 @@
 
 package io.opentelemetry.instrumentation.api.db;
 
-import static io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics.CounterNames.SQL_STATEMENT_SANITIZER_CACHE_MISS;
-
 import com.google.auto.value.AutoValue;
-import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
+import io.opentelemetry.instrumentation.api.db.internal.SqlStatementSanitizerMetrics;
+import io.opentelemetry.instrumentation.api.internal.ConfigPropertiesUtil;
 import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import java.util.logging.Logger;
 import javax.annotation.Nullable;
 
 /**
@@ -17,10 +17,18 @@ import javax.annotation.Nullable;
  * statements and queries.
  */
 public final class SqlStatementSanitizer {
-  private static final SupportabilityMetrics supportability = SupportabilityMetrics.instance();
+  private static final Logger logger = Logger.getLogger(SqlStatementSanitizer.class.getName());
+
+  private static final String CACHE_MAX_BYTES_PROPERTY =
+      "otel.instrumentation.experimental.db-statement-sanitizer.cache-max-bytes";
+  private static final int DEFAULT_CACHE_MAX_BYTES = 2 * 1024 * 1024;
 
+  // the cache is bounded by the (approximate) memory used by the cached statements, so that a few
+  // huge generated statements cannot pin a lot of memory while short statements waste capacity
   private static final Cache<CacheKey, SqlStatementInfo> sqlToStatementInfoCache =
-      Cache.bounded(1000);
+      createCache(
+          cacheMaxBytes(
+              ConfigPropertiesUtil.getInt(CACHE_MAX_BYTES_PROPERTY, DEFAULT_CACHE_MAX_BYTES)));
 
   public static SqlStatementSanitizer create(boolean statementSanitizationEnabled) {
     return new SqlStatementSanitizer(statementSanitizationEnabled);
@@ -40,14 +48,46 @@ public final class SqlStatementSanitizer {
     if (!statementSanitizationEnabled || statement == null) {
       return SqlStatementInfo.create(statement, null, null);
     }
+    SqlStatementSanitizerMetrics.recordLookup();
     return sqlToStatementInfoCache.computeIfAbsent(
         CacheKey.create(statement, dialect),
         k -> {
-          supportability.incrementCounter(SQL_STATEMENT_SANITIZER_CACHE_MISS);
-          return AutoSqlSanitizer.sanitize(statement, dialect);
+          SqlStatementSanitizerMetrics.recordMiss();
+          return FastSqlSanitizer.sanitize(statement, dialect);
         });
   }
 
+  // visible for testing
+  static int cacheMaxBytes(int configured) {
+    if (configured <= 0) {
+      logger.warning(
+          CACHE_MAX_BYTES_PROPERTY
+              + " must be positive, got "
+              + configured
+              + "; using the default of "
+              + DEFAULT_CACHE_MAX_BYTES
+              + " instead");
+      return DEFAULT_CACHE_MAX_BYTES;
+    }
+    return configured;
+  }
+
+  // visible for testing
+  static Cache<CacheKey, SqlStatementInfo> createCache(long maxBytes) {
+    return Cache.weighted(
+        maxBytes,
+        SqlStatementSanitizer::weightInBytes,
+        (key, info) -> SqlStatementSanitizerMetrics.recordEviction(weightInBytes(key, info)));
+  }
+
+  // visible for testing
+  static int weightInBytes(CacheKey key, SqlStatementInfo info) {
+    String sanitized = info.getFullStatement();
+    int chars = key.getStatement().length() + (sanitized == null ? 0 : sanitized.length());
+    // strings are counted as 2 bytes per char; the weight must be at least 1
+    return Math.max(1, 2 * chars);
+  }
+
   @AutoValue
   abstract static class CacheKey {
 
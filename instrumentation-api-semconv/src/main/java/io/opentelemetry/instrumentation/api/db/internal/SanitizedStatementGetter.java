@@ -0,0 +1,28 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.db.internal;
+
+import io.opentelemetry.instrumentation.api.db.SqlStatementInfo;
+import javax.annotation.Nullable;
+
+/**
+ * Can be implemented by a {@link
+ * io.opentelemetry.instrumentation.api.instrumenter.db.SqlClientAttributesGetter} whose requests
+ * may carry a statement that was already sanitized, e.g. when the statement was prepared. The SQL
+ * client extractors use that statement instead of sanitizing the raw statement again.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public interface SanitizedStatementGetter<REQUEST> {
+
+  /**
+   * Returns the result of sanitizing the raw statement of the request with sanitization enabled, or
+   * {@code null} if the statement was not sanitized in advance.
+   */
+  @Nullable
+  SqlStatementInfo sanitizedStatement(REQUEST request);
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.db.internal;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.metrics.Meter;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the {@link io.opentelemetry.instrumentation.api.db.SqlStatementSanitizer} cache,
+ * exported as asynchronous counters once {@link #registerObservers(OpenTelemetry)} is called.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class SqlStatementSanitizerMetrics {
+
+  private static final LongAdder lookups = new LongAdder();
+  private static final LongAdder misses = new LongAdder();
+  private static final LongAdder evictedBytes = new LongAdder();
+
+  public static void recordLookup() {
+    lookups.increment();
+  }
+
+  public static void recordMiss() {
+    misses.increment();
+  }
+
+  public static void recordEviction(int bytes) {
+    evictedBytes.add(bytes);
+  }
+
+  public static void registerObservers(OpenTelemetry openTelemetry) {
+    Meter meter = openTelemetry.getMeter("io.opentelemetry.sql-statement-sanitizer");
+
+    meter
+        .counterBuilder("db.sql_statement_sanitizer.cache.hits")
+        .setDescription("Number of sanitized statements found in the cache")
+        .setUnit("{lookups}")
+        // the misses are counted when the statement is sanitized, the hits are what's left
+        .buildWithCallback(measurement -> measurement.record(lookups.sum() - misses.sum()));
+
+    meter
+        .counterBuilder("db.sql_statement_sanitizer.cache.misses")
+        .setDescription("Number of statements that had to be sanitized")
+        .setUnit("{lookups}")
+        .buildWithCallback(measurement -> measurement.record(misses.sum()));
+
+    meter
+        .counterBuilder("db.sql_statement_sanitizer.cache.evicted")
+        .setDescription("Size of the statements evicted from the cache")
+        .setUnit("By")
+        .buildWithCallback(measurement -> measurement.record(evictedBytes.sum()));
+  }
+
+  private SqlStatementSanitizerMetrics() {}
+}
@@ -9,6 +9,7 @@ import static io.opentelemetry.instrumentation.api.internal.AttributesExtractorU
 
 import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.internal.AttributesUsage;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
 
 /**
@@ -33,9 +34,18 @@ public final class DbClientAttributesExtractor<REQUEST, RESPONSE>
     super(getter);
   }
 
+  /**
+   * This method is internal and is hence not for public use. Its API is unstable and can change at
+   * any time.
+   */
   @Override
-  public void onStart(AttributesBuilder attributes, Context parentContext, REQUEST request) {
-    super.onStart(attributes, parentContext, request);
+  public void internalOnStart(
+      AttributesBuilder attributes, Context parentContext, REQUEST request, AttributesUsage usage) {
+    super.internalOnStart(attributes, parentContext, request, usage);
+    // the statement and operation are only used by spans
+    if (usage != AttributesUsage.SPAN) {
+      return;
+    }
 
     internalSet(attributes, SemanticAttributes.DB_STATEMENT, getter.statement(request));
     internalSet(attributes, SemanticAttributes.DB_OPERATION, getter.operation(request));
@@ -10,6 +10,8 @@ import static io.opentelemetry.instrumentation.api.internal.AttributesExtractorU
 import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
+import io.opentelemetry.instrumentation.api.internal.AttributesUsage;
+import io.opentelemetry.instrumentation.api.internal.SamplingAwareAttributesExtractor;
 import io.opentelemetry.instrumentation.api.internal.SpanKey;
 import io.opentelemetry.instrumentation.api.internal.SpanKeyProvider;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
@@ -17,7 +19,9 @@ import javax.annotation.Nullable;
 
 abstract class DbClientCommonAttributesExtractor<
         REQUEST, RESPONSE, GETTER extends DbClientCommonAttributesGetter<REQUEST>>
-    implements AttributesExtractor<REQUEST, RESPONSE>, SpanKeyProvider {
+    implements AttributesExtractor<REQUEST, RESPONSE>,
+        SamplingAwareAttributesExtractor<REQUEST, RESPONSE>,
+        SpanKeyProvider {
 
   final GETTER getter;
 
@@ -26,12 +30,26 @@ abstract class DbClientCommonAttributesExtractor<
   }
 
   @Override
-  public void onStart(AttributesBuilder attributes, Context parentContext, REQUEST request) {
-    internalSet(attributes, SemanticAttributes.DB_SYSTEM, getter.system(request));
-    internalSet(attributes, SemanticAttributes.DB_USER, getter.user(request));
-    internalSet(attributes, SemanticAttributes.DB_NAME, getter.name(request));
-    internalSet(
-        attributes, SemanticAttributes.DB_CONNECTION_STRING, getter.connectionString(request));
+  public final void onStart(AttributesBuilder attributes, Context parentContext, REQUEST request) {
+    internalOnStart(attributes, parentContext, request, AttributesUsage.SAMPLING);
+    internalOnStart(attributes, parentContext, request, AttributesUsage.SPAN);
+  }
+
+  /**
+   * This method is internal and is hence not for public use. Its API is unstable and can change at
+   * any time.
+   */
+  @Override
+  public void internalOnStart(
+      AttributesBuilder attributes, Context parentContext, REQUEST request, AttributesUsage usage) {
+    if (usage == AttributesUsage.SAMPLING) {
+      internalSet(attributes, SemanticAttributes.DB_SYSTEM, getter.system(request));
+      internalSet(attributes, SemanticAttributes.DB_NAME, getter.name(request));
+    } else if (usage == AttributesUsage.SPAN) {
+      internalSet(attributes, SemanticAttributes.DB_USER, getter.user(request));
+      internalSet(
+          attributes, SemanticAttributes.DB_CONNECTION_STRING, getter.connectionString(request));
+    }
   }
 
   @Override
@@ -42,6 +60,19 @@ abstract class DbClientCommonAttributesExtractor<
       @Nullable RESPONSE response,
       @Nullable Throwable error) {}
 
+  /**
+   * This method is internal and is hence not for public use. Its API is unstable and can change at
+   * any time.
+   */
+  @Override
+  public final void internalOnEnd(
+      AttributesBuilder attributes,
+      Context context,
+      REQUEST request,
+      @Nullable RESPONSE response,
+      @Nullable Throwable error,
+      AttributesUsage usage) {}
+
   /**
    * This method is internal and is hence not for public use. Its API is unstable and can change at
    * any time.
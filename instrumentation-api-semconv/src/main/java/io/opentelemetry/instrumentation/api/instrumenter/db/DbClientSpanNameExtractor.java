@@ -7,7 +7,9 @@ package io.opentelemetry.instrumentation.api.instrumenter.db;
 
 import io.opentelemetry.instrumentation.api.db.SqlStatementInfo;
 import io.opentelemetry.instrumentation.api.db.SqlStatementSanitizer;
+import io.opentelemetry.instrumentation.api.db.internal.SanitizedStatementGetter;
 import io.opentelemetry.instrumentation.api.instrumenter.SpanNameExtractor;
+import javax.annotation.Nullable;
 
 public abstract class DbClientSpanNameExtractor<REQUEST> implements SpanNameExtractor<REQUEST> {
 
@@ -86,15 +88,27 @@ public abstract class DbClientSpanNameExtractor<REQUEST> implements SpanNameExtr
     private static final SqlStatementSanitizer sanitizer = SqlStatementSanitizer.create(true);
 
     private final SqlClientAttributesGetter<REQUEST> getter;
+    @Nullable private final SanitizedStatementGetter<REQUEST> sanitizedStatementGetter;
 
+    @SuppressWarnings("unchecked")
     private SqlClientSpanNameExtractor(SqlClientAttributesGetter<REQUEST> getter) {
       this.getter = getter;
+      this.sanitizedStatementGetter =
+          getter instanceof SanitizedStatementGetter
+              ? (SanitizedStatementGetter<REQUEST>) getter
+              : null;
     }
 
     @Override
     public String extract(REQUEST request) {
       String dbName = getter.name(request);
-      SqlStatementInfo sanitizedStatement = sanitizer.sanitize(getter.rawStatement(request));
+      SqlStatementInfo sanitizedStatement =
+          sanitizedStatementGetter == null
+              ? null
+              : sanitizedStatementGetter.sanitizedStatement(request);
+      if (sanitizedStatement == null) {
+        sanitizedStatement = sanitizer.sanitize(getter.rawStatement(request));
+      }
       return computeSpanName(
           dbName, sanitizedStatement.getOperation(), sanitizedStatement.getTable());
     }
@@ -12,7 +12,10 @@ import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.db.SqlStatementInfo;
 import io.opentelemetry.instrumentation.api.db.SqlStatementSanitizer;
+import io.opentelemetry.instrumentation.api.db.internal.SanitizedStatementGetter;
+import io.opentelemetry.instrumentation.api.internal.AttributesUsage;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
+import javax.annotation.Nullable;
 
 /**
  * Extractor of <a
@@ -45,21 +48,43 @@ public final class SqlClientAttributesExtractor<REQUEST, RESPONSE>
 
   private final AttributeKey<String> dbTableAttribute;
   private final SqlStatementSanitizer sanitizer;
+  // only used when the statements are sanitized
+  @Nullable private final SanitizedStatementGetter<REQUEST> sanitizedStatementGetter;
 
+  @SuppressWarnings("unchecked")
   SqlClientAttributesExtractor(
       SqlClientAttributesGetter<REQUEST> getter,
       AttributeKey<String> dbTableAttribute,
-      SqlStatementSanitizer sanitizer) {
+      boolean statementSanitizationEnabled) {
     super(getter);
     this.dbTableAttribute = dbTableAttribute;
-    this.sanitizer = sanitizer;
+    this.sanitizer = SqlStatementSanitizer.create(statementSanitizationEnabled);
+    this.sanitizedStatementGetter =
+        statementSanitizationEnabled && getter instanceof SanitizedStatementGetter
+            ? (SanitizedStatementGetter<REQUEST>) getter
+            : null;
   }
 
+  /**
+   * This method is internal and is hence not for public use. Its API is unstable and can change at
+   * any time.
+   */
   @Override
-  public void onStart(AttributesBuilder attributes, Context parentContext, REQUEST request) {
-    super.onStart(attributes, parentContext, request);
+  public void internalOnStart(
+      AttributesBuilder attributes, Context parentContext, REQUEST request, AttributesUsage usage) {
+    super.internalOnStart(attributes, parentContext, request, usage);
+    // sanitizing the statement is relatively expensive, only do it when the span is recording
+    if (usage != AttributesUsage.SPAN) {
+      return;
+    }
 
-    SqlStatementInfo sanitizedStatement = sanitizer.sanitize(getter.rawStatement(request));
+    SqlStatementInfo sanitizedStatement =
+        sanitizedStatementGetter == null
+            ? null
+            : sanitizedStatementGetter.sanitizedStatement(request);
+    if (sanitizedStatement == null) {
+      sanitizedStatement = sanitizer.sanitize(getter.rawStatement(request));
+    }
     internalSet(attributes, SemanticAttributes.DB_STATEMENT, sanitizedStatement.getFullStatement());
     internalSet(attributes, SemanticAttributes.DB_OPERATION, sanitizedStatement.getOperation());
     internalSet(attributes, dbTableAttribute, sanitizedStatement.getTable());
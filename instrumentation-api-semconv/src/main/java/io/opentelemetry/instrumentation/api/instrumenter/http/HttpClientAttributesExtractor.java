@@ -9,6 +9,7 @@ import static io.opentelemetry.instrumentation.api.internal.AttributesExtractorU
 
 import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.internal.AttributesUsage;
 import io.opentelemetry.instrumentation.api.internal.SpanKey;
 import io.opentelemetry.instrumentation.api.internal.SpanKeyProvider;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
@@ -51,10 +52,17 @@ public final class HttpClientAttributesExtractor<REQUEST, RESPONSE>
     super(getter, capturedRequestHeaders, responseHeaders);
   }
 
+  /**
+   * This method is internal and is hence not for public use. Its API is unstable and can change at
+   * any time.
+   */
   @Override
-  public void onStart(AttributesBuilder attributes, Context parentContext, REQUEST request) {
-    super.onStart(attributes, parentContext, request);
-    internalSet(attributes, SemanticAttributes.HTTP_URL, stripSensitiveData(getter.url(request)));
+  public void internalOnStart(
+      AttributesBuilder attributes, Context parentContext, REQUEST request, AttributesUsage usage) {
+    super.internalOnStart(attributes, parentContext, request, usage);
+    if (usage == AttributesUsage.SAMPLING) {
+      internalSet(attributes, SemanticAttributes.HTTP_URL, stripSensitiveData(getter.url(request)));
+    }
   }
 
   @Nullable
@@ -100,15 +108,22 @@ public final class HttpClientAttributesExtractor<REQUEST, RESPONSE>
     return url.substring(0, schemeEndIndex + 3) + url.substring(atIndex + 1);
   }
 
+  /**
+   * This method is internal and is hence not for public use. Its API is unstable and can change at
+   * any time.
+   */
   @Override
-  public void onEnd(
+  public void internalOnEnd(
       AttributesBuilder attributes,
       Context context,
       REQUEST request,
       @Nullable RESPONSE response,
-      @Nullable Throwable error) {
-    super.onEnd(attributes, context, request, response, error);
-    internalSet(attributes, SemanticAttributes.HTTP_FLAVOR, getter.flavor(request, response));
+      @Nullable Throwable error,
+      AttributesUsage usage) {
+    super.internalOnEnd(attributes, context, request, response, error, usage);
+    if (usage == AttributesUsage.METRICS) {
+      internalSet(attributes, SemanticAttributes.HTTP_FLAVOR, getter.flavor(request, response));
+    }
   }
 
   /**
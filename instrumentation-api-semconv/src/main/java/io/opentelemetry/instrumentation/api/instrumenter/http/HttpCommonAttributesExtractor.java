@@ -13,6 +13,8 @@ import static io.opentelemetry.instrumentation.api.internal.AttributesExtractorU
 import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
+import io.opentelemetry.instrumentation.api.internal.AttributesUsage;
+import io.opentelemetry.instrumentation.api.internal.SamplingAwareAttributesExtractor;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
 import java.util.List;
 import javax.annotation.Nullable;
@@ -24,7 +26,8 @@ import javax.annotation.Nullable;
  */
 abstract class HttpCommonAttributesExtractor<
         REQUEST, RESPONSE, GETTER extends HttpCommonAttributesGetter<REQUEST, RESPONSE>>
-    implements AttributesExtractor<REQUEST, RESPONSE> {
+    implements AttributesExtractor<REQUEST, RESPONSE>,
+        SamplingAwareAttributesExtractor<REQUEST, RESPONSE> {
 
   final GETTER getter;
   private final List<String> capturedRequestHeaders;
@@ -38,40 +41,82 @@ abstract class HttpCommonAttributesExtractor<
   }
 
   @Override
-  public void onStart(AttributesBuilder attributes, Context parentContext, REQUEST request) {
-    internalSet(attributes, SemanticAttributes.HTTP_METHOD, getter.method(request));
-    internalSet(attributes, SemanticAttributes.HTTP_USER_AGENT, userAgent(request));
-
-    for (String name : capturedRequestHeaders) {
-      List<String> values = getter.requestHeader(request, name);
-      if (!values.isEmpty()) {
-        internalSet(attributes, requestAttributeKey(name), values);
-      }
+  public final void onStart(AttributesBuilder attributes, Context parentContext, REQUEST request) {
+    internalOnStart(attributes, parentContext, request, AttributesUsage.SAMPLING);
+    internalOnStart(attributes, parentContext, request, AttributesUsage.METRICS);
+    internalOnStart(attributes, parentContext, request, AttributesUsage.SPAN);
+  }
+
+  /**
+   * This method is internal and is hence not for public use. Its API is unstable and can change at
+   * any time.
+   */
+  @Override
+  public void internalOnStart(
+      AttributesBuilder attributes, Context parentContext, REQUEST request, AttributesUsage usage) {
+    switch (usage) {
+      case SAMPLING:
+        internalSet(attributes, SemanticAttributes.HTTP_METHOD, getter.method(request));
+        break;
+      case METRICS:
+        break;
+      case SPAN:
+        internalSet(attributes, SemanticAttributes.HTTP_USER_AGENT, userAgent(request));
+
+        for (String name : capturedRequestHeaders) {
+          List<String> values = getter.requestHeader(request, name);
+          if (!values.isEmpty()) {
+            internalSet(attributes, requestAttributeKey(name), values);
+          }
+        }
+        break;
     }
   }
 
   @Override
-  public void onEnd(
+  public final void onEnd(
       AttributesBuilder attributes,
       Context context,
       REQUEST request,
       @Nullable RESPONSE response,
       @Nullable Throwable error) {
+    internalOnEnd(attributes, context, request, response, error, AttributesUsage.METRICS);
+    internalOnEnd(attributes, context, request, response, error, AttributesUsage.SPAN);
+  }
 
-    internalSet(
-        attributes, SemanticAttributes.HTTP_REQUEST_CONTENT_LENGTH, requestContentLength(request));
-
-    if (response != null) {
-      Integer statusCode = getter.statusCode(request, response, error);
-      if (statusCode != null && statusCode > 0) {
-        internalSet(attributes, SemanticAttributes.HTTP_STATUS_CODE, (long) statusCode);
-      }
-
+  /**
+   * This method is internal and is hence not for public use. Its API is unstable and can change at
+   * any time.
+   */
+  @Override
+  public void internalOnEnd(
+      AttributesBuilder attributes,
+      Context context,
+      REQUEST request,
+      @Nullable RESPONSE response,
+      @Nullable Throwable error,
+      AttributesUsage usage) {
+    if (usage == AttributesUsage.METRICS) {
+      // the content lengths are recorded by the request and response size histograms
       internalSet(
           attributes,
-          SemanticAttributes.HTTP_RESPONSE_CONTENT_LENGTH,
-          responseContentLength(request, response));
+          SemanticAttributes.HTTP_REQUEST_CONTENT_LENGTH,
+          requestContentLength(request));
 
+      if (response != null) {
+        Integer statusCode = getter.statusCode(request, response, error);
+        if (statusCode != null && statusCode > 0) {
+          internalSet(attributes, SemanticAttributes.HTTP_STATUS_CODE, (long) statusCode);
+        }
+        internalSet(
+            attributes,
+            SemanticAttributes.HTTP_RESPONSE_CONTENT_LENGTH,
+            responseContentLength(request, response));
+      }
+      return;
+    }
+
+    if (response != null) {
       for (String name : capturedResponseHeaders) {
         List<String> values = getter.responseHeader(request, response, name);
         if (!values.isEmpty()) {
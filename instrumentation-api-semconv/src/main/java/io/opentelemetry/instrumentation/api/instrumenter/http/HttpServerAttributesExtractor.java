@@ -15,6 +15,7 @@ import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.instrumenter.net.NetServerAttributesGetter;
 import io.opentelemetry.instrumentation.api.instrumenter.net.internal.InternalNetServerAttributesExtractor;
+import io.opentelemetry.instrumentation.api.internal.AttributesUsage;
 import io.opentelemetry.instrumentation.api.internal.SpanKey;
 import io.opentelemetry.instrumentation.api.internal.SpanKeyProvider;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
@@ -81,32 +82,54 @@ public final class HttpServerAttributesExtractor<REQUEST, RESPONSE>
     this.httpRouteHolderGetter = httpRouteHolderGetter;
   }
 
+  /**
+   * This method is internal and is hence not for public use. Its API is unstable and can change at
+   * any time.
+   */
   @Override
-  public void onStart(AttributesBuilder attributes, Context parentContext, REQUEST request) {
-    super.onStart(attributes, parentContext, request);
-
-    internalSet(attributes, SemanticAttributes.HTTP_FLAVOR, getter.flavor(request));
-    String forwardedProto = forwardedProto(request);
-    String value = forwardedProto != null ? forwardedProto : getter.scheme(request);
-    internalSet(attributes, SemanticAttributes.HTTP_SCHEME, value);
-    internalSet(attributes, SemanticAttributes.HTTP_TARGET, getter.target(request));
-    internalSet(attributes, SemanticAttributes.HTTP_ROUTE, getter.route(request));
-    internalSet(attributes, SemanticAttributes.HTTP_CLIENT_IP, clientIp(request));
-
-    InternalNetServerAttributesExtractor.onStart(
-        netAttributesGetter, attributes, request, host(request));
+  public void internalOnStart(
+      AttributesBuilder attributes, Context parentContext, REQUEST request, AttributesUsage usage) {
+    super.internalOnStart(attributes, parentContext, request, usage);
+
+    switch (usage) {
+      case SAMPLING:
+        String forwardedProto = forwardedProto(request);
+        String value = forwardedProto != null ? forwardedProto : getter.scheme(request);
+        internalSet(attributes, SemanticAttributes.HTTP_SCHEME, value);
+        internalSet(attributes, SemanticAttributes.HTTP_TARGET, getter.target(request));
+        break;
+      case METRICS:
+        internalSet(attributes, SemanticAttributes.HTTP_FLAVOR, getter.flavor(request));
+        internalSet(attributes, SemanticAttributes.HTTP_ROUTE, getter.route(request));
+        break;
+      case SPAN:
+        internalSet(attributes, SemanticAttributes.HTTP_CLIENT_IP, clientIp(request));
+        break;
+    }
+
+    if (usage != AttributesUsage.METRICS) {
+      InternalNetServerAttributesExtractor.onStart(
+          netAttributesGetter, attributes, request, host(request), usage);
+    }
   }
 
+  /**
+   * This method is internal and is hence not for public use. Its API is unstable and can change at
+   * any time.
+   */
   @Override
-  public void onEnd(
+  public void internalOnEnd(
       AttributesBuilder attributes,
       Context context,
       REQUEST request,
       @Nullable RESPONSE response,
-      @Nullable Throwable error) {
+      @Nullable Throwable error,
+      AttributesUsage usage) {
 
-    super.onEnd(attributes, context, request, response, error);
-    internalSet(attributes, SemanticAttributes.HTTP_ROUTE, httpRouteHolderGetter.apply(context));
+    super.internalOnEnd(attributes, context, request, response, error, usage);
+    if (usage == AttributesUsage.METRICS) {
+      internalSet(attributes, SemanticAttributes.HTTP_ROUTE, httpRouteHolderGetter.apply(context));
+    }
   }
 
   @Nullable
@@ -8,10 +8,13 @@ package io.opentelemetry.instrumentation.api.instrumenter.http;
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
-import java.util.function.BiConsumer;
 
 // this is temporary, see
 // https://github.com/open-telemetry/opentelemetry-java-instrumentation/issues/3962#issuecomment-906606325
@@ -23,6 +26,15 @@ final class TemporaryMetricsView {
   private static final Set<AttributeKey> durationServerView = buildDurationServerView();
   private static final Set<AttributeKey> activeRequestsView = buildActiveRequestsView();
 
+  // the socket address changes with every connection, caching the filtered attributes of the
+  // requests that have one would mostly miss and evict the entries that are reused
+  private static final Set<AttributeKey> highCardinalityKeys =
+      Collections.singleton(AttributeKey.stringKey("net.peer.sock.addr"));
+
+  private static final ViewFilter durationClientViewFilter = new ViewFilter(durationClientView);
+  private static final ViewFilter durationServerViewFilter = new ViewFilter(durationServerView);
+  private static final ViewFilter activeRequestsViewFilter = new ViewFilter(activeRequestsView);
+
   private static Set<AttributeKey> buildDurationAlwaysInclude() {
     // the list of included metrics is from
     // https://github.com/open-telemetry/opentelemetry-specification/blob/main/specification/metrics/semantic_conventions/http-metrics.md#attributes
@@ -72,36 +84,76 @@ final class TemporaryMetricsView {
 
   static Attributes applyClientDurationAndSizeView(
       Attributes startAttributes, Attributes endAttributes) {
-    AttributesBuilder filtered = Attributes.builder();
-    applyView(filtered, startAttributes, durationClientView);
-    applyView(filtered, endAttributes, durationClientView);
-    return filtered.build();
+    return durationClientViewFilter.apply(startAttributes, endAttributes);
   }
 
   static Attributes applyServerDurationAndSizeView(
       Attributes startAttributes, Attributes endAttributes) {
-    AttributesBuilder filtered = Attributes.builder();
-    applyView(filtered, startAttributes, durationServerView);
-    applyView(filtered, endAttributes, durationServerView);
-    return filtered.build();
+    return durationServerViewFilter.apply(startAttributes, endAttributes);
   }
 
   static Attributes applyActiveRequestsView(Attributes attributes) {
-    AttributesBuilder filtered = Attributes.builder();
-    applyView(filtered, attributes, activeRequestsView);
-    return filtered.build();
+    return activeRequestsViewFilter.apply(attributes, Attributes.empty());
   }
 
-  @SuppressWarnings("unchecked")
-  private static void applyView(
-      AttributesBuilder filtered, Attributes attributes, Set<AttributeKey> view) {
-    attributes.forEach(
-        (BiConsumer<AttributeKey, Object>)
-            (key, value) -> {
-              if (view.contains(key)) {
-                filtered.put(key, value);
-              }
-            });
+  /**
+   * Applies a view by looking up each of its few keys, instead of iterating over all the
+   * attributes. Filtered attributes are cached by their values: the same method, status code, route
+   * and host are used by many requests, so most of the time no new {@link Attributes} is built. The
+   * attributes that contain a value of a high cardinality key are not cached.
+   */
+  private static final class ViewFilter {
+
+    private final AttributeKey[] keys;
+    private final boolean[] highCardinality;
+    private final Cache<List<Object>, Attributes> filteredAttributes = Cache.frequencyBounded(1000);
+
+    ViewFilter(Set<AttributeKey> view) {
+      keys = view.toArray(new AttributeKey[0]);
+      highCardinality = new boolean[keys.length];
+      for (int i = 0; i < keys.length; i++) {
+        highCardinality[i] = highCardinalityKeys.contains(keys[i]);
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    Attributes apply(Attributes startAttributes, Attributes endAttributes) {
+      Object[] values = new Object[keys.length];
+      boolean empty = true;
+      boolean cacheable = true;
+      for (int i = 0; i < keys.length; i++) {
+        // like when the attributes are put in a builder, the end attributes replace the start ones
+        Object value = endAttributes.get(keys[i]);
+        if (value == null) {
+          value = startAttributes.get(keys[i]);
+        }
+        if (value != null) {
+          values[i] = value;
+          empty = false;
+          if (highCardinality[i]) {
+            cacheable = false;
+          }
+        }
+      }
+      if (empty) {
+        return Attributes.empty();
+      }
+      if (!cacheable) {
+        return build(values);
+      }
+      return filteredAttributes.computeIfAbsent(Arrays.asList(values), unused -> build(values));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Attributes build(Object[] values) {
+      AttributesBuilder filtered = Attributes.builder();
+      for (int i = 0; i < keys.length; i++) {
+        if (values[i] != null) {
+          filtered.put(keys[i], values[i]);
+        }
+      }
+      return filtered.build();
+    }
   }
 
   private TemporaryMetricsView() {}
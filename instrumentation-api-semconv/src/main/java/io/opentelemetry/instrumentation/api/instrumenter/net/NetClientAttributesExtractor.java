@@ -10,6 +10,8 @@ import static io.opentelemetry.instrumentation.api.internal.AttributesExtractorU
 import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
+import io.opentelemetry.instrumentation.api.internal.AttributesUsage;
+import io.opentelemetry.instrumentation.api.internal.SamplingAwareAttributesExtractor;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
 import javax.annotation.Nullable;
 
@@ -23,7 +25,8 @@ import javax.annotation.Nullable;
  * attribute extraction from request/response objects.
  */
 public final class NetClientAttributesExtractor<REQUEST, RESPONSE>
-    implements AttributesExtractor<REQUEST, RESPONSE> {
+    implements AttributesExtractor<REQUEST, RESPONSE>,
+        SamplingAwareAttributesExtractor<REQUEST, RESPONSE> {
 
   private final NetClientAttributesGetter<REQUEST, RESPONSE> getter;
 
@@ -38,6 +41,20 @@ public final class NetClientAttributesExtractor<REQUEST, RESPONSE>
 
   @Override
   public void onStart(AttributesBuilder attributes, Context parentContext, REQUEST request) {
+    internalOnStart(attributes, parentContext, request, AttributesUsage.SAMPLING);
+  }
+
+  /**
+   * This method is internal and is hence not for public use. Its API is unstable and can change at
+   * any time.
+   */
+  @Override
+  public void internalOnStart(
+      AttributesBuilder attributes, Context parentContext, REQUEST request, AttributesUsage usage) {
+    if (usage != AttributesUsage.SAMPLING) {
+      return;
+    }
+
     String peerName = getter.peerName(request);
     Integer peerPort = getter.peerPort(request);
     if (peerName != null) {
@@ -55,30 +72,52 @@ public final class NetClientAttributesExtractor<REQUEST, RESPONSE>
       REQUEST request,
       @Nullable RESPONSE response,
       @Nullable Throwable error) {
+    internalOnEnd(attributes, context, request, response, error, AttributesUsage.METRICS);
+    internalOnEnd(attributes, context, request, response, error, AttributesUsage.SPAN);
+  }
+
+  /**
+   * This method is internal and is hence not for public use. Its API is unstable and can change at
+   * any time.
+   */
+  @Override
+  public void internalOnEnd(
+      AttributesBuilder attributes,
+      Context context,
+      REQUEST request,
+      @Nullable RESPONSE response,
+      @Nullable Throwable error,
+      AttributesUsage usage) {
+    // none of the end attributes is used by the metrics views
+    if (usage != AttributesUsage.SPAN) {
+      return;
+    }
 
     internalSet(attributes, SemanticAttributes.NET_TRANSPORT, getter.transport(request, response));
 
     String peerName = getter.peerName(request);
-    Integer peerPort = getter.peerPort(request);
 
     String sockPeerAddr = getter.sockPeerAddr(request, response);
-    if (sockPeerAddr != null && !sockPeerAddr.equals(peerName)) {
-      internalSet(attributes, SemanticAttributes.NET_SOCK_PEER_ADDR, sockPeerAddr);
+    if (sockPeerAddr == null || sockPeerAddr.equals(peerName)) {
+      return;
+    }
 
-      Integer sockPeerPort = getter.sockPeerPort(request, response);
-      if (sockPeerPort != null && sockPeerPort > 0 && !sockPeerPort.equals(peerPort)) {
-        internalSet(attributes, SemanticAttributes.NET_SOCK_PEER_PORT, (long) sockPeerPort);
-      }
+    internalSet(attributes, SemanticAttributes.NET_SOCK_PEER_ADDR, sockPeerAddr);
 
-      String sockFamily = getter.sockFamily(request, response);
-      if (sockFamily != null && !SemanticAttributes.NetSockFamilyValues.INET.equals(sockFamily)) {
-        internalSet(attributes, SemanticAttributes.NET_SOCK_FAMILY, sockFamily);
-      }
+    Integer peerPort = getter.peerPort(request);
+    Integer sockPeerPort = getter.sockPeerPort(request, response);
+    if (sockPeerPort != null && sockPeerPort > 0 && !sockPeerPort.equals(peerPort)) {
+      internalSet(attributes, SemanticAttributes.NET_SOCK_PEER_PORT, (long) sockPeerPort);
+    }
 
-      String sockPeerName = getter.sockPeerName(request, response);
-      if (sockPeerName != null && !sockPeerName.equals(peerName)) {
-        internalSet(attributes, SemanticAttributes.NET_SOCK_PEER_NAME, sockPeerName);
-      }
+    String sockFamily = getter.sockFamily(request, response);
+    if (sockFamily != null && !SemanticAttributes.NetSockFamilyValues.INET.equals(sockFamily)) {
+      internalSet(attributes, SemanticAttributes.NET_SOCK_FAMILY, sockFamily);
+    }
+
+    String sockPeerName = getter.sockPeerName(request, response);
+    if (sockPeerName != null && !sockPeerName.equals(peerName)) {
+      internalSet(attributes, SemanticAttributes.NET_SOCK_PEER_NAME, sockPeerName);
     }
   }
 }
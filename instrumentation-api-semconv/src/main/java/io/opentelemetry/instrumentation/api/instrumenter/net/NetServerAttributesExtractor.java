@@ -9,6 +9,8 @@ import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
 import io.opentelemetry.instrumentation.api.instrumenter.net.internal.InternalNetServerAttributesExtractor;
+import io.opentelemetry.instrumentation.api.internal.AttributesUsage;
+import io.opentelemetry.instrumentation.api.internal.SamplingAwareAttributesExtractor;
 import javax.annotation.Nullable;
 
 /**
@@ -18,7 +20,8 @@ import javax.annotation.Nullable;
  * it is more convenient to use {@link InetSocketAddressNetServerAttributesGetter}.
  */
 public final class NetServerAttributesExtractor<REQUEST, RESPONSE>
-    implements AttributesExtractor<REQUEST, RESPONSE> {
+    implements AttributesExtractor<REQUEST, RESPONSE>,
+        SamplingAwareAttributesExtractor<REQUEST, RESPONSE> {
 
   private final NetServerAttributesGetter<REQUEST> getter;
 
@@ -36,6 +39,16 @@ public final class NetServerAttributesExtractor<REQUEST, RESPONSE>
     InternalNetServerAttributesExtractor.onStart(getter, attributes, request, null);
   }
 
+  /**
+   * This method is internal and is hence not for public use. Its API is unstable and can change at
+   * any time.
+   */
+  @Override
+  public void internalOnStart(
+      AttributesBuilder attributes, Context parentContext, REQUEST request, AttributesUsage usage) {
+    InternalNetServerAttributesExtractor.onStart(getter, attributes, request, null, usage);
+  }
+
   @Override
   public void onEnd(
       AttributesBuilder attributes,
@@ -43,4 +56,17 @@ public final class NetServerAttributesExtractor<REQUEST, RESPONSE>
       REQUEST request,
       @Nullable RESPONSE response,
       @Nullable Throwable error) {}
+
+  /**
+   * This method is internal and is hence not for public use. Its API is unstable and can change at
+   * any time.
+   */
+  @Override
+  public void internalOnEnd(
+      AttributesBuilder attributes,
+      Context context,
+      REQUEST request,
+      @Nullable RESPONSE response,
+      @Nullable Throwable error,
+      AttributesUsage usage) {}
 }
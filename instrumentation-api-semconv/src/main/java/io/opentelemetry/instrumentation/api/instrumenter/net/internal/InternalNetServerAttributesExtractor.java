@@ -10,6 +10,7 @@ import static java.util.logging.Level.FINE;
 
 import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.instrumentation.api.instrumenter.net.NetServerAttributesGetter;
+import io.opentelemetry.instrumentation.api.internal.AttributesUsage;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
 import java.util.logging.Logger;
 import javax.annotation.Nullable;
@@ -28,20 +29,22 @@ public class InternalNetServerAttributesExtractor {
       AttributesBuilder attributes,
       REQUEST request,
       @Nullable String hostHeader) {
-    internalSet(attributes, SemanticAttributes.NET_TRANSPORT, getter.transport(request));
-
-    boolean setSockFamily = false;
-
-    String sockPeerAddr = getter.sockPeerAddr(request);
-    if (sockPeerAddr != null) {
-      setSockFamily = true;
-
-      internalSet(attributes, SemanticAttributes.NET_SOCK_PEER_ADDR, sockPeerAddr);
+    onStart(getter, attributes, request, hostHeader, AttributesUsage.SAMPLING);
+    onStart(getter, attributes, request, hostHeader, AttributesUsage.SPAN);
+  }
 
-      Integer sockPeerPort = getter.sockPeerPort(request);
-      if (sockPeerPort != null && sockPeerPort > 0) {
-        internalSet(attributes, SemanticAttributes.NET_SOCK_PEER_PORT, (long) sockPeerPort);
-      }
+  /**
+   * Extracts the host name and port, which samplers can use, when the {@code usage} is {@link
+   * AttributesUsage#SAMPLING}, and all the other attributes when it's {@link AttributesUsage#SPAN}.
+   */
+  public static <REQUEST> void onStart(
+      NetServerAttributesGetter<REQUEST> getter,
+      AttributesBuilder attributes,
+      REQUEST request,
+      @Nullable String hostHeader,
+      AttributesUsage usage) {
+    if (usage == AttributesUsage.METRICS) {
+      return;
     }
 
     String hostName = getter.hostName(request);
@@ -59,15 +62,37 @@ public class InternalNetServerAttributesExtractor {
       try {
         hostPort = Integer.parseInt(hostHeader.substring(hostHeaderSeparator + 1));
       } catch (NumberFormatException e) {
-        logger.log(FINE, e.getMessage(), e);
+        // logged once, when the sampling relevant attributes are extracted
+        if (usage == AttributesUsage.SAMPLING) {
+          logger.log(FINE, e.getMessage(), e);
+        }
       }
     }
 
-    if (hostName != null) {
-      internalSet(attributes, SemanticAttributes.NET_HOST_NAME, hostName);
+    if (usage == AttributesUsage.SAMPLING) {
+      if (hostName != null) {
+        internalSet(attributes, SemanticAttributes.NET_HOST_NAME, hostName);
 
-      if (hostPort != null && hostPort > 0) {
-        internalSet(attributes, SemanticAttributes.NET_HOST_PORT, (long) hostPort);
+        if (hostPort != null && hostPort > 0) {
+          internalSet(attributes, SemanticAttributes.NET_HOST_PORT, (long) hostPort);
+        }
+      }
+      return;
+    }
+
+    internalSet(attributes, SemanticAttributes.NET_TRANSPORT, getter.transport(request));
+
+    boolean setSockFamily = false;
+
+    String sockPeerAddr = getter.sockPeerAddr(request);
+    if (sockPeerAddr != null) {
+      setSockFamily = true;
+
+      internalSet(attributes, SemanticAttributes.NET_SOCK_PEER_ADDR, sockPeerAddr);
+
+      Integer sockPeerPort = getter.sockPeerPort(request);
+      if (sockPeerPort != null && sockPeerPort > 0) {
+        internalSet(attributes, SemanticAttributes.NET_SOCK_PEER_PORT, (long) sockPeerPort);
       }
     }
 
@@ -0,0 +1,107 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class FastSqlSanitizerTest {
+
+  @ParameterizedTest
+  @MethodSource("statements")
+  void sameResultAsGeneratedLexer(String statement, boolean handled) {
+    for (SqlDialect dialect : SqlDialect.values()) {
+      SqlStatementInfo expected = AutoSqlSanitizer.sanitize(statement, dialect);
+
+      SqlStatementInfo result = FastSqlSanitizer.trySanitize(statement, dialect);
+      if (handled) {
+        assertThat(result).isEqualTo(expected);
+      } else {
+        assertThat(result).isNull();
+      }
+      assertThat(FastSqlSanitizer.sanitize(statement, dialect)).isEqualTo(expected);
+    }
+  }
+
+  static Stream<Arguments> statements() {
+    return Stream.of(
+        Arguments.of("SELECT * FROM TABLE WHERE FIELD>=-1234", true),
+        Arguments.of("SELECT -1.2e-9, 2E+9, +0.2, .2, 0x0af764, 0xdeadBEEF, 0x1e+5, 0xg", true),
+        Arguments.of("SELECT --83--...--8e+76e3E-1, 123-45-6789, 1/2/34, a-1, a.1, - . +", true),
+        Arguments.of("SELECT * FROM \"TABLE\" WHERE FIELD = \" an escaped \"\" quote\"", true),
+        Arguments.of("SELECT * FROM TABLE WHERE FIELD = ' an escaped '' quote' AND X = ''''", true),
+        Arguments.of("SELECT * FROM TABLE WHERE FIELD = $$quotes '\" inside$$ AND $1 = $$$$", true),
+        Arguments.of(
+            "SELECT    *    \t\r\nFROM  TABLE WHERE FIELD1 = 12344 AND FIELD2 = 5678", true),
+        Arguments.of("WITH subquery as (select a from b) SELECT x, y, z FROM table", true),
+        Arguments.of("select delete, insert into, merge, update from table", true),
+        Arguments.of("select col /* from table2 */ from table", true),
+        Arguments.of("select col from table1 as t1, table2 as t2", true),
+        Arguments.of("select col from table where col in (1, 2, 3) order by col, col2", true),
+        Arguments.of("select /*((*/abc from table /*/ */*/ selected", true),
+        Arguments.of("SeLeCT * FrOm `schema table` JoIn other", true),
+        Arguments.of("/* update comment */ from table1", true),
+        Arguments.of("insert insert into \"db table\" where lalala", true),
+        Arguments.of("delete from `my table` where something something", true),
+        Arguments.of("update \"my table\" set answer=42", true),
+        Arguments.of("merge (into )))", true),
+        Arguments.of("and now for something completely different;", true),
+        Arguments.of("", true),
+        // handled by the generated lexer
+        Arguments.of(
+            "select \u0105\u015b\u2202\u0144\u00a9 from \u017a\u0107\u013c\u0144\u0136 order by"
+                + " col, col2",
+            false),
+        Arguments.of("SELECT * FROM TABLE\u09137 WHERE FIELD = '\u0194'", false),
+        Arguments.of("SELECT * FROM TABLE WHERE FIELD = 'unterminated", false),
+        Arguments.of("SELECT * FROM TABLE WHERE FIELD = $$unterminated", false),
+        Arguments.of("SELECT * FROM `unterminated", false),
+        Arguments.of(repeat("SELECT * FROM TABLE WHERE FIELD = 1234 AND ", 1000), false));
+  }
+
+  @Test
+  void sameResultAsGeneratedLexerForRandomStatements() {
+    String[] fragments = {
+      "select", "FROM", "into", "Join", "insert", "update", "delete", "merge", "table", "x.y", "_",
+      "e", " ", "  ", "\t", "\n", ",", "(", ")", "/*", "*/", "/", "*", "'", "''", "'a'", "\"",
+      "\"b\"", "`", "`c`", "$", "$$", "0x", "0x1f", "12", "3e", "-", "+", ".", "=", ";"
+    };
+    Random random = new Random(0);
+    int handled = 0;
+    for (int i = 0; i < 10_000; i++) {
+      StringBuilder statement = new StringBuilder();
+      int length = random.nextInt(20);
+      for (int j = 0; j < length; j++) {
+        statement.append(fragments[random.nextInt(fragments.length)]);
+      }
+      for (SqlDialect dialect : SqlDialect.values()) {
+        SqlStatementInfo result = FastSqlSanitizer.trySanitize(statement.toString(), dialect);
+        if (result != null) {
+          assertThat(result)
+              .describedAs(statement.toString())
+              .isEqualTo(AutoSqlSanitizer.sanitize(statement.toString(), dialect));
+          handled++;
+        }
+      }
+    }
+    // most of the statements have no unterminated quotes
+    assertThat(handled).isGreaterThan(5_000);
+  }
+
+  private static String repeat(String s, int times) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < times; i++) {
+      sb.append(s);
+    }
+    return sb.toString();
+  }
+}
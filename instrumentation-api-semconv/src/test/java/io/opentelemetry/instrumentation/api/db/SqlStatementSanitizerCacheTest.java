@@ -0,0 +1,71 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import org.junit.jupiter.api.Test;
+
+class SqlStatementSanitizerCacheTest {
+
+  @Test
+  void evictsByStatementSize() {
+    SqlStatementSanitizer.CacheKey first = key("SELECT * FROM a WHERE id = 1");
+    SqlStatementSanitizer.CacheKey second = key("SELECT * FROM b WHERE id = 2");
+    SqlStatementSanitizer.CacheKey third = key("SELECT * FROM c WHERE id = 3");
+    int weight = weight(first);
+    // raw and sanitized statements, 2 bytes per char
+    assertThat(weight).isEqualTo(2 * 2 * first.getStatement().length());
+
+    // room for two statements of this size, but not for three
+    Cache<SqlStatementSanitizer.CacheKey, SqlStatementInfo> cache =
+        SqlStatementSanitizer.createCache(2 * weight + weight / 2);
+    sanitize(cache, first);
+    sanitize(cache, second);
+    assertThat(cache.get(first)).isNotNull();
+    assertThat(cache.get(second)).isNotNull();
+
+    sanitize(cache, third);
+    assertThat(cache.get(first)).isNull();
+    assertThat(cache.get(second)).isNotNull();
+    assertThat(cache.get(third)).isNotNull();
+
+    // a single big statement takes the room of both remaining ones
+    StringBuilder bigStatement = new StringBuilder("SELECT * FROM d WHERE id IN (0");
+    while (2 * 2 * bigStatement.length() < 2 * weight) {
+      bigStatement.append(", 0");
+    }
+    SqlStatementSanitizer.CacheKey big = key(bigStatement.append(')').toString());
+    sanitize(cache, big);
+    assertThat(cache.get(second)).isNull();
+    assertThat(cache.get(third)).isNull();
+    assertThat(cache.get(big)).isNotNull();
+  }
+
+  @Test
+  void nonPositiveMaxBytesFallsBackToDefault() {
+    int defaultMaxBytes = 2 * 1024 * 1024;
+    assertThat(SqlStatementSanitizer.cacheMaxBytes(0)).isEqualTo(defaultMaxBytes);
+    assertThat(SqlStatementSanitizer.cacheMaxBytes(-1)).isEqualTo(defaultMaxBytes);
+    assertThat(SqlStatementSanitizer.cacheMaxBytes(1024)).isEqualTo(1024);
+  }
+
+  private static SqlStatementSanitizer.CacheKey key(String statement) {
+    return SqlStatementSanitizer.CacheKey.create(statement, SqlDialect.DEFAULT);
+  }
+
+  private static int weight(SqlStatementSanitizer.CacheKey key) {
+    return SqlStatementSanitizer.weightInBytes(
+        key, FastSqlSanitizer.sanitize(key.getStatement(), key.getDialect()));
+  }
+
+  private static void sanitize(
+      Cache<SqlStatementSanitizer.CacheKey, SqlStatementInfo> cache,
+      SqlStatementSanitizer.CacheKey key) {
+    cache.computeIfAbsent(key, k -> FastSqlSanitizer.sanitize(k.getStatement(), k.getDialect()));
+  }
+}
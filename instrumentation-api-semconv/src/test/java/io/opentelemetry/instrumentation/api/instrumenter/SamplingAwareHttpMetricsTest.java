@@ -0,0 +1,153 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter;
+
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.equalTo;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.instrumenter.http.HttpServerAttributesExtractor;
+import io.opentelemetry.instrumentation.api.instrumenter.http.HttpServerAttributesGetter;
+import io.opentelemetry.instrumentation.api.instrumenter.http.HttpServerMetrics;
+import io.opentelemetry.instrumentation.api.instrumenter.net.NetServerAttributesGetter;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+// in this package to enable the sampling aware extraction of the instrumenter
+class SamplingAwareHttpMetricsTest {
+
+  @Test
+  void recordsSizesOfNonRecordingSpans() {
+    InMemoryMetricReader metricReader = InMemoryMetricReader.create();
+    OpenTelemetrySdk openTelemetry =
+        OpenTelemetrySdk.builder()
+            .setTracerProvider(SdkTracerProvider.builder().setSampler(Sampler.alwaysOff()).build())
+            .setMeterProvider(SdkMeterProvider.builder().registerMetricReader(metricReader).build())
+            .build();
+    Instrumenter<String, String> instrumenter =
+        Instrumenter.<String, String>builder(openTelemetry, "test", unused -> "span")
+            .addAttributesExtractor(
+                HttpServerAttributesExtractor.create(
+                    new TestHttpServerAttributesGetter(), new TestNetServerAttributesGetter()))
+            .addOperationMetrics(HttpServerMetrics.get())
+            .setSamplingAwareExtraction(true)
+            .buildInstrumenter(SpanKindExtractor.alwaysServer());
+
+    Context context = instrumenter.start(Context.root(), "request");
+    assertThat(Span.fromContext(context).isRecording()).isFalse();
+    instrumenter.end(context, "request", "response", null);
+
+    assertThat(metricReader.collectAllMetrics())
+        .anySatisfy(
+            metric ->
+                assertThat(metric)
+                    .hasName("http.server.request.size")
+                    .hasHistogramSatisfying(
+                        histogram ->
+                            histogram.hasPointsSatisfying(
+                                point ->
+                                    point
+                                        .hasSum(100 /* bytes */)
+                                        .hasAttributesSatisfying(
+                                            equalTo(SemanticAttributes.HTTP_METHOD, "POST"),
+                                            equalTo(SemanticAttributes.HTTP_STATUS_CODE, 200),
+                                            equalTo(SemanticAttributes.HTTP_FLAVOR, "1.1"),
+                                            equalTo(SemanticAttributes.HTTP_SCHEME, "http"),
+                                            equalTo(SemanticAttributes.NET_HOST_NAME, "localhost"),
+                                            equalTo(SemanticAttributes.NET_HOST_PORT, 8080)))))
+        .anySatisfy(
+            metric ->
+                assertThat(metric)
+                    .hasName("http.server.response.size")
+                    .hasHistogramSatisfying(
+                        histogram ->
+                            histogram.hasPointsSatisfying(
+                                point ->
+                                    point
+                                        .hasSum(200 /* bytes */)
+                                        .hasAttributesSatisfying(
+                                            equalTo(SemanticAttributes.HTTP_METHOD, "POST"),
+                                            equalTo(SemanticAttributes.HTTP_STATUS_CODE, 200),
+                                            equalTo(SemanticAttributes.HTTP_FLAVOR, "1.1"),
+                                            equalTo(SemanticAttributes.HTTP_SCHEME, "http"),
+                                            equalTo(SemanticAttributes.NET_HOST_NAME, "localhost"),
+                                            equalTo(SemanticAttributes.NET_HOST_PORT, 8080)))));
+  }
+
+  static class TestHttpServerAttributesGetter
+      implements HttpServerAttributesGetter<String, String> {
+
+    @Override
+    public String method(String request) {
+      return "POST";
+    }
+
+    @Override
+    public List<String> requestHeader(String request, String name) {
+      return "content-length".equals(name) ? singletonList("100") : emptyList();
+    }
+
+    @Override
+    public Integer statusCode(String request, String response, @Nullable Throwable error) {
+      return 200;
+    }
+
+    @Override
+    public List<String> responseHeader(String request, String response, String name) {
+      return "content-length".equals(name) ? singletonList("200") : emptyList();
+    }
+
+    @Override
+    public String flavor(String request) {
+      return "1.1";
+    }
+
+    @Override
+    public String target(String request) {
+      return "/";
+    }
+
+    @Nullable
+    @Override
+    public String route(String request) {
+      return null;
+    }
+
+    @Override
+    public String scheme(String request) {
+      return "http";
+    }
+  }
+
+  static class TestNetServerAttributesGetter implements NetServerAttributesGetter<String> {
+
+    @Nullable
+    @Override
+    public String transport(String request) {
+      return null;
+    }
+
+    @Override
+    public String hostName(String request) {
+      return "localhost";
+    }
+
+    @Override
+    public Integer hostPort(String request) {
+      return 8080;
+    }
+  }
+}
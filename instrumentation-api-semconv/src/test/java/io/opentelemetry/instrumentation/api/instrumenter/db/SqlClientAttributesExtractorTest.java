@@ -11,6 +11,8 @@ import static org.assertj.core.api.Assertions.entry;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.db.SqlStatementInfo;
+import io.opentelemetry.instrumentation.api.db.internal.SanitizedStatementGetter;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
 import java.util.Collections;
 import java.util.HashMap;
@@ -19,8 +21,7 @@ import org.junit.jupiter.api.Test;
 
 class SqlClientAttributesExtractorTest {
 
-  static final class TestAttributesGetter
-      implements SqlClientAttributesGetter<Map<String, String>> {
+  static class TestAttributesGetter implements SqlClientAttributesGetter<Map<String, String>> {
 
     @Override
     public String rawStatement(Map<String, String> map) {
@@ -48,6 +49,16 @@ class SqlClientAttributesExtractorTest {
     }
   }
 
+  static final class TestSanitizedStatementGetter extends TestAttributesGetter
+      implements SanitizedStatementGetter<Map<String, String>> {
+
+    @Override
+    public SqlStatementInfo sanitizedStatement(Map<String, String> map) {
+      return SqlStatementInfo.create(
+          "SELECT * FROM presanitized WHERE id=?", "SELECT", "presanitized");
+    }
+  }
+
   @Test
   void shouldExtractAllAttributes() {
     // given
@@ -131,6 +142,53 @@ class SqlClientAttributesExtractorTest {
             entry(SemanticAttributes.DB_CASSANDRA_TABLE, "table"));
   }
 
+  @Test
+  void shouldUseSanitizedStatement() {
+    // given
+    Map<String, String> request = new HashMap<>();
+    request.put("db.statement", "SELECT * FROM potato WHERE id=12345");
+
+    Context context = Context.root();
+
+    SqlClientAttributesExtractor<Map<String, String>, Void> underTest =
+        SqlClientAttributesExtractor.create(new TestSanitizedStatementGetter());
+
+    // when
+    AttributesBuilder attributes = Attributes.builder();
+    underTest.onStart(attributes, context, request);
+
+    // then
+    assertThat(attributes.build())
+        .containsOnly(
+            entry(SemanticAttributes.DB_STATEMENT, "SELECT * FROM presanitized WHERE id=?"),
+            entry(SemanticAttributes.DB_OPERATION, "SELECT"),
+            entry(SemanticAttributes.DB_SQL_TABLE, "presanitized"));
+  }
+
+  @Test
+  void shouldNotUseSanitizedStatementIfSanitizationIsDisabled() {
+    // given
+    Map<String, String> request = new HashMap<>();
+    request.put("db.statement", "SELECT * FROM potato WHERE id=12345");
+
+    Context context = Context.root();
+
+    SqlClientAttributesExtractor<Map<String, String>, Void> underTest =
+        SqlClientAttributesExtractor.<Map<String, String>, Void>builder(
+                new TestSanitizedStatementGetter())
+            .setStatementSanitizationEnabled(false)
+            .build();
+
+    // when
+    AttributesBuilder attributes = Attributes.builder();
+    underTest.onStart(attributes, context, request);
+
+    // then
+    assertThat(attributes.build())
+        .containsOnly(
+            entry(SemanticAttributes.DB_STATEMENT, "SELECT * FROM potato WHERE id=12345"));
+  }
+
   @Test
   void shouldExtractNoAttributesIfNoneAreAvailable() {
     // when
@@ -123,4 +123,95 @@ class TemporaryMetricsViewTest {
             entry(SemanticAttributes.HTTP_FLAVOR, HTTP_1_1),
             entry(SemanticAttributes.NET_HOST_NAME, "somehost"));
   }
+
+  @Test
+  void shouldReuseFilteredAttributesForSameValues() {
+    Attributes startAttributes =
+        Attributes.builder()
+            .put(SemanticAttributes.HTTP_METHOD, "GET")
+            .put(SemanticAttributes.HTTP_TARGET, "/users/1")
+            .build();
+    Attributes otherStartAttributes =
+        Attributes.builder()
+            .put(SemanticAttributes.HTTP_METHOD, "GET")
+            .put(SemanticAttributes.HTTP_TARGET, "/users/2")
+            .build();
+    Attributes endAttributes =
+        Attributes.builder()
+            .put(SemanticAttributes.HTTP_STATUS_CODE, 200)
+            .put(SemanticAttributes.HTTP_ROUTE, "/users/{id}")
+            .build();
+    Attributes otherEndAttributes =
+        Attributes.builder()
+            .put(SemanticAttributes.HTTP_STATUS_CODE, 404)
+            .put(SemanticAttributes.HTTP_ROUTE, "/users/{id}")
+            .build();
+
+    Attributes filtered = applyServerDurationAndSizeView(startAttributes, endAttributes);
+    assertThat(filtered)
+        .containsOnly(
+            entry(SemanticAttributes.HTTP_METHOD, "GET"),
+            entry(SemanticAttributes.HTTP_STATUS_CODE, 200L),
+            entry(SemanticAttributes.HTTP_ROUTE, "/users/{id}"));
+    assertThat(applyServerDurationAndSizeView(otherStartAttributes, endAttributes))
+        .isSameAs(filtered);
+    assertThat(applyServerDurationAndSizeView(startAttributes, otherEndAttributes))
+        .containsOnly(
+            entry(SemanticAttributes.HTTP_METHOD, "GET"),
+            entry(SemanticAttributes.HTTP_STATUS_CODE, 404L),
+            entry(SemanticAttributes.HTTP_ROUTE, "/users/{id}"));
+  }
+
+  @Test
+  void shouldNotReuseFilteredAttributesWithSocketAddress() {
+    Attributes startAttributes =
+        Attributes.builder()
+            .put(SemanticAttributes.HTTP_METHOD, "GET")
+            .put(SemanticAttributes.NET_PEER_NAME, "somehost")
+            .build();
+    Attributes endAttributes =
+        Attributes.builder()
+            .put(SemanticAttributes.HTTP_STATUS_CODE, 200)
+            .put("net.peer.sock.addr", "1.2.3.4")
+            .build();
+    Attributes endAttributesWithoutAddress =
+        Attributes.builder().put(SemanticAttributes.HTTP_STATUS_CODE, 200).build();
+
+    Attributes filtered = applyClientDurationAndSizeView(startAttributes, endAttributes);
+    assertThat(filtered)
+        .containsOnly(
+            entry(SemanticAttributes.HTTP_METHOD, "GET"),
+            entry(SemanticAttributes.HTTP_STATUS_CODE, 200L),
+            entry(SemanticAttributes.NET_PEER_NAME, "somehost"),
+            entry(stringKey("net.peer.sock.addr"), "1.2.3.4"));
+    Attributes filteredAgain = applyClientDurationAndSizeView(startAttributes, endAttributes);
+    assertThat(filteredAgain).isNotSameAs(filtered).isEqualTo(filtered);
+
+    // the attributes without the socket address are still cached
+    Attributes filteredWithoutAddress =
+        applyClientDurationAndSizeView(startAttributes, endAttributesWithoutAddress);
+    assertThat(filteredWithoutAddress)
+        .containsOnly(
+            entry(SemanticAttributes.HTTP_METHOD, "GET"),
+            entry(SemanticAttributes.HTTP_STATUS_CODE, 200L),
+            entry(SemanticAttributes.NET_PEER_NAME, "somehost"));
+    assertThat(applyClientDurationAndSizeView(startAttributes, endAttributesWithoutAddress))
+        .isSameAs(filteredWithoutAddress);
+  }
+
+  @Test
+  void endAttributesReplaceStartAttributes() {
+    Attributes startAttributes =
+        Attributes.builder()
+            .put(SemanticAttributes.HTTP_METHOD, "GET")
+            .put(SemanticAttributes.NET_PEER_NAME, "somehost")
+            .build();
+    Attributes endAttributes =
+        Attributes.builder().put(SemanticAttributes.NET_PEER_NAME, "otherhost").build();
+
+    assertThat(applyClientDurationAndSizeView(startAttributes, endAttributes))
+        .containsOnly(
+            entry(SemanticAttributes.HTTP_METHOD, "GET"),
+            entry(SemanticAttributes.NET_PEER_NAME, "otherhost"));
+  }
 }
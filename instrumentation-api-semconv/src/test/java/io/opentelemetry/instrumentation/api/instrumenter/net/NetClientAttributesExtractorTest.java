@@ -14,6 +14,7 @@ import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
+import io.opentelemetry.instrumentation.api.internal.AttributesUsage;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
 import java.util.HashMap;
 import java.util.Map;
@@ -236,4 +237,24 @@ class NetClientAttributesExtractorTest {
     assertThat(endAttributes.build())
         .containsOnly(entry(SemanticAttributes.NET_SOCK_PEER_ADDR, "1.2.3.4"));
   }
+
+  @Test
+  void doesNotExtractEndAttributesForMetrics() {
+    // given
+    Map<String, String> map = new HashMap<>();
+    map.put("transport", IP_TCP);
+    map.put("peerName", "opentelemetry.io");
+    map.put("sockPeerAddr", "1:2:3:4::");
+    map.put("sockPeerPort", "123");
+
+    Context context = Context.root();
+
+    // when
+    AttributesBuilder endAttributes = Attributes.builder();
+    ((NetClientAttributesExtractor<Map<String, String>, Map<String, String>>) extractor)
+        .internalOnEnd(endAttributes, context, map, map, null, AttributesUsage.METRICS);
+
+    // then
+    assertThat(endAttributes.build()).isEmpty();
+  }
 }
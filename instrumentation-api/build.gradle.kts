@@ -35,4 +35,44 @@ tasks {
       isEnabled.set(false)
     }
   }
+
+  // verifies the bytes/op reported by the gc profiler (enabled in otel.jmh-conventions): the
+  // InstrumenterBenchmark variants that reuse per-thread buffers must not allocate more than the
+  // default ones
+  val checkJmhAllocations by registering {
+    val resultsFile = file("$buildDir/results/jmh/results.json")
+    onlyIf { resultsFile.exists() }
+
+    doLast {
+      @Suppress("UNCHECKED_CAST")
+      val results = groovy.json.JsonSlurper().parse(resultsFile) as List<Map<String, Any?>>
+      val allocations = results
+        .filter { (it["benchmark"] as String).contains(".InstrumenterBenchmark.") }
+        .associate { result ->
+          @Suppress("UNCHECKED_CAST")
+          val params = result["params"] as Map<String, String>? ?: emptyMap()
+          @Suppress("UNCHECKED_CAST")
+          val metrics = result["secondaryMetrics"] as Map<String, Map<String, Any?>>
+          val bytesPerOp = metrics.entries
+            .first { it.key.endsWith("gc.alloc.rate.norm") }
+            .value["score"] as Number
+          Pair(result["benchmark"] as String, params["reuseBuffers"]) to bytesPerOp.toDouble()
+        }
+
+      allocations.keys.map { it.first }.distinct().forEach { benchmark ->
+        val default = allocations[Pair(benchmark, "false")] ?: return@forEach
+        val reused = allocations[Pair(benchmark, "true")] ?: return@forEach
+        logger.lifecycle("$benchmark: $default B/op (default), $reused B/op (reuseBuffers)")
+        if (reused > default) {
+          throw GradleException(
+            "$benchmark allocates more with reused buffers ($reused B/op) than without ($default B/op)"
+          )
+        }
+      }
+    }
+  }
+
+  named("jmh") {
+    finalizedBy(checkJmhAllocations)
+  }
 }
@@ -6,11 +6,16 @@
 package io.opentelemetry.instrumentation.api.cache;
 
 import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import java.util.Arrays;
+import java.util.Random;
 import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -155,4 +160,93 @@ public class CacheBenchmark {
     blackhole.consume(boundedSmallCache.get(key));
     blackhole.consume(boundedSmallCache.get(key2));
   }
+
+  // the hits and misses counters reported for the skewed benchmarks give the hit rate of the cache
+  // implementation for a working set that is 10 times larger than the cache capacity
+
+  @Benchmark
+  @Threads(1)
+  public Object threads01_skewed(SkewedWorkload workload, HitRateCounters counters) {
+    return workload.lookup(counters);
+  }
+
+  @Benchmark
+  @Threads(5)
+  public Object threads05_skewed(SkewedWorkload workload, HitRateCounters counters) {
+    return workload.lookup(counters);
+  }
+
+  @State(Scope.Benchmark)
+  public static class SkewedWorkload {
+    private static final int CAPACITY = 1000;
+    private static final int DISTINCT_KEYS = 10 * CAPACITY;
+    private static final int SAMPLES = 1 << 20;
+
+    @Param({"bounded", "frequencyBounded"})
+    String cacheType;
+
+    // exponent of the Zipfian distribution of the keys, the higher the more skewed
+    @Param({"0.8", "1.0", "1.2"})
+    double skew;
+
+    Cache<Integer, Integer> cache;
+    int[] keys;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      cache =
+          cacheType.equals("bounded") ? Cache.bounded(CAPACITY) : Cache.frequencyBounded(CAPACITY);
+      keys = zipfianKeys(skew);
+    }
+
+    Object lookup(HitRateCounters counters) {
+      Integer key = keys[counters.next()];
+      Integer value = cache.get(key);
+      if (value != null) {
+        counters.hits++;
+        return value;
+      }
+      counters.misses++;
+      return cache.computeIfAbsent(key, k -> k);
+    }
+
+    private static int[] zipfianKeys(double skew) {
+      double[] cumulativeProbabilities = new double[DISTINCT_KEYS];
+      double sum = 0;
+      for (int i = 0; i < DISTINCT_KEYS; i++) {
+        sum += 1 / Math.pow(i + 1, skew);
+        cumulativeProbabilities[i] = sum;
+      }
+
+      // use a fixed seed so that all the compared caches see exactly the same sequence of keys
+      Random random = new Random(42);
+      int[] keys = new int[SAMPLES];
+      for (int i = 0; i < SAMPLES; i++) {
+        int index = Arrays.binarySearch(cumulativeProbabilities, random.nextDouble() * sum);
+        // scatter the popular keys so that they aren't all clustered at the lowest hash codes
+        keys[i] = ((index < 0 ? -index - 1 : index) * 0x9E3779B9) >>> 1;
+      }
+      return keys;
+    }
+  }
+
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  @State(Scope.Thread)
+  public static class HitRateCounters {
+    public long hits;
+    public long misses;
+    private int index;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      hits = 0;
+      misses = 0;
+    }
+
+    int next() {
+      int next = index;
+      index = (index + 1) & (SkewedWorkload.SAMPLES - 1);
+      return next;
+    }
+  }
 }
@@ -24,7 +24,9 @@ import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 
@@ -36,26 +38,37 @@ import org.openjdk.jmh.annotations.Warmup;
 @State(Scope.Thread)
 public class InstrumenterBenchmark {
 
-  private static final Instrumenter<Void, Void> INSTRUMENTER =
-      Instrumenter.<Void, Void>builder(
-              OpenTelemetry.noop(),
-              "benchmark",
-              HttpSpanNameExtractor.create(ConstantHttpAttributesGetter.INSTANCE))
-          .addAttributesExtractor(
-              HttpClientAttributesExtractor.create(ConstantHttpAttributesGetter.INSTANCE))
-          .addAttributesExtractor(
-              NetServerAttributesExtractor.create(new ConstantNetAttributesGetter()))
-          .buildInstrumenter();
+  // the allocation rate (gc.alloc.rate.norm) of the reuseBuffers=true variant is verified by the
+  // checkJmhAllocations task, see build.gradle.kts
+  @Param({"false", "true"})
+  boolean reuseBuffers;
+
+  private Instrumenter<Void, Void> instrumenter;
+
+  @Setup
+  public void setUp() {
+    instrumenter =
+        Instrumenter.<Void, Void>builder(
+                OpenTelemetry.noop(),
+                "benchmark",
+                HttpSpanNameExtractor.create(ConstantHttpAttributesGetter.INSTANCE))
+            .addAttributesExtractor(
+                HttpClientAttributesExtractor.create(ConstantHttpAttributesGetter.INSTANCE))
+            .addAttributesExtractor(
+                NetServerAttributesExtractor.create(new ConstantNetAttributesGetter()))
+            .setReuseBuffers(reuseBuffers)
+            .buildInstrumenter();
+  }
 
   @Benchmark
   public Context start() {
-    return INSTRUMENTER.start(Context.root(), null);
+    return instrumenter.start(Context.root(), null);
   }
 
   @Benchmark
   public Context startEnd() {
-    Context context = INSTRUMENTER.start(Context.root(), null);
-    INSTRUMENTER.end(context, null, null, null);
+    Context context = instrumenter.start(Context.root(), null);
+    instrumenter.end(context, null, null, null);
     return context;
   }
 
@@ -11,11 +11,12 @@ import io.opentelemetry.api.trace.SpanBuilder;
 import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.internal.AttributesUsage;
+import io.opentelemetry.instrumentation.api.internal.SamplingAwareAttributesExtractor;
 import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
 
@@ -62,9 +63,6 @@ public class Instrumenter<REQUEST, RESPONSE> {
     return new InstrumenterBuilder<>(openTelemetry, instrumentationName, spanNameExtractor);
   }
 
-  private static final SupportabilityMetrics supportability = SupportabilityMetrics.instance();
-
-  private final String instrumentationName;
   private final Tracer tracer;
   private final SpanNameExtractor<? super REQUEST> spanNameExtractor;
   private final SpanKindExtractor<? super REQUEST> spanKindExtractor;
@@ -77,9 +75,11 @@ public class Instrumenter<REQUEST, RESPONSE> {
   private final ErrorCauseExtractor errorCauseExtractor;
   private final boolean enabled;
   private final SpanSuppressor spanSuppressor;
+  private final boolean reuseBuffers;
+  private final boolean samplingAwareExtraction;
+  private final SupportabilityMetrics.SuppressedSpans suppressedSpans;
 
   Instrumenter(InstrumenterBuilder<REQUEST, RESPONSE> builder) {
-    this.instrumentationName = builder.instrumentationName;
     this.tracer = builder.buildTracer();
     this.spanNameExtractor = builder.spanNameExtractor;
     this.spanKindExtractor = builder.spanKindExtractor;
@@ -91,6 +91,10 @@ public class Instrumenter<REQUEST, RESPONSE> {
     this.errorCauseExtractor = builder.errorCauseExtractor;
     this.enabled = builder.enabled;
     this.spanSuppressor = builder.buildSpanSuppressor();
+    this.reuseBuffers = builder.reuseBuffers;
+    this.samplingAwareExtraction = builder.samplingAwareExtraction;
+    this.suppressedSpans =
+        SupportabilityMetrics.instance().suppressedSpans(builder.instrumentationName);
   }
 
   /**
@@ -111,7 +115,7 @@ public class Instrumenter<REQUEST, RESPONSE> {
     boolean suppressed = spanSuppressor.shouldSuppress(parentContext, spanKind);
 
     if (suppressed) {
-      supportability.recordSuppressedSpan(spanKind, instrumentationName);
+      suppressedSpans.increment(spanKind);
     }
     return !suppressed;
   }
@@ -158,6 +162,9 @@ public class Instrumenter<REQUEST, RESPONSE> {
   }
 
   private Context doStart(Context parentContext, REQUEST request, @Nullable Instant startTime) {
+    // all the lists below are ArrayLists, indexed loops are used to avoid allocating iterators
+    ThreadLocalBuffers buffers = reuseBuffers ? ThreadLocalBuffers.get() : null;
+
     SpanKind spanKind = spanKindExtractor.extract(request);
     SpanBuilder spanBuilder =
         tracer.spanBuilder(spanNameExtractor.extract(request)).setSpanKind(spanKind);
@@ -166,44 +173,82 @@ public class Instrumenter<REQUEST, RESPONSE> {
       spanBuilder.setStartTimestamp(startTime);
     }
 
-    SpanLinksBuilder spanLinksBuilder = new SpanLinksBuilderImpl(spanBuilder);
-    for (SpanLinksExtractor<? super REQUEST> spanLinksExtractor : spanLinksExtractors) {
-      spanLinksExtractor.extract(spanLinksBuilder, parentContext, request);
+    if (!spanLinksExtractors.isEmpty()) {
+      SpanLinksBuilderImpl spanLinksBuilder =
+          buffers != null
+              ? buffers.acquireSpanLinksBuilder(spanBuilder)
+              : new SpanLinksBuilderImpl(spanBuilder);
+      try {
+        for (int i = 0; i < spanLinksExtractors.size(); i++) {
+          spanLinksExtractors.get(i).extract(spanLinksBuilder, parentContext, request);
+        }
+      } finally {
+        if (buffers != null) {
+          buffers.releaseSpanLinksBuilder(spanLinksBuilder);
+        }
+      }
     }
 
-    UnsafeAttributes attributes = new UnsafeAttributes();
-    for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor : attributesExtractors) {
-      extractor.onStart(attributes, parentContext, request);
-    }
+    // operation listeners are allowed to keep a reference to the start attributes (e.g. the HTTP
+    // server metrics store them in the context until the operation ends), so they can't be reused
+    boolean reuseAttributes = buffers != null && operationListeners.isEmpty();
+    UnsafeAttributes attributes =
+        reuseAttributes ? buffers.acquireAttributes() : new UnsafeAttributes();
+    try {
+      if (samplingAwareExtraction) {
+        // only the attributes that samplers can use are extracted before the span is started
+        extractStartAttributes(attributes, parentContext, request, AttributesUsage.SAMPLING);
+      } else {
+        for (int i = 0; i < attributesExtractors.size(); i++) {
+          attributesExtractors.get(i).onStart(attributes, parentContext, request);
+        }
+      }
 
-    Context context = parentContext;
+      Context context = parentContext;
 
-    // context customizers run before span start, so that they can have access to the parent span
-    // context, and so that their additions to the context will be visible to span processors
-    for (ContextCustomizer<? super REQUEST> contextCustomizer : contextCustomizers) {
-      context = contextCustomizer.onStart(context, request, attributes);
-    }
+      // context customizers run before span start, so that they can have access to the parent
+      // span context, and so that their additions to the context will be visible to span
+      // processors
+      for (int i = 0; i < contextCustomizers.size(); i++) {
+        context = contextCustomizers.get(i).onStart(context, request, attributes);
+      }
 
-    boolean localRoot = LocalRootSpan.isLocalRoot(context);
+      boolean localRoot = LocalRootSpan.isLocalRoot(context);
 
-    spanBuilder.setAllAttributes(attributes);
-    Span span = spanBuilder.setParent(context).startSpan();
-    context = context.with(span);
+      spanBuilder.setAllAttributes(attributes);
+      Span span = spanBuilder.setParent(context).startSpan();
+      context = context.with(span);
 
-    if (!operationListeners.isEmpty()) {
-      // operation listeners run after span start, so that they have access to the current span
-      // for capturing exemplars
-      long startNanos = getNanos(startTime);
-      for (OperationListener operationListener : operationListeners) {
-        context = operationListener.onStart(context, attributes, startNanos);
+      if (samplingAwareExtraction) {
+        boolean recording = span.isRecording();
+        if (recording || !operationListeners.isEmpty()) {
+          extractStartAttributes(attributes, parentContext, request, AttributesUsage.METRICS);
+        }
+        if (recording) {
+          extractStartAttributes(attributes, parentContext, request, AttributesUsage.SPAN);
+          span.setAllAttributes(attributes);
+        }
       }
-    }
 
-    if (localRoot) {
-      context = LocalRootSpan.store(context, span);
-    }
+      if (!operationListeners.isEmpty()) {
+        // operation listeners run after span start, so that they have access to the current span
+        // for capturing exemplars
+        long startNanos = getNanos(startTime);
+        for (int i = 0; i < operationListeners.size(); i++) {
+          context = operationListeners.get(i).onStart(context, attributes, startNanos);
+        }
+      }
+
+      if (localRoot) {
+        context = LocalRootSpan.store(context, span);
+      }
 
-    return spanSuppressor.storeInContext(context, spanKind, span);
+      return spanSuppressor.storeInContext(context, spanKind, span);
+    } finally {
+      if (reuseAttributes) {
+        buffers.releaseAttributes(attributes);
+      }
+    }
   }
 
   private void doEnd(
@@ -212,6 +257,7 @@ public class Instrumenter<REQUEST, RESPONSE> {
       @Nullable RESPONSE response,
       @Nullable Throwable error,
       @Nullable Instant endTime) {
+    ThreadLocalBuffers buffers = reuseBuffers ? ThreadLocalBuffers.get() : null;
     Span span = Span.fromContext(context);
 
     if (error != null) {
@@ -219,23 +265,49 @@ public class Instrumenter<REQUEST, RESPONSE> {
       span.recordException(error);
     }
 
-    UnsafeAttributes attributes = new UnsafeAttributes();
-    for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor : attributesExtractors) {
-      extractor.onEnd(attributes, context, request, response, error);
-    }
-    span.setAllAttributes(attributes);
-
-    if (!operationListeners.isEmpty()) {
-      long endNanos = getNanos(endTime);
-      ListIterator<? extends OperationListener> i =
-          operationListeners.listIterator(operationListeners.size());
-      while (i.hasPrevious()) {
-        i.previous().onEnd(context, attributes, endNanos);
+    // same as the start attributes, operation listeners are allowed to keep a reference to the end
+    // attributes, so they can't be reused
+    boolean reuseAttributes = buffers != null && operationListeners.isEmpty();
+    UnsafeAttributes attributes =
+        reuseAttributes ? buffers.acquireAttributes() : new UnsafeAttributes();
+    try {
+      if (samplingAwareExtraction) {
+        boolean recording = span.isRecording();
+        if (recording || !operationListeners.isEmpty()) {
+          extractEndAttributes(
+              attributes, context, request, response, error, AttributesUsage.METRICS);
+        }
+        if (recording) {
+          extractEndAttributes(attributes, context, request, response, error, AttributesUsage.SPAN);
+        }
+      } else {
+        for (int i = 0; i < attributesExtractors.size(); i++) {
+          attributesExtractors.get(i).onEnd(attributes, context, request, response, error);
+        }
+      }
+      span.setAllAttributes(attributes);
+
+      if (!operationListeners.isEmpty()) {
+        long endNanos = getNanos(endTime);
+        for (int i = operationListeners.size() - 1; i >= 0; i--) {
+          operationListeners.get(i).onEnd(context, attributes, endNanos);
+        }
+      }
+    } finally {
+      if (reuseAttributes) {
+        buffers.releaseAttributes(attributes);
       }
     }
 
-    SpanStatusBuilder spanStatusBuilder = new SpanStatusBuilderImpl(span);
-    spanStatusExtractor.extract(spanStatusBuilder, request, response, error);
+    SpanStatusBuilderImpl spanStatusBuilder =
+        buffers != null ? buffers.acquireSpanStatusBuilder(span) : new SpanStatusBuilderImpl(span);
+    try {
+      spanStatusExtractor.extract(spanStatusBuilder, request, response, error);
+    } finally {
+      if (buffers != null) {
+        buffers.releaseSpanStatusBuilder(spanStatusBuilder);
+      }
+    }
 
     if (endTime != null) {
       span.end(endTime);
@@ -244,6 +316,43 @@ public class Instrumenter<REQUEST, RESPONSE> {
     }
   }
 
+  @SuppressWarnings("unchecked")
+  private void extractStartAttributes(
+      UnsafeAttributes attributes, Context parentContext, REQUEST request, AttributesUsage usage) {
+    for (int i = 0; i < attributesExtractors.size(); i++) {
+      AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor =
+          attributesExtractors.get(i);
+      if (extractor instanceof SamplingAwareAttributesExtractor) {
+        ((SamplingAwareAttributesExtractor<? super REQUEST, ? super RESPONSE>) extractor)
+            .internalOnStart(attributes, parentContext, request, usage);
+      } else if (usage == AttributesUsage.SAMPLING) {
+        // the attributes of other extractors may be used by samplers, same as without this mode
+        extractor.onStart(attributes, parentContext, request);
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void extractEndAttributes(
+      UnsafeAttributes attributes,
+      Context context,
+      REQUEST request,
+      @Nullable RESPONSE response,
+      @Nullable Throwable error,
+      AttributesUsage usage) {
+    for (int i = 0; i < attributesExtractors.size(); i++) {
+      AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor =
+          attributesExtractors.get(i);
+      if (extractor instanceof SamplingAwareAttributesExtractor) {
+        ((SamplingAwareAttributesExtractor<? super REQUEST, ? super RESPONSE>) extractor)
+            .internalOnEnd(attributes, context, request, response, error, usage);
+      } else if (usage == AttributesUsage.METRICS) {
+        // the attributes of other extractors may be used by the metrics views
+        extractor.onEnd(attributes, context, request, response, error);
+      }
+    }
+  }
+
   private static long getNanos(@Nullable Instant time) {
     if (time == null) {
       return System.nanoTime();
@@ -42,6 +42,19 @@ public final class InstrumenterBuilder<REQUEST, RESPONSE> {
           ConfigPropertiesUtil.getString(
               "otel.instrumentation.experimental.span-suppression-strategy"));
 
+  // reusing per-thread buffers requires that operation listeners do not retain the end attributes
+  // passed to them after onEnd() returns
+  private static final boolean reuseBuffersByDefault =
+      ConfigPropertiesUtil.getBoolean(
+          "otel.instrumentation.experimental.instrumenter.reuse-buffers", false);
+
+  // when enabled, only the sampling relevant attributes are extracted before the span is started,
+  // the metrics relevant ones only when the span is recording or there are operation listeners, and
+  // the rest only when the span is recording; span processors see the latter two only in onEnd()
+  private static final boolean samplingAwareExtractionByDefault =
+      ConfigPropertiesUtil.getBoolean(
+          "otel.instrumentation.experimental.instrumenter.sampling-aware-extraction", false);
+
   final OpenTelemetry openTelemetry;
   final String instrumentationName;
   final SpanNameExtractor<? super REQUEST> spanNameExtractor;
@@ -60,6 +73,8 @@ public final class InstrumenterBuilder<REQUEST, RESPONSE> {
       SpanStatusExtractor.getDefault();
   ErrorCauseExtractor errorCauseExtractor = ErrorCauseExtractor.getDefault();
   boolean enabled = true;
+  boolean reuseBuffers = reuseBuffersByDefault;
+  boolean samplingAwareExtraction = samplingAwareExtractionByDefault;
 
   InstrumenterBuilder(
       OpenTelemetry openTelemetry,
@@ -185,6 +200,21 @@ public final class InstrumenterBuilder<REQUEST, RESPONSE> {
     return this;
   }
 
+  // visible for tests and benchmarks
+  @CanIgnoreReturnValue
+  InstrumenterBuilder<REQUEST, RESPONSE> setReuseBuffers(boolean reuseBuffers) {
+    this.reuseBuffers = reuseBuffers;
+    return this;
+  }
+
+  // visible for tests and benchmarks
+  @CanIgnoreReturnValue
+  InstrumenterBuilder<REQUEST, RESPONSE> setSamplingAwareExtraction(
+      boolean samplingAwareExtraction) {
+    this.samplingAwareExtraction = samplingAwareExtraction;
+    return this;
+  }
+
   /**
    * Returns a new {@link Instrumenter} which will create {@linkplain SpanKind#CLIENT client} spans
    * and inject context into requests.
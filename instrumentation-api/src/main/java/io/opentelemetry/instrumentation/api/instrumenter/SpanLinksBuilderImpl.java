@@ -11,12 +11,17 @@ import io.opentelemetry.api.trace.SpanBuilder;
 import io.opentelemetry.api.trace.SpanContext;
 
 final class SpanLinksBuilderImpl implements SpanLinksBuilder {
-  private final SpanBuilder spanBuilder;
+  private SpanBuilder spanBuilder;
 
   SpanLinksBuilderImpl(SpanBuilder spanBuilder) {
     this.spanBuilder = spanBuilder;
   }
 
+  // used when this builder is reused, see ThreadLocalBuffers
+  void reset(SpanBuilder spanBuilder) {
+    this.spanBuilder = spanBuilder;
+  }
+
   @Override
   @CanIgnoreReturnValue
   public SpanLinksBuilder addLink(SpanContext spanContext) {
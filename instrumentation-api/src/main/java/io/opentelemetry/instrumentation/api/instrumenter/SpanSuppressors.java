@@ -59,28 +59,20 @@ final class SpanSuppressors {
 
   static final class BySpanKey implements SpanSuppressor {
 
-    private final Set<SpanKey> spanKeys;
+    private final int spanKeysMask;
 
     BySpanKey(Set<SpanKey> spanKeys) {
-      this.spanKeys = spanKeys;
+      this.spanKeysMask = SpanKey.mask(spanKeys);
     }
 
     @Override
     public Context storeInContext(Context context, SpanKind spanKind, Span span) {
-      for (SpanKey spanKey : spanKeys) {
-        context = spanKey.storeInContext(context, span);
-      }
-      return context;
+      return SpanKey.storeInContext(context, spanKeysMask, span);
     }
 
     @Override
     public boolean shouldSuppress(Context parentContext, SpanKind spanKind) {
-      for (SpanKey spanKey : spanKeys) {
-        if (spanKey.fromContextOrNull(parentContext) == null) {
-          return false;
-        }
-      }
-      return true;
+      return SpanKey.allStoredInContext(parentContext, spanKeysMask);
     }
   }
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanBuilder;
+import io.opentelemetry.api.trace.TracerProvider;
+import javax.annotation.Nullable;
+
+/**
+ * Per-thread scratch objects that the {@link Instrumenter} reuses across operations when buffer
+ * reuse is enabled. Every object is handed out to at most one caller at a time: when an
+ * instrumenter is re-entered on the same thread (e.g. an extractor triggers another instrumented
+ * operation) the nested call simply gets a freshly allocated instance.
+ */
+final class ThreadLocalBuffers {
+
+  private static final ThreadLocal<ThreadLocalBuffers> buffers =
+      ThreadLocal.withInitial(ThreadLocalBuffers::new);
+
+  private static final SpanBuilder NOOP_SPAN_BUILDER =
+      TracerProvider.noop().get("noop").spanBuilder("noop");
+
+  static ThreadLocalBuffers get() {
+    return buffers.get();
+  }
+
+  private final UnsafeAttributes attributes = new UnsafeAttributes();
+  private boolean attributesInUse = false;
+
+  @Nullable private SpanLinksBuilderImpl spanLinksBuilder;
+  private boolean spanLinksBuilderInUse = false;
+
+  @Nullable private SpanStatusBuilderImpl spanStatusBuilder;
+  private boolean spanStatusBuilderInUse = false;
+
+  private ThreadLocalBuffers() {}
+
+  UnsafeAttributes acquireAttributes() {
+    if (attributesInUse) {
+      return new UnsafeAttributes();
+    }
+    attributesInUse = true;
+    return attributes;
+  }
+
+  void releaseAttributes(UnsafeAttributes attributes) {
+    if (attributes == this.attributes) {
+      // HashMap.clear() keeps the backing table, so the next operation doesn't need to resize it
+      attributes.clear();
+      attributesInUse = false;
+    }
+  }
+
+  SpanLinksBuilderImpl acquireSpanLinksBuilder(SpanBuilder spanBuilder) {
+    if (spanLinksBuilderInUse) {
+      return new SpanLinksBuilderImpl(spanBuilder);
+    }
+    spanLinksBuilderInUse = true;
+    SpanLinksBuilderImpl builder = spanLinksBuilder;
+    if (builder == null) {
+      builder = spanLinksBuilder = new SpanLinksBuilderImpl(spanBuilder);
+    } else {
+      builder.reset(spanBuilder);
+    }
+    return builder;
+  }
+
+  void releaseSpanLinksBuilder(SpanLinksBuilderImpl builder) {
+    if (builder == spanLinksBuilder) {
+      // don't keep the span builder (and its parent context) reachable from the thread
+      builder.reset(NOOP_SPAN_BUILDER);
+      spanLinksBuilderInUse = false;
+    }
+  }
+
+  SpanStatusBuilderImpl acquireSpanStatusBuilder(Span span) {
+    if (spanStatusBuilderInUse) {
+      return new SpanStatusBuilderImpl(span);
+    }
+    spanStatusBuilderInUse = true;
+    SpanStatusBuilderImpl builder = spanStatusBuilder;
+    if (builder == null) {
+      builder = spanStatusBuilder = new SpanStatusBuilderImpl(span);
+    } else {
+      builder.reset(span);
+    }
+    return builder;
+  }
+
+  void releaseSpanStatusBuilder(SpanStatusBuilderImpl builder) {
+    if (builder == spanStatusBuilder) {
+      // don't keep the span reachable from the thread after the operation has ended
+      builder.reset(Span.getInvalid());
+      spanStatusBuilderInUse = false;
+    }
+  }
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal;
+
+/**
+ * What the attributes extracted by a {@link SamplingAwareAttributesExtractor} are used for.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public enum AttributesUsage {
+  /**
+   * Attributes that samplers can base their decision on, e.g. the HTTP method and target. They are
+   * always extracted, before the span is started. Only start attributes can have this usage.
+   */
+  SAMPLING,
+  /**
+   * Attributes used by the metrics views of the operation listeners, e.g. the HTTP route. They are
+   * extracted when the span is recording or when there are operation listeners.
+   */
+  METRICS,
+  /** All the other attributes, which are only extracted when the span is recording. */
+  SPAN
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal;
+
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
+import javax.annotation.Nullable;
+
+/**
+ * Extracts the attributes of the {@link AttributesExtractor} that implements this interface
+ * separately for each {@link AttributesUsage}, so that in the sampling aware extraction mode the
+ * {@code Instrumenter} only extracts the attributes that are going to be used. Extractors that
+ * don't implement this interface are treated as if all their start attributes were {@linkplain
+ * AttributesUsage#SAMPLING sampling relevant} and all their end attributes were {@linkplain
+ * AttributesUsage#METRICS metrics relevant}.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public interface SamplingAwareAttributesExtractor<REQUEST, RESPONSE> {
+
+  /** Extracts the start attributes with the given {@code usage}. */
+  void internalOnStart(
+      AttributesBuilder attributes, Context parentContext, REQUEST request, AttributesUsage usage);
+
+  /**
+   * Extracts the end attributes with the given {@code usage}, which is never {@link
+   * AttributesUsage#SAMPLING}.
+   */
+  void internalOnEnd(
+      AttributesBuilder attributes,
+      Context context,
+      REQUEST request,
+      @Nullable RESPONSE response,
+      @Nullable Throwable error,
+      AttributesUsage usage);
+}
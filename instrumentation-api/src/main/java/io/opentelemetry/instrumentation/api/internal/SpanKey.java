@@ -7,7 +7,6 @@ package io.opentelemetry.instrumentation.api.internal;
 
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.context.Context;
-import io.opentelemetry.context.ContextKey;
 import javax.annotation.Nullable;
 
 /**
@@ -18,75 +17,77 @@ import javax.annotation.Nullable;
  */
 public final class SpanKey {
 
-  /* Context keys */
-
-  // span kind keys
-  private static final ContextKey<Span> KIND_SERVER_KEY =
-      ContextKey.named("opentelemetry-traces-span-key-kind-server");
-  private static final ContextKey<Span> KIND_CLIENT_KEY =
-      ContextKey.named("opentelemetry-traces-span-key-kind-client");
-  private static final ContextKey<Span> KIND_CONSUMER_KEY =
-      ContextKey.named("opentelemetry-traces-span-key-kind-consumer");
-  private static final ContextKey<Span> KIND_PRODUCER_KEY =
-      ContextKey.named("opentelemetry-traces-span-key-kind-producer");
-
-  // semantic convention keys
-  private static final ContextKey<Span> HTTP_SERVER_KEY =
-      ContextKey.named("opentelemetry-traces-span-key-http-server");
-  private static final ContextKey<Span> RPC_SERVER_KEY =
-      ContextKey.named("opentelemetry-traces-span-key-rpc-server");
-
-  private static final ContextKey<Span> HTTP_CLIENT_KEY =
-      ContextKey.named("opentelemetry-traces-span-key-http-client");
-  private static final ContextKey<Span> RPC_CLIENT_KEY =
-      ContextKey.named("opentelemetry-traces-span-key-rpc-client");
-  private static final ContextKey<Span> DB_CLIENT_KEY =
-      ContextKey.named("opentelemetry-traces-span-key-db-client");
-
-  private static final ContextKey<Span> PRODUCER_KEY =
-      ContextKey.named("opentelemetry-traces-span-key-producer");
-  private static final ContextKey<Span> CONSUMER_RECEIVE_KEY =
-      ContextKey.named("opentelemetry-traces-span-key-consumer-receive");
-  private static final ContextKey<Span> CONSUMER_PROCESS_KEY =
-      ContextKey.named("opentelemetry-traces-span-key-consumer-process");
-
-  /* Span keys */
-
   // span kind keys
-  public static final SpanKey KIND_SERVER = new SpanKey(KIND_SERVER_KEY);
-  public static final SpanKey KIND_CLIENT = new SpanKey(KIND_CLIENT_KEY);
-  public static final SpanKey KIND_CONSUMER = new SpanKey(KIND_CONSUMER_KEY);
-  public static final SpanKey KIND_PRODUCER = new SpanKey(KIND_PRODUCER_KEY);
+  public static final SpanKey KIND_SERVER =
+      new SpanKey(0, "opentelemetry-traces-span-key-kind-server");
+  public static final SpanKey KIND_CLIENT =
+      new SpanKey(1, "opentelemetry-traces-span-key-kind-client");
+  public static final SpanKey KIND_CONSUMER =
+      new SpanKey(2, "opentelemetry-traces-span-key-kind-consumer");
+  public static final SpanKey KIND_PRODUCER =
+      new SpanKey(3, "opentelemetry-traces-span-key-kind-producer");
 
   // semantic convention keys
-  public static final SpanKey HTTP_SERVER = new SpanKey(HTTP_SERVER_KEY);
-  public static final SpanKey RPC_SERVER = new SpanKey(RPC_SERVER_KEY);
-
-  public static final SpanKey HTTP_CLIENT = new SpanKey(HTTP_CLIENT_KEY);
-  public static final SpanKey RPC_CLIENT = new SpanKey(RPC_CLIENT_KEY);
-  public static final SpanKey DB_CLIENT = new SpanKey(DB_CLIENT_KEY);
-
-  public static final SpanKey PRODUCER = new SpanKey(PRODUCER_KEY);
-  public static final SpanKey CONSUMER_RECEIVE = new SpanKey(CONSUMER_RECEIVE_KEY);
-  public static final SpanKey CONSUMER_PROCESS = new SpanKey(CONSUMER_PROCESS_KEY);
-
-  private final ContextKey<Span> key;
-
-  private SpanKey(ContextKey<Span> key) {
-    this.key = key;
+  public static final SpanKey HTTP_SERVER =
+      new SpanKey(4, "opentelemetry-traces-span-key-http-server");
+  public static final SpanKey RPC_SERVER =
+      new SpanKey(5, "opentelemetry-traces-span-key-rpc-server");
+
+  public static final SpanKey HTTP_CLIENT =
+      new SpanKey(6, "opentelemetry-traces-span-key-http-client");
+  public static final SpanKey RPC_CLIENT =
+      new SpanKey(7, "opentelemetry-traces-span-key-rpc-client");
+  public static final SpanKey DB_CLIENT = new SpanKey(8, "opentelemetry-traces-span-key-db-client");
+
+  public static final SpanKey PRODUCER = new SpanKey(9, "opentelemetry-traces-span-key-producer");
+  public static final SpanKey CONSUMER_RECEIVE =
+      new SpanKey(10, "opentelemetry-traces-span-key-consumer-receive");
+  public static final SpanKey CONSUMER_PROCESS =
+      new SpanKey(11, "opentelemetry-traces-span-key-consumer-process");
+
+  static final int COUNT = 12;
+
+  private final int index;
+  private final String name;
+
+  private SpanKey(int index, String name) {
+    this.index = index;
+    this.name = name;
   }
 
   public Context storeInContext(Context context, Span span) {
-    return context.with(key, span);
+    return SpanKeySlots.store(context, 1 << index, span);
   }
 
   @Nullable
   public Span fromContextOrNull(Context context) {
-    return context.get(key);
+    return SpanKeySlots.fromContext(context).get(index);
+  }
+
+  /**
+   * Returns a bit mask representing the given span keys, to be used with {@link
+   * #storeInContext(Context, int, Span)} and {@link #allStoredInContext(Context, int)}.
+   */
+  public static int mask(Iterable<SpanKey> spanKeys) {
+    int mask = 0;
+    for (SpanKey spanKey : spanKeys) {
+      mask |= 1 << spanKey.index;
+    }
+    return mask;
+  }
+
+  /** Stores the span under all the span keys of the mask, adding a single entry to the context. */
+  public static Context storeInContext(Context context, int spanKeysMask, Span span) {
+    return SpanKeySlots.store(context, spanKeysMask, span);
+  }
+
+  /** Returns whether spans are stored in the context under all the span keys of the mask. */
+  public static boolean allStoredInContext(Context context, int spanKeysMask) {
+    return SpanKeySlots.fromContext(context).containsAll(spanKeysMask);
   }
 
   @Override
   public String toString() {
-    return key.toString();
+    return name;
   }
 }
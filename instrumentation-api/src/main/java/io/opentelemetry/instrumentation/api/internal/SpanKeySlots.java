@@ -0,0 +1,60 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import javax.annotation.Nullable;
+
+/**
+ * The spans stored under all the {@link SpanKey}s, kept in a single immutable context entry.
+ * Storing a span under several span keys adds only one entry to the context, and looking up a span
+ * key (or checking several of them at once) is a single {@link Context#get(ContextKey)} followed by
+ * field reads, no matter how many spans are stored.
+ */
+final class SpanKeySlots {
+
+  private static final ContextKey<SpanKeySlots> KEY =
+      ContextKey.named("opentelemetry-traces-span-key-slots");
+
+  private static final SpanKeySlots EMPTY = new SpanKeySlots(0, new Span[SpanKey.COUNT]);
+
+  // bit i is set when spans[i] is not null
+  private final int mask;
+  private final Span[] spans;
+
+  private SpanKeySlots(int mask, Span[] spans) {
+    this.mask = mask;
+    this.spans = spans;
+  }
+
+  static SpanKeySlots fromContext(Context context) {
+    SpanKeySlots slots = context.get(KEY);
+    return slots == null ? EMPTY : slots;
+  }
+
+  static Context store(Context context, int mask, Span span) {
+    SpanKeySlots slots = fromContext(context);
+    Span[] spans = slots.spans.clone();
+    int remaining = mask;
+    while (remaining != 0) {
+      int index = Integer.numberOfTrailingZeros(remaining);
+      spans[index] = span;
+      remaining &= remaining - 1;
+    }
+    return context.with(KEY, new SpanKeySlots(slots.mask | mask, spans));
+  }
+
+  @Nullable
+  Span get(int index) {
+    return spans[index];
+  }
+
+  boolean containsAll(int mask) {
+    return (this.mask & mask) == mask;
+  }
+}
@@ -5,96 +5,112 @@
 
 package io.opentelemetry.instrumentation.api.internal;
 
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.trace.SpanKind;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.function.Consumer;
-import java.util.logging.Logger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
 
 /**
- * This class is internal and is hence not for public use. Its APIs are unstable and can change at
- * any time.
+ * Counts suppressed spans and other internal events. Counting is always on and cheap: the counters
+ * are obtained once (e.g. when an {@code Instrumenter} is created) and incrementing them is a
+ * {@link LongAdder} increment. The counts are exported as asynchronous counters once {@link
+ * #registerObservers(OpenTelemetry)} is called. The sizes of internal data structures registered
+ * with {@link #registerSize(String, LongSupplier)} are exported as asynchronous gauges.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
  */
 public final class SupportabilityMetrics {
-  private static final Logger logger = Logger.getLogger(SupportabilityMetrics.class.getName());
-  private final boolean agentDebugEnabled;
-  private final Consumer<String> reporter;
 
-  private final ConcurrentMap<String, KindCounters> suppressionCounters = new ConcurrentHashMap<>();
-  private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+  private static final AttributeKey<String> INSTRUMENTATION_NAME =
+      stringKey("instrumentation.name");
+  private static final AttributeKey<String> SPAN_KIND = stringKey("span.kind");
+  private static final AttributeKey<String> COUNTER_NAME = stringKey("name");
 
-  private static final SupportabilityMetrics INSTANCE =
-      new SupportabilityMetrics(
-              ConfigPropertiesUtil.getBoolean("otel.javaagent.debug", false), logger::fine)
-          .start();
+  private static final SupportabilityMetrics INSTANCE = new SupportabilityMetrics();
 
   public static SupportabilityMetrics instance() {
     return INSTANCE;
   }
 
-  // visible for testing
-  SupportabilityMetrics(boolean agentDebugEnabled, Consumer<String> reporter) {
-    this.agentDebugEnabled = agentDebugEnabled;
-    this.reporter = reporter;
-  }
+  private final ConcurrentMap<String, SuppressedSpans> suppressedSpans = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, LongSupplier> sizes = new ConcurrentHashMap<>();
 
-  public void recordSuppressedSpan(SpanKind kind, String instrumentationName) {
-    if (!agentDebugEnabled) {
-      return;
-    }
+  // visible for testing
+  SupportabilityMetrics() {}
 
-    suppressionCounters
-        .computeIfAbsent(instrumentationName, s -> new KindCounters())
-        .increment(kind);
+  /** Returns the counter of spans suppressed by the given instrumentation. */
+  public SuppressedSpans suppressedSpans(String instrumentationName) {
+    return suppressedSpans.computeIfAbsent(instrumentationName, unused -> new SuppressedSpans());
   }
 
-  public void incrementCounter(String counterName) {
-    if (!agentDebugEnabled) {
-      return;
-    }
-
-    counters.computeIfAbsent(counterName, k -> new AtomicLong()).incrementAndGet();
+  /** Returns the counter with the given name, see {@link CounterNames}. */
+  public Counter counter(String counterName) {
+    return counters.computeIfAbsent(counterName, unused -> new Counter());
   }
 
-  // visible for testing
-  void report() {
-    suppressionCounters.forEach(
-        (instrumentationName, countsByKind) -> {
-          for (SpanKind kind : SpanKind.values()) {
-            long value = countsByKind.getAndReset(kind);
-            if (value > 0) {
-              reporter.accept(
-                  "Suppressed Spans by '" + instrumentationName + "' (" + kind + ") : " + value);
-            }
-          }
-        });
-    counters.forEach(
-        (counterName, counter) -> {
-          long value = counter.getAndSet(0);
-          if (value > 0) {
-            reporter.accept("Counter '" + counterName + "' : " + value);
-          }
-        });
+  /**
+   * Registers the size of an internal data structure, e.g. a fallback map, under the given name.
+   * The {@code size} is called each time the metrics are collected and must be cheap.
+   */
+  public void registerSize(String name, LongSupplier size) {
+    sizes.put(name, size);
   }
 
-  // this private method is designed for assignment of the return value
-  @SuppressWarnings("CanIgnoreReturnValueSuggester")
-  private SupportabilityMetrics start() {
-    if (agentDebugEnabled) {
-      Executors.newScheduledThreadPool(
-              1,
-              runnable -> {
-                Thread result = new Thread(runnable, "supportability_metrics_reporter");
-                result.setDaemon(true);
-                result.setContextClassLoader(null);
-                return result;
-              })
-          .scheduleAtFixedRate(this::report, 5, 5, TimeUnit.SECONDS);
-    }
-    return this;
+  public void registerObservers(OpenTelemetry openTelemetry) {
+    Meter meter = openTelemetry.getMeter("io.opentelemetry.supportability");
+
+    meter
+        .counterBuilder("otel.supportability.suppressed_spans")
+        .setDescription("Number of spans that were not created because of span suppression")
+        .setUnit("{spans}")
+        .buildWithCallback(
+            measurement ->
+                suppressedSpans.forEach(
+                    (instrumentationName, counts) -> {
+                      for (SpanKind kind : SpanKind.values()) {
+                        long value = counts.get(kind);
+                        if (value > 0) {
+                          measurement.record(
+                              value,
+                              Attributes.of(
+                                  INSTRUMENTATION_NAME,
+                                  instrumentationName,
+                                  SPAN_KIND,
+                                  kind.name()));
+                        }
+                      }
+                    }));
+
+    meter
+        .counterBuilder("otel.supportability.events")
+        .setDescription("Number of occurrences of internal events, e.g. cache misses")
+        .setUnit("{events}")
+        .buildWithCallback(
+            measurement ->
+                counters.forEach(
+                    (counterName, counter) ->
+                        measurement.record(
+                            counter.get(), Attributes.of(COUNTER_NAME, counterName))));
+
+    meter
+        .gaugeBuilder("otel.supportability.sizes")
+        .ofLongs()
+        .setDescription("Number of entries in internal data structures, e.g. fallback maps")
+        .setUnit("{entries}")
+        .buildWithCallback(
+            measurement ->
+                sizes.forEach(
+                    (name, size) ->
+                        measurement.record(size.getAsLong(), Attributes.of(COUNTER_NAME, name))));
   }
 
   /**
@@ -102,54 +118,51 @@ public final class SupportabilityMetrics {
    * any time.
    */
   public static final class CounterNames {
-    public static final String SQL_STATEMENT_SANITIZER_CACHE_MISS =
-        "SqlStatementSanitizer cache miss";
+    public static final String HELPER_CLASS_LOADER_INJECTIONS = "Helper class loader injections";
+    public static final String MUZZLE_CHECKS_AVOIDED = "Muzzle checks avoided";
 
     private CounterNames() {}
   }
 
-  // this class is threadsafe.
-  private static class KindCounters {
-    private final AtomicLong server = new AtomicLong();
-    private final AtomicLong client = new AtomicLong();
-    private final AtomicLong internal = new AtomicLong();
-    private final AtomicLong consumer = new AtomicLong();
-    private final AtomicLong producer = new AtomicLong();
-
-    void increment(SpanKind kind) {
-      switch (kind) {
-        case INTERNAL:
-          internal.incrementAndGet();
-          break;
-        case SERVER:
-          server.incrementAndGet();
-          break;
-        case CLIENT:
-          client.incrementAndGet();
-          break;
-        case PRODUCER:
-          producer.incrementAndGet();
-          break;
-        case CONSUMER:
-          consumer.incrementAndGet();
-          break;
-      }
+  /**
+   * This class is internal and is hence not for public use. Its APIs are unstable and can change at
+   * any time.
+   */
+  public static final class Counter {
+    private final LongAdder count = new LongAdder();
+
+    private Counter() {}
+
+    public void increment() {
+      count.increment();
+    }
+
+    // visible for testing
+    long get() {
+      return count.sum();
     }
+  }
 
-    long getAndReset(SpanKind kind) {
-      switch (kind) {
-        case INTERNAL:
-          return internal.getAndSet(0);
-        case SERVER:
-          return server.getAndSet(0);
-        case CLIENT:
-          return client.getAndSet(0);
-        case PRODUCER:
-          return producer.getAndSet(0);
-        case CONSUMER:
-          return consumer.getAndSet(0);
+  /**
+   * This class is internal and is hence not for public use. Its APIs are unstable and can change at
+   * any time.
+   */
+  public static final class SuppressedSpans {
+    private final LongAdder[] countsByKind = new LongAdder[SpanKind.values().length];
+
+    private SuppressedSpans() {
+      for (int i = 0; i < countsByKind.length; i++) {
+        countsByKind[i] = new LongAdder();
       }
-      return 0;
+    }
+
+    public void increment(SpanKind kind) {
+      countsByKind[kind.ordinal()].increment();
+    }
+
+    // visible for testing
+    long get(SpanKind kind) {
+      return countsByKind[kind.ordinal()].sum();
     }
   }
 }
@@ -6,7 +6,9 @@
 package io.opentelemetry.instrumentation.api.internal.cache;
 
 import io.opentelemetry.instrumentation.api.internal.cache.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
 import javax.annotation.Nullable;
 
 /**
@@ -38,6 +40,40 @@ public interface Cache<K, V> {
     return new MapBackedCache<>(map);
   }
 
+  /**
+   * Returns new bounded cache whose capacity is expressed in arbitrary weight units (e.g. bytes)
+   * instead of a number of entries. The {@code weigher} computes the weight of an entry, which must
+   * be at least 1, and the {@code evictionListener} is notified of every entry that is evicted to
+   * keep the total weight under {@code maximumWeight}.
+   *
+   * <p>Both keys and values are strongly referenced.
+   */
+  static <K, V> Cache<K, V> weighted(
+      long maximumWeight,
+      ToIntBiFunction<? super K, ? super V> weigher,
+      BiConsumer<? super K, ? super V> evictionListener) {
+    ConcurrentLinkedHashMap<K, V> map =
+        new ConcurrentLinkedHashMap.Builder<K, V>()
+            .maximumWeightedCapacity(maximumWeight)
+            .weigher(weigher::applyAsInt)
+            .listener(evictionListener::accept)
+            .build();
+    return new MapBackedCache<>(map);
+  }
+
+  /**
+   * Returns new bounded cache that, unlike {@link #bounded(int)}, decides which entries to keep by
+   * how frequently they were recently used, not only by how recently. Prefer this cache when the
+   * working set can be larger than the capacity, e.g. for caching values computed from SQL
+   * statements or routes, where a cache that evicts the least recently used entries keeps dropping
+   * the frequently used ones.
+   *
+   * <p>Both keys and values are strongly referenced.
+   */
+  static <K, V> Cache<K, V> frequencyBounded(int capacity) {
+    return new TinyLfuCache<>(capacity);
+  }
+
   /**
    * Returns the cached value associated with the provided {@code key}. If no value is cached yet,
    * computes the value using {@code mappingFunction}, stores the result, and returns it.
@@ -0,0 +1,100 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal.cache;
+
+/**
+ * A probabilistic estimate of how often a key has been used recently, used as the admission filter
+ * of the {@link TinyLfuCache}. This is a Count-Min sketch with 4-bit counters: every key maps to 4
+ * counters packed in the {@code long} words of the table, and its frequency is the minimum of those
+ * counters. To let the estimate follow changes in the access pattern all counters are halved once
+ * the number of recorded increments reaches the sample size (10 times the cache capacity).
+ *
+ * <p>This class is not thread safe, all the access must be guarded by the cache lock.
+ */
+final class FrequencySketch {
+
+  private static final long[] SEEDS = {
+    0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+  };
+  private static final long RESET_MASK = 0x7777777777777777L;
+  private static final long ONE_MASK = 0x1111111111111111L;
+
+  private final long[] table;
+  private final int tableMask;
+  private final int sampleSize;
+  private int size;
+
+  FrequencySketch(int maximumSize) {
+    int maximum = Math.min(Math.max(maximumSize, 1), 1 << 29);
+    table = new long[ceilingPowerOfTwo(maximum)];
+    tableMask = table.length - 1;
+    sampleSize = 10 * maximum;
+  }
+
+  /** Returns the estimated number of recent occurrences of the {@code key}, at most 15. */
+  int frequency(Object key) {
+    int hash = spread(key.hashCode());
+    // each table word holds 16 counters, use the hash to pick one of its 4 groups of 4 counters
+    int start = (hash & 3) << 2;
+    int frequency = Integer.MAX_VALUE;
+    for (int i = 0; i < 4; i++) {
+      int index = indexOf(hash, i);
+      int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+      frequency = Math.min(frequency, count);
+    }
+    return frequency;
+  }
+
+  /** Records an occurrence of the {@code key}, periodically aging all the counters. */
+  void increment(Object key) {
+    int hash = spread(key.hashCode());
+    int start = (hash & 3) << 2;
+    boolean added = false;
+    for (int i = 0; i < 4; i++) {
+      int index = indexOf(hash, i);
+      added |= incrementAt(index, start + i);
+    }
+    if (added && ++size == sampleSize) {
+      reset();
+    }
+  }
+
+  private boolean incrementAt(int index, int counter) {
+    int offset = counter << 2;
+    long mask = 0xfL << offset;
+    if ((table[index] & mask) != mask) {
+      table[index] += 1L << offset;
+      return true;
+    }
+    return false;
+  }
+
+  private void reset() {
+    int oddCounters = 0;
+    for (int i = 0; i < table.length; i++) {
+      oddCounters += Long.bitCount(table[i] & ONE_MASK);
+      table[i] = (table[i] >>> 1) & RESET_MASK;
+    }
+    // halving truncates the odd counters, adjust the size accordingly
+    size = (size >>> 1) - (oddCounters >>> 2);
+  }
+
+  private int indexOf(int hash, int i) {
+    long h = (hash + SEEDS[i]) * SEEDS[i];
+    h += h >>> 32;
+    return ((int) h) & tableMask;
+  }
+
+  private static int spread(int x) {
+    x = ((x >>> 16) ^ x) * 0x45d9f3b;
+    x = ((x >>> 16) ^ x) * 0x45d9f3b;
+    return (x >>> 16) ^ x;
+  }
+
+  private static int ceilingPowerOfTwo(int x) {
+    return 1 << -Integer.numberOfLeadingZeros(x - 1);
+  }
+}
@@ -0,0 +1,300 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+/**
+ * A bounded cache that uses the W-TinyLFU policy: new entries are first placed in a small LRU
+ * "window" (1% of the capacity), and when they are pushed out of it they are admitted to the main
+ * segmented LRU space only if their recent access frequency, estimated by the {@link
+ * FrequencySketch}, is higher than the one of the entry they would evict. This keeps frequently
+ * used entries cached when the working set is larger than the capacity, where a plain LRU cache
+ * would keep evicting them in favour of entries that are used only once.
+ *
+ * <p>Lookups go straight to a {@link ConcurrentHashMap}, the eviction policy is maintained under a
+ * lock. Reads only record the access when the lock is free, so under contention some of the
+ * accesses are not reflected in the policy, which is fine for the statistical nature of it.
+ */
+final class TinyLfuCache<K, V> implements Cache<K, V> {
+
+  private static final int WINDOW = 0;
+  private static final int PROBATION = 1;
+  private static final int PROTECTED = 2;
+  private static final int RETIRED = 3;
+
+  private final ConcurrentMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+  private final ReentrantLock lock = new ReentrantLock();
+
+  // the sketch, the queues and the nodes' links are guarded by the lock
+  private final FrequencySketch sketch;
+  private final AccessOrderQueue<K, V> window = new AccessOrderQueue<>();
+  private final AccessOrderQueue<K, V> probation = new AccessOrderQueue<>();
+  private final AccessOrderQueue<K, V> protectedQueue = new AccessOrderQueue<>();
+
+  private final int windowMaximum;
+  private final int mainMaximum;
+  private final int protectedMaximum;
+
+  TinyLfuCache(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("capacity must be positive: " + capacity);
+    }
+    sketch = new FrequencySketch(capacity);
+    windowMaximum = Math.max(1, capacity / 100);
+    mainMaximum = capacity - windowMaximum;
+    protectedMaximum = (int) (mainMaximum * 0.8);
+  }
+
+  @Override
+  public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+    Node<K, V> node = data.get(key);
+    if (node != null) {
+      afterRead(node);
+      return node.value;
+    }
+
+    Node<K, V>[] created = newNodeHolder();
+    node =
+        data.computeIfAbsent(
+            key,
+            k -> {
+              V value = mappingFunction.apply(k);
+              if (value == null) {
+                return null;
+              }
+              created[0] = new Node<>(k, value);
+              return created[0];
+            });
+    if (node == null) {
+      return null;
+    }
+    if (node == created[0]) {
+      afterWrite(node);
+    } else {
+      afterRead(node);
+    }
+    return node.value;
+  }
+
+  @Nullable
+  @Override
+  public V get(K key) {
+    Node<K, V> node = data.get(key);
+    if (node == null) {
+      return null;
+    }
+    afterRead(node);
+    return node.value;
+  }
+
+  @Override
+  public void put(K key, V value) {
+    Node<K, V> node = new Node<>(key, value);
+    Node<K, V> existing = data.putIfAbsent(key, node);
+    if (existing == null) {
+      afterWrite(node);
+    } else {
+      existing.value = value;
+      afterRead(existing);
+    }
+  }
+
+  @Override
+  public void remove(K key) {
+    Node<K, V> node = data.remove(key);
+    if (node == null) {
+      return;
+    }
+    lock.lock();
+    try {
+      unlink(node);
+      node.queue = RETIRED;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  // Visible for tests
+  int size() {
+    return data.size();
+  }
+
+  private void afterRead(Node<K, V> node) {
+    // the policy is only approximate anyway, don't make readers wait for each other
+    if (lock.tryLock()) {
+      try {
+        sketch.increment(node.key);
+        onAccess(node);
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  private void afterWrite(Node<K, V> node) {
+    lock.lock();
+    try {
+      sketch.increment(node.key);
+      // the node could have been removed before we got the lock
+      if (node.queue == RETIRED) {
+        return;
+      }
+      node.queue = WINDOW;
+      window.addLast(node);
+      evictEntries();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void onAccess(Node<K, V> node) {
+    switch (node.queue) {
+      case WINDOW:
+        window.moveToLast(node);
+        break;
+      case PROBATION:
+        probation.remove(node);
+        node.queue = PROTECTED;
+        protectedQueue.addLast(node);
+        if (protectedQueue.size > protectedMaximum) {
+          Node<K, V> demoted = protectedQueue.pollFirst();
+          demoted.queue = PROBATION;
+          probation.addLast(demoted);
+        }
+        break;
+      case PROTECTED:
+        protectedQueue.moveToLast(node);
+        break;
+      default:
+        // not yet linked by afterWrite(), or already evicted or removed
+    }
+  }
+
+  private void evictEntries() {
+    while (window.size > windowMaximum) {
+      Node<K, V> candidate = window.pollFirst();
+      if (probation.size + protectedQueue.size < mainMaximum) {
+        candidate.queue = PROBATION;
+        probation.addLast(candidate);
+        continue;
+      }
+
+      Node<K, V> victim = probation.peekFirst();
+      if (victim == null) {
+        victim = protectedQueue.peekFirst();
+      }
+      if (victim != null && sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+        unlink(victim);
+        retire(victim);
+        candidate.queue = PROBATION;
+        probation.addLast(candidate);
+      } else {
+        // the candidate was already taken out of the window
+        retire(candidate);
+      }
+    }
+  }
+
+  private void retire(Node<K, V> node) {
+    node.queue = RETIRED;
+    data.remove(node.key, node);
+  }
+
+  private void unlink(Node<K, V> node) {
+    switch (node.queue) {
+      case WINDOW:
+        window.remove(node);
+        break;
+      case PROBATION:
+        probation.remove(node);
+        break;
+      case PROTECTED:
+        protectedQueue.remove(node);
+        break;
+      default:
+        // not linked
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <K, V> Node<K, V>[] newNodeHolder() {
+    return (Node<K, V>[]) new Node<?, ?>[1];
+  }
+
+  private static final class Node<K, V> {
+    final K key;
+    volatile V value;
+
+    int queue = -1;
+    @Nullable Node<K, V> prev;
+    @Nullable Node<K, V> next;
+
+    Node(K key, V value) {
+      this.key = key;
+      this.value = value;
+    }
+  }
+
+  /** A doubly linked list of nodes ordered from the least to the most recently used. */
+  private static final class AccessOrderQueue<K, V> {
+    @Nullable private Node<K, V> first;
+    @Nullable private Node<K, V> last;
+    int size;
+
+    @Nullable
+    Node<K, V> peekFirst() {
+      return first;
+    }
+
+    Node<K, V> pollFirst() {
+      Node<K, V> node = first;
+      remove(node);
+      return node;
+    }
+
+    void addLast(Node<K, V> node) {
+      node.prev = last;
+      node.next = null;
+      if (last == null) {
+        first = node;
+      } else {
+        last.next = node;
+      }
+      last = node;
+      size++;
+    }
+
+    void moveToLast(Node<K, V> node) {
+      if (node != last) {
+        remove(node);
+        addLast(node);
+      }
+    }
+
+    void remove(Node<K, V> node) {
+      Node<K, V> prev = node.prev;
+      Node<K, V> next = node.next;
+      if (prev == null) {
+        first = next;
+      } else {
+        prev.next = next;
+      }
+      if (next == null) {
+        last = prev;
+      } else {
+        next.prev = prev;
+      }
+      node.prev = null;
+      node.next = null;
+      size--;
+    }
+  }
+}
@@ -8,8 +8,14 @@ package io.opentelemetry.instrumentation.api.instrumenter;
 import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
 import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.attributeEntry;
 import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.api.trace.Span;
@@ -23,14 +29,24 @@ import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.ContextKey;
 import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.instrumentation.api.internal.AttributesUsage;
+import io.opentelemetry.instrumentation.api.internal.SamplingAwareAttributesExtractor;
 import io.opentelemetry.instrumentation.api.internal.SpanKey;
 import io.opentelemetry.instrumentation.api.internal.SpanKeyProvider;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
 import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
 import io.opentelemetry.sdk.testing.junit5.OpenTelemetryExtension;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
 import io.opentelemetry.sdk.trace.data.LinkData;
 import io.opentelemetry.sdk.trace.data.StatusData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
@@ -581,6 +597,305 @@ class InstrumenterTest {
     assertThatSpanKeyWasStored(SpanKey.HTTP_CLIENT, context);
   }
 
+  @Test
+  void reuseBuffers() {
+    Instrumenter<String, String> nestedInstrumenter =
+        Instrumenter.<String, String>builder(
+                otelTesting.getOpenTelemetry(), "test", request -> "nested")
+            .addAttributesExtractor(
+                AttributesExtractor.constant(AttributeKey.stringKey("nested"), "true"))
+            .setReuseBuffers(true)
+            .buildInstrumenter();
+    Instrumenter<Map<String, String>, Map<String, String>> instrumenter =
+        Instrumenter.<Map<String, String>, Map<String, String>>builder(
+                otelTesting.getOpenTelemetry(), "test", unused -> "span")
+            .addAttributesExtractor(new AttributesExtractor1())
+            .addAttributesExtractor(
+                new AttributesExtractor<Map<String, String>, Map<String, String>>() {
+                  @Override
+                  public void onStart(
+                      AttributesBuilder attributes,
+                      Context parentContext,
+                      Map<String, String> request) {
+                    // re-entering an instrumenter on the same thread must not share the buffers
+                    Context nested = nestedInstrumenter.start(parentContext, "request");
+                    nestedInstrumenter.end(nested, "request", "response", null);
+                  }
+
+                  @Override
+                  public void onEnd(
+                      AttributesBuilder attributes,
+                      Context context,
+                      Map<String, String> request,
+                      @Nullable Map<String, String> response,
+                      @Nullable Throwable error) {}
+                })
+            .addSpanLinksExtractor(new LinksExtractor())
+            .setReuseBuffers(true)
+            .buildInstrumenter();
+
+    for (int i = 0; i < 2; i++) {
+      Context context = instrumenter.start(Context.root(), REQUEST);
+      instrumenter.end(context, REQUEST, RESPONSE, new IllegalStateException("test"));
+    }
+
+    otelTesting
+        .assertTraces()
+        .hasSize(4)
+        .allSatisfy(
+            trace ->
+                assertThat(trace)
+                    .singleElement()
+                    .satisfies(
+                        span -> {
+                          if (span.getName().equals("nested")) {
+                            assertThat(span.getAttributes())
+                                .containsOnly(attributeEntry("nested", "true"));
+                            assertThat(span.getLinks()).isEmpty();
+                            assertThat(span.getStatus()).isEqualTo(StatusData.unset());
+                          } else {
+                            assertThat(span.getAttributes())
+                                .containsOnly(
+                                    attributeEntry("req1", "req1_value"),
+                                    attributeEntry("req2", "req2_value"),
+                                    attributeEntry("resp1", "resp1_value"),
+                                    attributeEntry("resp2", "resp2_value"));
+                            assertThat(span.getLinks()).containsExactly(expectedSpanLink());
+                            assertThat(span.getStatus()).isEqualTo(StatusData.error());
+                          }
+                        }));
+  }
+
+  @Test
+  void reuseBuffers_operationListenersKeepAttributes() {
+    AtomicReference<Attributes> startAttributes = new AtomicReference<>();
+    AtomicReference<Attributes> endAttributes = new AtomicReference<>();
+    Instrumenter<Map<String, String>, Map<String, String>> instrumenter =
+        Instrumenter.<Map<String, String>, Map<String, String>>builder(
+                otelTesting.getOpenTelemetry(), "test", unused -> "span")
+            .addAttributesExtractor(new AttributesExtractor1())
+            .addOperationListener(
+                new OperationListener() {
+                  @Override
+                  public Context onStart(Context context, Attributes attributes, long startNanos) {
+                    startAttributes.set(attributes);
+                    return context;
+                  }
+
+                  @Override
+                  public void onEnd(Context context, Attributes attributes, long endNanos) {
+                    endAttributes.set(attributes);
+                  }
+                })
+            .setReuseBuffers(true)
+            .buildInstrumenter();
+
+    Context context = instrumenter.start(Context.root(), REQUEST);
+    instrumenter.end(context, REQUEST, RESPONSE, null);
+    Attributes firstStartAttributes = startAttributes.get();
+    Attributes firstEndAttributes = endAttributes.get();
+    context = instrumenter.start(Context.root(), REQUEST);
+    instrumenter.end(context, REQUEST, RESPONSE, null);
+
+    assertThat(startAttributes.get()).isNotSameAs(firstStartAttributes);
+    assertThat(firstStartAttributes)
+        .containsOnly(attributeEntry("req1", "req1_value"), attributeEntry("req2", "req2_value"));
+    assertThat(endAttributes.get()).isNotSameAs(firstEndAttributes);
+    assertThat(firstEndAttributes)
+        .containsOnly(
+            attributeEntry("resp1", "resp1_value"), attributeEntry("resp2", "resp2_value"));
+  }
+
+  @Test
+  void samplingAwareExtraction_recordingSpan() {
+    AttributesCapturingSampler sampler = new AttributesCapturingSampler(Sampler.alwaysOn());
+    List<String> extractedUsages = new ArrayList<>();
+    Instrumenter<Map<String, String>, Map<String, String>> instrumenter =
+        Instrumenter.<Map<String, String>, Map<String, String>>builder(
+                openTelemetry(sampler), "test", unused -> "span")
+            .addAttributesExtractor(new AttributesExtractor1())
+            .addAttributesExtractor(new UsageAwareAttributesExtractor(extractedUsages))
+            .setSamplingAwareExtraction(true)
+            .buildInstrumenter();
+
+    Context context = instrumenter.start(Context.root(), REQUEST);
+    instrumenter.end(context, REQUEST, RESPONSE, null);
+
+    // the sampler sees the attributes of the extractors that don't tell what they're used for too
+    assertThat(sampler.attributes)
+        .containsOnly(
+            attributeEntry("req1", "req1_value"),
+            attributeEntry("req2", "req2_value"),
+            attributeEntry("sampling", "true"));
+    assertThat(extractedUsages)
+        .containsExactly(
+            "start SAMPLING", "start METRICS", "start SPAN", "end METRICS", "end SPAN");
+    assertThat(((ReadableSpan) Span.fromContext(context)).toSpanData().getAttributes())
+        .containsOnly(
+            attributeEntry("req1", "req1_value"),
+            attributeEntry("req2", "req2_value"),
+            attributeEntry("resp1", "resp1_value"),
+            attributeEntry("resp2", "resp2_value"),
+            attributeEntry("sampling", "true"),
+            attributeEntry("metrics", "true"),
+            attributeEntry("span", "true"),
+            attributeEntry("metrics_end", "true"),
+            attributeEntry("span_end", "true"));
+  }
+
+  @Test
+  void samplingAwareExtraction_nonRecordingSpan() {
+    AttributesCapturingSampler sampler = new AttributesCapturingSampler(Sampler.alwaysOff());
+    List<String> extractedUsages = new ArrayList<>();
+    Instrumenter<Map<String, String>, Map<String, String>> instrumenter =
+        Instrumenter.<Map<String, String>, Map<String, String>>builder(
+                openTelemetry(sampler), "test", unused -> "span")
+            .addAttributesExtractor(mockNetClientAttributes)
+            .addAttributesExtractor(new UsageAwareAttributesExtractor(extractedUsages))
+            .setSamplingAwareExtraction(true)
+            .buildInstrumenter();
+
+    Context context = instrumenter.start(Context.root(), REQUEST);
+    assertThat(Span.fromContext(context).isRecording()).isFalse();
+    instrumenter.end(context, REQUEST, RESPONSE, null);
+
+    assertThat(sampler.attributes).containsOnly(attributeEntry("sampling", "true"));
+    assertThat(extractedUsages).containsExactly("start SAMPLING");
+    verify(mockNetClientAttributes).onStart(any(), any(), eq(REQUEST));
+    verifyNoMoreInteractions(mockNetClientAttributes);
+  }
+
+  @Test
+  void samplingAwareExtraction_nonRecordingSpanWithOperationListener() {
+    AttributesCapturingSampler sampler = new AttributesCapturingSampler(Sampler.alwaysOff());
+    List<String> extractedUsages = new ArrayList<>();
+    AtomicReference<Attributes> startAttributes = new AtomicReference<>();
+    AtomicReference<Attributes> endAttributes = new AtomicReference<>();
+
+    Instrumenter<Map<String, String>, Map<String, String>> instrumenter =
+        Instrumenter.<Map<String, String>, Map<String, String>>builder(
+                openTelemetry(sampler), "test", unused -> "span")
+            .addAttributesExtractor(new AttributesExtractor1())
+            .addAttributesExtractor(new UsageAwareAttributesExtractor(extractedUsages))
+            .addOperationListener(
+                new OperationListener() {
+                  @Override
+                  public Context onStart(Context context, Attributes attributes, long startNanos) {
+                    startAttributes.set(attributes.toBuilder().build());
+                    return context;
+                  }
+
+                  @Override
+                  public void onEnd(Context context, Attributes attributes, long endNanos) {
+                    endAttributes.set(attributes.toBuilder().build());
+                  }
+                })
+            .setSamplingAwareExtraction(true)
+            .buildInstrumenter();
+
+    Context context = instrumenter.start(Context.root(), REQUEST);
+    instrumenter.end(context, REQUEST, RESPONSE, null);
+
+    assertThat(extractedUsages).containsExactly("start SAMPLING", "start METRICS", "end METRICS");
+    assertThat(startAttributes.get())
+        .containsOnly(
+            attributeEntry("req1", "req1_value"),
+            attributeEntry("req2", "req2_value"),
+            attributeEntry("sampling", "true"),
+            attributeEntry("metrics", "true"));
+    assertThat(endAttributes.get())
+        .containsOnly(
+            attributeEntry("resp1", "resp1_value"),
+            attributeEntry("resp2", "resp2_value"),
+            attributeEntry("metrics_end", "true"));
+  }
+
+  private static OpenTelemetry openTelemetry(Sampler sampler) {
+    return OpenTelemetrySdk.builder()
+        .setTracerProvider(SdkTracerProvider.builder().setSampler(sampler).build())
+        .build();
+  }
+
+  static class AttributesCapturingSampler implements Sampler {
+
+    private final Sampler delegate;
+    @Nullable Attributes attributes;
+
+    AttributesCapturingSampler(Sampler delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public SamplingResult shouldSample(
+        Context parentContext,
+        String traceId,
+        String name,
+        SpanKind spanKind,
+        Attributes attributes,
+        List<LinkData> parentLinks) {
+      // the SDK passes the attributes that the span is going to use
+      this.attributes = attributes.toBuilder().build();
+      return delegate.shouldSample(parentContext, traceId, name, spanKind, attributes, parentLinks);
+    }
+
+    @Override
+    public String getDescription() {
+      return "AttributesCapturingSampler";
+    }
+  }
+
+  static class UsageAwareAttributesExtractor
+      implements AttributesExtractor<Map<String, String>, Map<String, String>>,
+          SamplingAwareAttributesExtractor<Map<String, String>, Map<String, String>> {
+
+    private final List<String> extractedUsages;
+
+    UsageAwareAttributesExtractor(List<String> extractedUsages) {
+      this.extractedUsages = extractedUsages;
+    }
+
+    @Override
+    public void onStart(
+        AttributesBuilder attributes, Context parentContext, Map<String, String> request) {
+      for (AttributesUsage usage : AttributesUsage.values()) {
+        internalOnStart(attributes, parentContext, request, usage);
+      }
+    }
+
+    @Override
+    public void onEnd(
+        AttributesBuilder attributes,
+        Context context,
+        Map<String, String> request,
+        @Nullable Map<String, String> response,
+        @Nullable Throwable error) {
+      internalOnEnd(attributes, context, request, response, error, AttributesUsage.METRICS);
+      internalOnEnd(attributes, context, request, response, error, AttributesUsage.SPAN);
+    }
+
+    @Override
+    public void internalOnStart(
+        AttributesBuilder attributes,
+        Context parentContext,
+        Map<String, String> request,
+        AttributesUsage usage) {
+      extractedUsages.add("start " + usage);
+      attributes.put(usage.name().toLowerCase(Locale.ROOT), "true");
+    }
+
+    @Override
+    public void internalOnEnd(
+        AttributesBuilder attributes,
+        Context context,
+        Map<String, String> request,
+        @Nullable Map<String, String> response,
+        @Nullable Throwable error,
+        AttributesUsage usage) {
+      extractedUsages.add("end " + usage);
+      attributes.put(usage.name().toLowerCase(Locale.ROOT) + "_end", "true");
+    }
+  }
+
   private static void assertThatSpanKeyWasStored(SpanKey spanKey, Context context) {
     Span span = Span.fromContext(context);
     assertThat(span).isNotNull();
@@ -0,0 +1,64 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import org.junit.jupiter.api.Test;
+
+class SpanKeyTest {
+
+  private static final Span SPAN =
+      Span.wrap(
+          SpanContext.create(
+              "ff01020304050600ff0a0b0c0d0e0f00",
+              "090a0b0c0d0e0f00",
+              TraceFlags.getSampled(),
+              TraceState.getDefault()));
+  private static final Span OTHER_SPAN =
+      Span.wrap(
+          SpanContext.create(
+              "ff01020304050600ff0a0b0c0d0e0f00",
+              "0a0b0c0d0e0f0001",
+              TraceFlags.getSampled(),
+              TraceState.getDefault()));
+
+  @Test
+  void storeInContext() {
+    Context context = SpanKey.HTTP_CLIENT.storeInContext(Context.root(), SPAN);
+
+    assertThat(SpanKey.HTTP_CLIENT.fromContextOrNull(context)).isSameAs(SPAN);
+    assertThat(SpanKey.KIND_CLIENT.fromContextOrNull(context)).isNull();
+    assertThat(SpanKey.HTTP_CLIENT.fromContextOrNull(Context.root())).isNull();
+  }
+
+  @Test
+  void storeInContextWithMask() {
+    int mask = SpanKey.mask(asList(SpanKey.KIND_CLIENT, SpanKey.DB_CLIENT));
+    Context context = SpanKey.HTTP_SERVER.storeInContext(Context.root(), OTHER_SPAN);
+    context = SpanKey.storeInContext(context, mask, SPAN);
+
+    assertThat(SpanKey.KIND_CLIENT.fromContextOrNull(context)).isSameAs(SPAN);
+    assertThat(SpanKey.DB_CLIENT.fromContextOrNull(context)).isSameAs(SPAN);
+    assertThat(SpanKey.HTTP_SERVER.fromContextOrNull(context)).isSameAs(OTHER_SPAN);
+    assertThat(SpanKey.allStoredInContext(context, mask)).isTrue();
+    assertThat(
+            SpanKey.allStoredInContext(
+                context, SpanKey.mask(asList(SpanKey.DB_CLIENT, SpanKey.HTTP_CLIENT))))
+        .isFalse();
+
+    // the parent context is not modified
+    Context child = SpanKey.DB_CLIENT.storeInContext(context, OTHER_SPAN);
+    assertThat(SpanKey.DB_CLIENT.fromContextOrNull(child)).isSameAs(OTHER_SPAN);
+    assertThat(SpanKey.DB_CLIENT.fromContextOrNull(context)).isSameAs(SPAN);
+  }
+}
@@ -5,70 +5,95 @@
 
 package io.opentelemetry.instrumentation.api.internal;
 
-import static org.assertj.core.api.Assertions.assertThat;
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.equalTo;
 
 import io.opentelemetry.api.trace.SpanKind;
-import java.util.ArrayList;
-import java.util.List;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
 import org.junit.jupiter.api.Test;
 
 class SupportabilityMetricsTest {
-  @Test
-  void disabled() {
-    List<String> reports = new ArrayList<>();
-    SupportabilityMetrics metrics = new SupportabilityMetrics(false, reports::add);
-
-    metrics.recordSuppressedSpan(SpanKind.CLIENT, "favoriteInstrumentation");
-    metrics.recordSuppressedSpan(SpanKind.SERVER, "favoriteInstrumentation");
-    metrics.recordSuppressedSpan(SpanKind.CLIENT, "favoriteInstrumentation");
-    metrics.recordSuppressedSpan(SpanKind.INTERNAL, "otherInstrumentation");
-    metrics.incrementCounter("some counter");
-    metrics.incrementCounter("another counter");
-    metrics.incrementCounter("some counter");
-
-    metrics.report();
-
-    assertThat(reports).isEmpty();
-  }
 
   @Test
-  void reportsMetrics() {
-    List<String> reports = new ArrayList<>();
-    SupportabilityMetrics metrics = new SupportabilityMetrics(true, reports::add);
-
-    metrics.recordSuppressedSpan(SpanKind.CLIENT, "favoriteInstrumentation");
-    metrics.recordSuppressedSpan(SpanKind.SERVER, "favoriteInstrumentation");
-    metrics.recordSuppressedSpan(SpanKind.CLIENT, "favoriteInstrumentation");
-    metrics.recordSuppressedSpan(SpanKind.INTERNAL, "otherInstrumentation");
-    metrics.incrementCounter("some counter");
-    metrics.incrementCounter("another counter");
-    metrics.incrementCounter("some counter");
+  void countsSuppressedSpansAndEvents() {
+    SupportabilityMetrics metrics = new SupportabilityMetrics();
 
-    metrics.report();
+    metrics.suppressedSpans("favoriteInstrumentation").increment(SpanKind.CLIENT);
+    metrics.suppressedSpans("favoriteInstrumentation").increment(SpanKind.SERVER);
+    metrics.suppressedSpans("favoriteInstrumentation").increment(SpanKind.CLIENT);
+    metrics.suppressedSpans("otherInstrumentation").increment(SpanKind.INTERNAL);
+    metrics.counter("some counter").increment();
+    metrics.counter("another counter").increment();
+    metrics.counter("some counter").increment();
 
-    assertThat(reports)
-        .containsExactlyInAnyOrder(
-            "Suppressed Spans by 'favoriteInstrumentation' (CLIENT) : 2",
-            "Suppressed Spans by 'favoriteInstrumentation' (SERVER) : 1",
-            "Suppressed Spans by 'otherInstrumentation' (INTERNAL) : 1",
-            "Counter 'some counter' : 2",
-            "Counter 'another counter' : 1");
+    assertThat(metrics.suppressedSpans("favoriteInstrumentation").get(SpanKind.CLIENT))
+        .isEqualTo(2);
+    assertThat(metrics.suppressedSpans("favoriteInstrumentation").get(SpanKind.SERVER))
+        .isEqualTo(1);
+    assertThat(metrics.suppressedSpans("favoriteInstrumentation").get(SpanKind.INTERNAL))
+        .isEqualTo(0);
+    assertThat(metrics.suppressedSpans("otherInstrumentation").get(SpanKind.INTERNAL)).isEqualTo(1);
+    assertThat(metrics.counter("some counter").get()).isEqualTo(2);
+    assertThat(metrics.counter("another counter").get()).isEqualTo(1);
   }
 
   @Test
-  void resetsCountsEachReport() {
-    List<String> reports = new ArrayList<>();
-    SupportabilityMetrics metrics = new SupportabilityMetrics(true, reports::add);
-
-    metrics.recordSuppressedSpan(SpanKind.CLIENT, "favoriteInstrumentation");
-    metrics.incrementCounter("some counter");
+  void exportsMetrics() {
+    InMemoryMetricReader metricReader = InMemoryMetricReader.create();
+    OpenTelemetrySdk openTelemetry =
+        OpenTelemetrySdk.builder()
+            .setMeterProvider(SdkMeterProvider.builder().registerMetricReader(metricReader).build())
+            .build();
+    SupportabilityMetrics metrics = new SupportabilityMetrics();
+    metrics.registerObservers(openTelemetry);
 
-    metrics.report();
-    metrics.report();
+    metrics.suppressedSpans("favoriteInstrumentation").increment(SpanKind.CLIENT);
+    metrics.suppressedSpans("favoriteInstrumentation").increment(SpanKind.CLIENT);
+    metrics.counter("some counter").increment();
+    metrics.registerSize("some map", () -> 42);
 
-    assertThat(reports)
-        .containsExactlyInAnyOrder(
-            "Suppressed Spans by 'favoriteInstrumentation' (CLIENT) : 1",
-            "Counter 'some counter' : 1");
+    assertThat(metricReader.collectAllMetrics())
+        .satisfiesExactlyInAnyOrder(
+            metric ->
+                assertThat(metric)
+                    .hasName("otel.supportability.suppressed_spans")
+                    .hasLongSumSatisfying(
+                        sum ->
+                            sum.isMonotonic()
+                                .hasPointsSatisfying(
+                                    point ->
+                                        point
+                                            .hasValue(2)
+                                            .hasAttributesSatisfying(
+                                                equalTo(
+                                                    stringKey("instrumentation.name"),
+                                                    "favoriteInstrumentation"),
+                                                equalTo(stringKey("span.kind"), "CLIENT")))),
+            metric ->
+                assertThat(metric)
+                    .hasName("otel.supportability.events")
+                    .hasLongSumSatisfying(
+                        sum ->
+                            sum.isMonotonic()
+                                .hasPointsSatisfying(
+                                    point ->
+                                        point
+                                            .hasValue(1)
+                                            .hasAttributesSatisfying(
+                                                equalTo(stringKey("name"), "some counter")))),
+            metric ->
+                assertThat(metric)
+                    .hasName("otel.supportability.sizes")
+                    .hasLongGaugeSatisfying(
+                        gauge ->
+                            gauge.hasPointsSatisfying(
+                                point ->
+                                    point
+                                        .hasValue(42)
+                                        .hasAttributesSatisfying(
+                                            equalTo(stringKey("name"), "some map")))));
   }
 }
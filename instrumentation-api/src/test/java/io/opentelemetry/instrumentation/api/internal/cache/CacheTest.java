@@ -8,6 +8,8 @@ package io.opentelemetry.instrumentation.api.internal.cache;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
@@ -35,6 +37,74 @@ class CacheTest {
       assertThat(mapBackedCache.size()).isEqualTo(1);
       assertThat(cache.computeIfAbsent("cat", unused -> "purr")).isEqualTo("purr");
     }
+
+    @Test
+    void weighted() {
+      List<String> evicted = new ArrayList<>();
+      Cache<String, String> cache =
+          Cache.weighted(10, (key, value) -> value.length(), (key, value) -> evicted.add(key));
+
+      assertThat(cache.computeIfAbsent("bear", unused -> "roar")).isEqualTo("roar");
+      assertThat(cache.computeIfAbsent("cat", unused -> "meow")).isEqualTo("meow");
+      MapBackedCache<?, ?> mapBackedCache = ((MapBackedCache<?, ?>) cache);
+      assertThat(mapBackedCache.size()).isEqualTo(2);
+      assertThat(evicted).isEmpty();
+
+      // pushes the total weight to 12, over the maximum of 10
+      cache.put("dog", "bark");
+      assertThat(mapBackedCache.size()).isEqualTo(2);
+      assertThat(evicted).containsExactly("bear");
+      assertThat(cache.get("bear")).isNull();
+
+      cache.put("whale", "aaaaaaaaaa");
+      assertThat(mapBackedCache.size()).isEqualTo(1);
+      assertThat(evicted).containsExactly("bear", "cat", "dog");
+      assertThat(cache.get("whale")).isEqualTo("aaaaaaaaaa");
+    }
+
+    @Test
+    void frequencyBounded() {
+      Cache<String, String> cache = Cache.frequencyBounded(1);
+
+      assertThat(cache.computeIfAbsent("bear", unused -> "roar")).isEqualTo("roar");
+      cache.remove("bear");
+
+      TinyLfuCache<?, ?> tinyLfuCache = ((TinyLfuCache<?, ?>) cache);
+      assertThat(cache.computeIfAbsent("cat", unused -> "meow")).isEqualTo("meow");
+      assertThat(tinyLfuCache.size()).isEqualTo(1);
+
+      assertThat(cache.computeIfAbsent("cat", unused -> "bark")).isEqualTo("meow");
+      assertThat(tinyLfuCache.size()).isEqualTo(1);
+
+      cache.put("dog", "bark");
+      assertThat(cache.get("dog")).isEqualTo("bark");
+      assertThat(tinyLfuCache.size()).isEqualTo(1);
+      assertThat(cache.computeIfAbsent("cat", unused -> "purr")).isEqualTo("purr");
+
+      assertThat(cache.computeIfAbsent("fish", unused -> null)).isNull();
+      assertThat(cache.get("fish")).isNull();
+    }
+
+    @Test
+    void frequencyBounded_keepsFrequentlyUsedEntries() {
+      Cache<Integer, String> cache = Cache.frequencyBounded(100);
+      TinyLfuCache<?, ?> tinyLfuCache = ((TinyLfuCache<?, ?>) cache);
+
+      for (int i = 0; i < 5; i++) {
+        for (int key = 0; key < 50; key++) {
+          cache.computeIfAbsent(key, String::valueOf);
+        }
+      }
+      // a scan of entries that are used only once must not push the frequently used ones out
+      for (int key = 1000; key < 2000; key++) {
+        cache.computeIfAbsent(key, String::valueOf);
+      }
+
+      assertThat(tinyLfuCache.size()).isEqualTo(100);
+      for (int key = 0; key < 50; key++) {
+        assertThat(cache.get(key)).isEqualTo(String.valueOf(key));
+      }
+    }
   }
 
   @Nested
@@ -5,10 +5,16 @@
 
 package io.opentelemetry.javaagent.bootstrap.executors;
 
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.internal.ConfigPropertiesUtil;
 import io.opentelemetry.instrumentation.api.internal.ContextPropagationDebug;
 import io.opentelemetry.instrumentation.api.util.VirtualField;
 import io.opentelemetry.javaagent.bootstrap.InstrumentedTaskClasses;
+import java.util.Locale;
+import java.util.concurrent.CountedCompleter;
 import java.util.concurrent.ExecutorService;
 import javax.annotation.Nullable;
 
@@ -17,10 +23,20 @@ import javax.annotation.Nullable;
  */
 public final class ExecutorAdviceHelper {
 
+  private static final PropagationPolicy propagationPolicy =
+      PropagationPolicy.fromConfig(
+          ConfigPropertiesUtil.getString(
+              "otel.instrumentation.executors.experimental.propagation-policy"));
+
+  static final boolean PROPAGATE_PER_FORK_JOIN_COMPUTATION =
+      ConfigPropertiesUtil.getBoolean(
+          "otel.instrumentation.executors.experimental.propagate-per-fork-join-computation", false);
+
   /**
    * Check if {@code context} should be propagated to the passed {@code task}. This method must be
    * called before each {@link #attachContextToTask(Context, VirtualField, Object)} call to ensure
-   * that unwanted tasks are not instrumented.
+   * that unwanted tasks are not instrumented. Contexts rejected by the configured propagation
+   * policy are not propagated.
    */
   public static boolean shouldPropagateContext(Context context, @Nullable Object task) {
     if (task == null) {
@@ -33,6 +49,10 @@ public final class ExecutorAdviceHelper {
       return false;
     }
 
+    if (!propagationPolicy.shouldPropagate(context)) {
+      return false;
+    }
+
     return InstrumentedTaskClasses.canInstrumentTaskClass(task.getClass());
   }
 
@@ -70,6 +90,59 @@ public final class ExecutorAdviceHelper {
     return propagatedContext;
   }
 
+  /**
+   * Associate {@code context} with the passed virtual {@code thread}. A virtual thread runs exactly
+   * one task and is started at most once, so unlike {@link #attachContextToTask(Context,
+   * VirtualField, Object)} the context is attached directly, without allocating a {@link
+   * PropagatedContext}. Use {@link TaskAdviceHelper#makeThreadContextCurrent(VirtualField, Thread)}
+   * to make the context current when the thread starts running its task.
+   */
+  public static void attachContextToThread(
+      Context context, VirtualField<Thread, Context> virtualField, Thread thread) {
+    if (context == Context.root() || !propagationPolicy.shouldPropagate(context)) {
+      return;
+    }
+    if (ContextPropagationDebug.isThreadPropagationDebuggerEnabled()) {
+      context =
+          ContextPropagationDebug.appendLocations(context, new Exception().getStackTrace(), thread);
+    }
+    virtualField.set(thread, context);
+  }
+
+  /**
+   * Associate {@code context} with the root of the computation the forked {@code task} belongs to,
+   * instead of with the {@code task} itself. Returns {@code false} when the context has to be
+   * attached to the {@code task} with {@link #attachContextToTask(Context, VirtualField, Object)}:
+   * when propagating once per fork/join computation is not enabled, when {@code task} is the root
+   * of its computation, or when {@code context} is not the context of the computation (e.g. the
+   * subtask is forked from within a span started by another subtask).
+   *
+   * <p>This way a parallel stream, which splits into thousands of {@link CountedCompleter}
+   * subtasks, propagates its context once instead of once per subtask. Use {@link
+   * TaskAdviceHelper#makeComputationContextCurrent(VirtualField, CountedCompleter)} to make the
+   * context current when a subtask is executed. The context stays attached to the root task until
+   * the root task is garbage collected.
+   */
+  public static boolean attachContextToComputation(
+      Context context,
+      VirtualField<CountedCompleter<?>, Context> virtualField,
+      CountedCompleter<?> task) {
+    if (!PROPAGATE_PER_FORK_JOIN_COMPUTATION
+        || ContextPropagationDebug.isThreadPropagationDebuggerEnabled()) {
+      return false;
+    }
+    CountedCompleter<?> root = task.getRoot();
+    if (root == task) {
+      return false;
+    }
+    Context computationContext = virtualField.get(root);
+    if (computationContext == null) {
+      virtualField.set(root, context);
+      return true;
+    }
+    return computationContext == context;
+  }
+
   /**
    * Clean up {@code propagatedContext} in case of any submission errors. Call this method after the
    * submission method has exited.
@@ -98,5 +171,61 @@ public final class ExecutorAdviceHelper {
     }
   }
 
+  /**
+   * Decides which contexts are worth propagating to other threads, configured with {@code
+   * otel.instrumentation.executors.experimental.propagation-policy}. Note that the {@link Context}
+   * API does not allow listing its keys, so contexts carrying custom keys (other than a span and
+   * baggage) are only guaranteed to be propagated with the default {@code all} policy.
+   */
+  private enum PropagationPolicy {
+    /** Propagate every context except the root context. This is the default. */
+    ALL {
+      @Override
+      boolean shouldPropagate(Context context) {
+        return true;
+      }
+    },
+    /**
+     * Propagate only contexts that contain a span with a valid trace id or baggage. Keeps the trace
+     * id of non-sampled requests available in the logs of the tasks.
+     */
+    VALID_TRACE {
+      @Override
+      boolean shouldPropagate(Context context) {
+        return Span.fromContext(context).getSpanContext().isValid() || hasBaggage(context);
+      }
+    },
+    /**
+     * Propagate only contexts that contain a sampled span or baggage. With a low sampling rate most
+     * tasks are then not wrapped at all; spans started by the tasks of non-sampled requests become
+     * the roots of new traces.
+     */
+    SAMPLED {
+      @Override
+      boolean shouldPropagate(Context context) {
+        SpanContext spanContext = Span.fromContext(context).getSpanContext();
+        return spanContext.isSampled() || hasBaggage(context);
+      }
+    };
+
+    abstract boolean shouldPropagate(Context context);
+
+    private static boolean hasBaggage(Context context) {
+      Baggage baggage = Baggage.fromContextOrNull(context);
+      return baggage != null && !baggage.isEmpty();
+    }
+
+    static PropagationPolicy fromConfig(@Nullable String value) {
+      if (value == null) {
+        return ALL;
+      }
+      try {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+      } catch (IllegalArgumentException e) {
+        return ALL;
+      }
+    }
+  }
+
   private ExecutorAdviceHelper() {}
 }
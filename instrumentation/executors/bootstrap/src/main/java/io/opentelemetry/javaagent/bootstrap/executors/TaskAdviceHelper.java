@@ -8,6 +8,7 @@ package io.opentelemetry.javaagent.bootstrap.executors;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
 import io.opentelemetry.instrumentation.api.util.VirtualField;
+import java.util.concurrent.CountedCompleter;
 import javax.annotation.Nullable;
 
 /** Advice helper methods for concurrent task (e.g. {@link Runnable}) instrumentations. */
@@ -30,5 +31,46 @@ public final class TaskAdviceHelper {
     return null;
   }
 
+  /**
+   * Make the {@link Context} attached to this virtual {@code thread} current and return the
+   * resulting scope. The context is removed from the thread, so that it is not retained by a thread
+   * object that outlives its task. Will return {@code null} if there's no context attached to this
+   * {@code thread}.
+   */
+  @Nullable
+  public static Scope makeThreadContextCurrent(
+      VirtualField<Thread, Context> virtualField, Thread thread) {
+    Context context = virtualField.get(thread);
+    if (context == null) {
+      return null;
+    }
+    virtualField.set(thread, null);
+    return context.makeCurrent();
+  }
+
+  /**
+   * Make the context attached to the root of the computation of this subtask with {@link
+   * ExecutorAdviceHelper#attachContextToComputation(Context, VirtualField, CountedCompleter)}
+   * current and return the resulting scope. Will return {@code null} if there's no context attached
+   * to the root, or if that context is already current, e.g. because the subtask is executed by the
+   * worker thread that forked it.
+   */
+  @Nullable
+  public static Scope makeComputationContextCurrent(
+      VirtualField<CountedCompleter<?>, Context> virtualField, CountedCompleter<?> task) {
+    if (!ExecutorAdviceHelper.PROPAGATE_PER_FORK_JOIN_COMPUTATION) {
+      return null;
+    }
+    CountedCompleter<?> root = task.getRoot();
+    if (root == task) {
+      return null;
+    }
+    Context context = virtualField.get(root);
+    if (context == null || context == Context.current()) {
+      return null;
+    }
+    return context.makeCurrent();
+  }
+
   private TaskAdviceHelper() {}
 }
@@ -36,6 +36,34 @@ testing {
         }
       }
     }
+
+    val testSampledPropagationPolicy by registering(JvmTestSuite::class) {
+      dependencies {
+        implementation(project(":instrumentation:executors:testing"))
+      }
+
+      targets {
+        all {
+          testTask.configure {
+            jvmArgs("-Dotel.instrumentation.executors.experimental.propagation-policy=sampled")
+          }
+        }
+      }
+    }
+
+    val testPropagatePerForkJoinComputation by registering(JvmTestSuite::class) {
+      dependencies {
+        implementation(project(":instrumentation:executors:testing"))
+      }
+
+      targets {
+        all {
+          testTask.configure {
+            jvmArgs("-Dotel.instrumentation.executors.experimental.propagate-per-fork-join-computation=true")
+          }
+        }
+      }
+    }
   }
 }
 
@@ -25,6 +25,7 @@ public class ExecutorInstrumentationModule extends InstrumentationModule {
         new FutureInstrumentation(),
         new JavaExecutorInstrumentation(),
         new JavaForkJoinTaskInstrumentation(),
-        new RunnableInstrumentation());
+        new RunnableInstrumentation(),
+        new VirtualThreadInstrumentation());
   }
 }
@@ -0,0 +1,25 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.executors;
+
+import com.google.auto.service.AutoService;
+import io.opentelemetry.javaagent.extension.ignore.IgnoredTypesBuilder;
+import io.opentelemetry.javaagent.extension.ignore.IgnoredTypesConfigurer;
+import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+
+@AutoService(IgnoredTypesConfigurer.class)
+public class ExecutorsIgnoredTypesConfigurer implements IgnoredTypesConfigurer {
+
+  @Override
+  public void configure(IgnoredTypesBuilder builder, ConfigProperties config) {
+    // virtual threads carry the context to their task, see VirtualThreadInstrumentation
+    builder.allowClass("java.lang.VirtualThread").ignoreClass("java.lang.VirtualThread$");
+    // the continuations of virtual threads (e.g. the runContinuation lambda) are submitted to the
+    // scheduler whenever a virtual thread is unparked, they must not capture the context of the
+    // thread that unparks them
+    builder.ignoreTaskClass("java.lang.VirtualThread");
+  }
+}
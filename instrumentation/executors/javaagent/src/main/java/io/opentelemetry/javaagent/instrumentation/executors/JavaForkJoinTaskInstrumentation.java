@@ -21,6 +21,7 @@ import io.opentelemetry.javaagent.bootstrap.executors.TaskAdviceHelper;
 import io.opentelemetry.javaagent.extension.instrumentation.TypeInstrumentation;
 import io.opentelemetry.javaagent.extension.instrumentation.TypeTransformer;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountedCompleter;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ForkJoinTask;
 import net.bytebuddy.asm.Advice;
@@ -90,6 +91,13 @@ public class JavaForkJoinTaskInstrumentation implements TypeInstrumentation {
           }
         }
       }
+      if (scope == null && task instanceof CountedCompleter) {
+        VirtualField<CountedCompleter<?>, Context> computationVirtualField =
+            VirtualField.find(CountedCompleter.class, Context.class);
+        scope =
+            TaskAdviceHelper.makeComputationContextCurrent(
+                computationVirtualField, (CountedCompleter<?>) task);
+      }
       return scope;
     }
 
@@ -108,6 +116,14 @@ public class JavaForkJoinTaskInstrumentation implements TypeInstrumentation {
     public static PropagatedContext enterFork(@Advice.This ForkJoinTask<?> task) {
       Context context = Java8BytecodeBridge.currentContext();
       if (ExecutorAdviceHelper.shouldPropagateContext(context, task)) {
+        if (task instanceof CountedCompleter) {
+          VirtualField<CountedCompleter<?>, Context> computationVirtualField =
+              VirtualField.find(CountedCompleter.class, Context.class);
+          if (ExecutorAdviceHelper.attachContextToComputation(
+              context, computationVirtualField, (CountedCompleter<?>) task)) {
+            return null;
+          }
+        }
         VirtualField<ForkJoinTask<?>, PropagatedContext> virtualField =
             VirtualField.find(ForkJoinTask.class, PropagatedContext.class);
         return ExecutorAdviceHelper.attachContextToTask(context, virtualField, task);
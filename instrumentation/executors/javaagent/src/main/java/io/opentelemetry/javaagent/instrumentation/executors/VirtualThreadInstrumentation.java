@@ -0,0 +1,75 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.executors;
+
+import static net.bytebuddy.matcher.ElementMatchers.isConstructor;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.takesArgument;
+import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.api.util.VirtualField;
+import io.opentelemetry.javaagent.bootstrap.Java8BytecodeBridge;
+import io.opentelemetry.javaagent.bootstrap.executors.ExecutorAdviceHelper;
+import io.opentelemetry.javaagent.bootstrap.executors.TaskAdviceHelper;
+import io.opentelemetry.javaagent.extension.instrumentation.TypeInstrumentation;
+import io.opentelemetry.javaagent.extension.instrumentation.TypeTransformer;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+
+/**
+ * Propagates the context from where a virtual thread (JDK 21+) is created to the task that it runs.
+ * This covers virtual threads started directly (e.g. {@code Thread.ofVirtual().start(task)}) as
+ * well as the ones started by {@code Executors.newVirtualThreadPerTaskExecutor()}.
+ */
+public class VirtualThreadInstrumentation implements TypeInstrumentation {
+
+  @Override
+  public ElementMatcher<TypeDescription> typeMatcher() {
+    return named("java.lang.VirtualThread");
+  }
+
+  @Override
+  public void transform(TypeTransformer transformer) {
+    transformer.applyAdviceToMethod(
+        isConstructor(), VirtualThreadInstrumentation.class.getName() + "$ConstructorAdvice");
+    // private void run(Runnable task), runs the task once the virtual thread is mounted for the
+    // first time
+    transformer.applyAdviceToMethod(
+        named("run").and(takesArguments(1)).and(takesArgument(0, Runnable.class)),
+        VirtualThreadInstrumentation.class.getName() + "$RunAdvice");
+  }
+
+  @SuppressWarnings("unused")
+  public static class ConstructorAdvice {
+
+    @Advice.OnMethodExit(suppress = Throwable.class)
+    public static void exit(@Advice.This Thread thread) {
+      VirtualField<Thread, Context> virtualField = VirtualField.find(Thread.class, Context.class);
+      ExecutorAdviceHelper.attachContextToThread(
+          Java8BytecodeBridge.currentContext(), virtualField, thread);
+    }
+  }
+
+  @SuppressWarnings("unused")
+  public static class RunAdvice {
+
+    @Advice.OnMethodEnter(suppress = Throwable.class)
+    public static Scope enter(@Advice.This Thread thread) {
+      VirtualField<Thread, Context> virtualField = VirtualField.find(Thread.class, Context.class);
+      return TaskAdviceHelper.makeThreadContextCurrent(virtualField, thread);
+    }
+
+    @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
+    public static void exit(@Advice.Enter Scope scope) {
+      if (scope != null) {
+        scope.close();
+      }
+    }
+  }
+}
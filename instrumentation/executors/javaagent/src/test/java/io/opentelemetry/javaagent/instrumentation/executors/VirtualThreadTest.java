@@ -0,0 +1,101 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.instrumentation.testing.junit.AgentInstrumentationExtension;
+import io.opentelemetry.instrumentation.testing.junit.InstrumentationExtension;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+// virtual threads are only available on Java 21+, the methods are called reflectively
+class VirtualThreadTest {
+
+  @RegisterExtension
+  static final InstrumentationExtension testing = AgentInstrumentationExtension.create();
+
+  @Test
+  void startVirtualThread() throws Exception {
+    Method startVirtualThread = findMethod(Thread.class, "startVirtualThread", Runnable.class);
+
+    testing.runWithSpan(
+        "parent",
+        () -> {
+          Runnable task = () -> testing.runWithSpan("child", () -> {});
+          Thread thread = (Thread) startVirtualThread.invoke(null, task);
+          thread.join();
+        });
+
+    assertParentChildTrace();
+  }
+
+  @Test
+  void virtualThreadPerTaskExecutor() throws Exception {
+    Method newVirtualThreadPerTaskExecutor =
+        findMethod(Executors.class, "newVirtualThreadPerTaskExecutor");
+    ExecutorService executor = (ExecutorService) newVirtualThreadPerTaskExecutor.invoke(null);
+
+    try {
+      String result =
+          testing.runWithSpan(
+              "parent",
+              () -> {
+                Future<String> future =
+                    executor.submit(
+                        () -> {
+                          testing.runWithSpan("child", () -> {});
+                          return "done";
+                        });
+                return future.get();
+              });
+      assertThat(result).isEqualTo("done");
+    } finally {
+      executor.shutdown();
+    }
+
+    assertParentChildTrace();
+  }
+
+  @Test
+  void noContextWithoutParent() throws Exception {
+    Method startVirtualThread = findMethod(Thread.class, "startVirtualThread", Runnable.class);
+
+    Runnable task = () -> testing.runWithSpan("child", () -> {});
+    Thread thread = (Thread) startVirtualThread.invoke(null, task);
+    thread.join();
+
+    testing.waitAndAssertTraces(
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span -> span.hasName("child").hasKind(SpanKind.INTERNAL).hasNoParent()));
+  }
+
+  private static void assertParentChildTrace() {
+    testing.waitAndAssertTraces(
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span -> span.hasName("parent").hasKind(SpanKind.INTERNAL).hasNoParent(),
+                span ->
+                    span.hasName("child").hasKind(SpanKind.INTERNAL).hasParent(trace.getSpan(0))));
+  }
+
+  private static Method findMethod(Class<?> type, String name, Class<?>... parameterTypes)
+      throws NoSuchMethodException {
+    // on Java 19 and 20 virtual threads are a preview feature
+    String javaVersion = System.getProperty("java.specification.version");
+    assumeTrue(
+        !javaVersion.startsWith("1.") && Integer.parseInt(javaVersion) >= 21,
+        "Virtual threads require Java 21+");
+    return type.getMethod(name, parameterTypes);
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.instrumentation.testing.junit.AgentInstrumentationExtension;
+import io.opentelemetry.instrumentation.testing.junit.InstrumentationExtension;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+// runs with -Dotel.instrumentation.executors.experimental.propagate-per-fork-join-computation=true
+class PropagatePerForkJoinComputationTest {
+
+  @RegisterExtension
+  static final InstrumentationExtension testing = AgentInstrumentationExtension.create();
+
+  @Test
+  void parallelStream() {
+    Set<String> spanIds =
+        testing.runWithSpan(
+            "parent",
+            () ->
+                IntStream.range(0, 100_000)
+                    .boxed()
+                    .parallel()
+                    .map(i -> Span.current().getSpanContext().getSpanId())
+                    .collect(Collectors.toSet()));
+
+    testing.waitAndAssertTraces(
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span -> {
+                  span.hasName("parent").hasKind(SpanKind.INTERNAL).hasNoParent();
+                  assertThat(spanIds).containsExactly(trace.getSpan(0).getSpanId());
+                }));
+  }
+
+  @Test
+  void subtasksForkedWithinSpan() {
+    Set<String> spanIds = ConcurrentHashMap.newKeySet();
+
+    testing.runWithSpan(
+        "parent", () -> ForkJoinPool.commonPool().invoke(new SplittingTask(null, 0, spanIds)));
+
+    testing.waitAndAssertTraces(
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span -> span.hasName("parent").hasKind(SpanKind.INTERNAL).hasNoParent(),
+                span -> {
+                  span.hasName("child").hasKind(SpanKind.INTERNAL).hasParent(trace.getSpan(0));
+                  // the subtasks below the second level are forked from within the child span, they
+                  // must not get the context of the computation
+                  assertThat(spanIds)
+                      .containsExactlyInAnyOrder(
+                          trace.getSpan(0).getSpanId(), trace.getSpan(1).getSpanId());
+                }));
+  }
+
+  // forks two subtasks on each level, the second subtask of the first level forks its subtasks from
+  // within a span
+  @SuppressWarnings("serial")
+  private static class SplittingTask extends CountedCompleter<Void> {
+    private final int depth;
+    private final Set<String> spanIds;
+    private final boolean startSpan;
+
+    SplittingTask(CountedCompleter<?> completer, int depth, Set<String> spanIds) {
+      this(completer, depth, spanIds, false);
+    }
+
+    private SplittingTask(
+        CountedCompleter<?> completer, int depth, Set<String> spanIds, boolean startSpan) {
+      super(completer);
+      this.depth = depth;
+      this.spanIds = spanIds;
+      this.startSpan = startSpan;
+    }
+
+    @Override
+    public void compute() {
+      spanIds.add(Span.current().getSpanContext().getSpanId());
+      if (depth < 4) {
+        if (startSpan) {
+          testing.runWithSpan("child", this::split);
+        } else {
+          split();
+        }
+      }
+      tryComplete();
+    }
+
+    private void split() {
+      setPendingCount(2);
+      new SplittingTask(this, depth + 1, spanIds).fork();
+      new SplittingTask(this, depth + 1, spanIds, depth == 0).fork();
+    }
+  }
+}
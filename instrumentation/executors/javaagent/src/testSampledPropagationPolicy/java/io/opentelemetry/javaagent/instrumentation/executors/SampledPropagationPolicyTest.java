@@ -0,0 +1,83 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.testing.junit.AgentInstrumentationExtension;
+import io.opentelemetry.instrumentation.testing.junit.InstrumentationExtension;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+// runs with -Dotel.instrumentation.executors.experimental.propagation-policy=sampled
+class SampledPropagationPolicyTest {
+
+  @RegisterExtension
+  static final InstrumentationExtension testing = AgentInstrumentationExtension.create();
+
+  private static final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+  private static final Context nonSampledContext =
+      Context.root()
+          .with(
+              Span.wrap(
+                  SpanContext.create(
+                      "ff01020304050600ff0a0b0c0d0e0f00",
+                      "090a0b0c0d0e0f00",
+                      TraceFlags.getDefault(),
+                      TraceState.getDefault())));
+
+  @AfterAll
+  static void shutdown() {
+    executor.shutdown();
+  }
+
+  @Test
+  void sampledContextIsPropagated() throws Exception {
+    testing.runWithSpan(
+        "parent",
+        () -> {
+          SpanContext inTask = executor.submit(() -> Span.current().getSpanContext()).get();
+          assertThat(inTask).isEqualTo(Span.current().getSpanContext());
+          assertThat(inTask.isSampled()).isTrue();
+        });
+  }
+
+  @Test
+  void nonSampledContextIsNotPropagated() throws Exception {
+    SpanContext inTask;
+    try (Scope ignored = nonSampledContext.makeCurrent()) {
+      inTask = executor.submit(() -> Span.current().getSpanContext()).get();
+    }
+
+    assertThat(inTask.isValid()).isFalse();
+  }
+
+  @Test
+  void nonSampledContextWithBaggageIsPropagated() throws Exception {
+    Context context = nonSampledContext.with(Baggage.builder().put("key", "value").build());
+
+    SpanContext spanContextInTask;
+    String baggageInTask;
+    try (Scope ignored = context.makeCurrent()) {
+      spanContextInTask = executor.submit(() -> Span.current().getSpanContext()).get();
+      baggageInTask = executor.submit(() -> Baggage.current().getEntryValue("key")).get();
+    }
+
+    assertThat(spanContextInTask).isEqualTo(Span.fromContext(context).getSpanContext());
+    assertThat(baggageInTask).isEqualTo("value");
+  }
+}
@@ -8,6 +8,8 @@ VirtualField, to boot loader. We do this because when JDBC instrumentation is st
 class loaders in the same hierarchy, each would define their own version of DbInfo. It is possible
 that the value read from virtual field would be from the wrong class loader and could produce a
 ClassCastException. Having a single copy of DbInfo that is in boot loader avoids this issue.
+PreparedStatementSql, the value of VirtualField<PreparedStatement, PreparedStatementSql>, and
+JdbcBatch, the value of VirtualField<Statement, JdbcBatch>, are in boot loader for the same reason.
  */
 
 sourceSets {
@@ -0,0 +1,117 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.bootstrap.jdbc;
+
+import java.util.Objects;
+import javax.annotation.Nullable;
+
+/**
+ * The commands added to the batch of a JDBC {@code Statement}. Adding a command is cheap: only the
+ * number of commands is counted, and for plain statements only the first SQL string is kept, along
+ * with the hashes of at most {@value #MAX_DISTINCT_STATEMENTS} distinct SQL strings to count them.
+ *
+ * <p>Like the statement it belongs to, this class is not thread safe.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class JdbcBatch {
+
+  // bounds the memory used by large batches of generated statements
+  static final int MAX_DISTINCT_STATEMENTS = 32;
+
+  private long size;
+  private boolean hasStatement;
+  @Nullable private String firstStatement;
+  private boolean statementsDiffer;
+  @Nullable private int[] statementHashes;
+  private int distinctStatementCount;
+  private boolean distinctStatementCountCapped;
+
+  /** Adds a command to the batch of a {@code PreparedStatement}. */
+  public void add() {
+    size++;
+  }
+
+  /** Adds a command to the batch of a plain {@code Statement}. */
+  public void add(@Nullable String sql) {
+    size++;
+    if (!hasStatement) {
+      hasStatement = true;
+      firstStatement = sql;
+      distinctStatementCount = 1;
+      return;
+    }
+    if (!statementsDiffer) {
+      if (Objects.equals(firstStatement, sql)) {
+        return;
+      }
+      statementsDiffer = true;
+      statementHashes = new int[MAX_DISTINCT_STATEMENTS];
+      statementHashes[0] = Objects.hashCode(firstStatement);
+    }
+    countDistinctStatement(Objects.hashCode(sql));
+  }
+
+  private void countDistinctStatement(int hash) {
+    if (distinctStatementCountCapped) {
+      return;
+    }
+    int[] hashes = statementHashes;
+    for (int i = 0; i < distinctStatementCount; i++) {
+      if (hashes[i] == hash) {
+        return;
+      }
+    }
+    if (distinctStatementCount == hashes.length) {
+      distinctStatementCountCapped = true;
+      return;
+    }
+    hashes[distinctStatementCount++] = hash;
+  }
+
+  public void clear() {
+    size = 0;
+    hasStatement = false;
+    firstStatement = null;
+    statementsDiffer = false;
+    statementHashes = null;
+    distinctStatementCount = 0;
+    distinctStatementCountCapped = false;
+  }
+
+  /** Returns the number of commands in the batch. */
+  public long size() {
+    return size;
+  }
+
+  /**
+   * Returns the number of distinct SQL strings added with {@link #add(String)}, at most {@value
+   * #MAX_DISTINCT_STATEMENTS}. The SQL strings are compared by their hashes, so the count may be
+   * too low when the hashes of different strings collide.
+   */
+  public int distinctStatementCount() {
+    // the first two statements were compared with equals()
+    return statementsDiffer ? Math.max(2, distinctStatementCount) : distinctStatementCount;
+  }
+
+  /**
+   * Returns whether more than {@value #MAX_DISTINCT_STATEMENTS} distinct SQL strings were added
+   * with {@link #add(String)}, i.e. {@link #distinctStatementCount()} is a lower bound.
+   */
+  public boolean distinctStatementCountCapped() {
+    return distinctStatementCountCapped;
+  }
+
+  /**
+   * Returns the SQL of the commands added with {@link #add(String)} if all of them used the same
+   * SQL, {@code null} otherwise.
+   */
+  @Nullable
+  public String singleStatement() {
+    return statementsDiffer ? null : firstStatement;
+  }
+}
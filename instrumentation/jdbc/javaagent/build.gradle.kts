@@ -46,6 +46,26 @@ sourceSets {
   }
 }
 
-tasks.withType<Test>().configureEach {
-  jvmArgs("-Dotel.instrumentation.jdbc-datasource.enabled=true")
+tasks {
+  withType<Test>().configureEach {
+    jvmArgs("-Dotel.instrumentation.jdbc-datasource.enabled=true")
+  }
+
+  val testBatchAttributes by registering(Test::class) {
+    filter {
+      includeTestsMatching("JdbcBatchAttributesTest")
+    }
+    include("**/JdbcBatchAttributesTest.*")
+    jvmArgs("-Dotel.instrumentation.jdbc.experimental-span-attributes=true")
+  }
+
+  test {
+    filter {
+      excludeTestsMatching("JdbcBatchAttributesTest")
+    }
+  }
+
+  check {
+    dependsOn(testBatchAttributes)
+  }
 }
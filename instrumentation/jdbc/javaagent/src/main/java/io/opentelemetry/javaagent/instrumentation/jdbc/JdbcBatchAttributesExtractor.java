@@ -0,0 +1,48 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.jdbc;
+
+import static io.opentelemetry.api.common.AttributeKey.booleanKey;
+import static io.opentelemetry.api.common.AttributeKey.longKey;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
+import io.opentelemetry.instrumentation.jdbc.internal.DbRequest;
+import javax.annotation.Nullable;
+
+final class JdbcBatchAttributesExtractor implements AttributesExtractor<DbRequest, Void> {
+  private static final AttributeKey<Long> BATCH_SIZE = longKey("db.jdbc.batch.size");
+  private static final AttributeKey<Long> BATCH_DISTINCT_STATEMENTS =
+      longKey("db.jdbc.batch.distinct_statements");
+  // set only when the batch had more distinct statements than were counted
+  private static final AttributeKey<Boolean> BATCH_DISTINCT_STATEMENTS_CAPPED =
+      booleanKey("db.jdbc.batch.distinct_statements_capped");
+
+  @Override
+  public void onStart(AttributesBuilder attributes, Context parentContext, DbRequest request) {
+    Long batchSize = request.getBatchSize();
+    if (batchSize != null) {
+      attributes.put(BATCH_SIZE, batchSize);
+    }
+    Long distinctStatementCount = request.getBatchDistinctStatementCount();
+    if (distinctStatementCount != null) {
+      attributes.put(BATCH_DISTINCT_STATEMENTS, distinctStatementCount);
+    }
+    if (Boolean.TRUE.equals(request.getBatchDistinctStatementCountCapped())) {
+      attributes.put(BATCH_DISTINCT_STATEMENTS_CAPPED, true);
+    }
+  }
+
+  @Override
+  public void onEnd(
+      AttributesBuilder attributes,
+      Context context,
+      DbRequest request,
+      @Nullable Void unused,
+      @Nullable Throwable error) {}
+}
@@ -7,6 +7,7 @@ package io.opentelemetry.javaagent.instrumentation.jdbc;
 
 import io.opentelemetry.api.GlobalOpenTelemetry;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
+import io.opentelemetry.instrumentation.api.instrumenter.InstrumenterBuilder;
 import io.opentelemetry.instrumentation.api.instrumenter.SpanKindExtractor;
 import io.opentelemetry.instrumentation.api.instrumenter.db.DbClientSpanNameExtractor;
 import io.opentelemetry.instrumentation.api.instrumenter.db.SqlClientAttributesExtractor;
@@ -21,13 +22,17 @@ import io.opentelemetry.javaagent.bootstrap.internal.InstrumentationConfig;
 public final class JdbcSingletons {
   private static final String INSTRUMENTATION_NAME = "io.opentelemetry.jdbc";
 
+  private static final boolean CAPTURE_EXPERIMENTAL_SPAN_ATTRIBUTES =
+      InstrumentationConfig.get()
+          .getBoolean("otel.instrumentation.jdbc.experimental-span-attributes", false);
+
   private static final Instrumenter<DbRequest, Void> INSTRUMENTER;
 
   static {
     JdbcAttributesGetter dbAttributesGetter = new JdbcAttributesGetter();
     JdbcNetAttributesGetter netAttributesGetter = new JdbcNetAttributesGetter();
 
-    INSTRUMENTER =
+    InstrumenterBuilder<DbRequest, Void> builder =
         Instrumenter.<DbRequest, Void>builder(
                 GlobalOpenTelemetry.get(),
                 INSTRUMENTATION_NAME,
@@ -43,8 +48,11 @@ public final class JdbcSingletons {
             .addAttributesExtractor(NetClientAttributesExtractor.create(netAttributesGetter))
             .addAttributesExtractor(
                 PeerServiceAttributesExtractor.create(
-                    netAttributesGetter, CommonConfig.get().getPeerServiceMapping()))
-            .buildInstrumenter(SpanKindExtractor.alwaysClient());
+                    netAttributesGetter, CommonConfig.get().getPeerServiceMapping()));
+    if (CAPTURE_EXPERIMENTAL_SPAN_ATTRIBUTES) {
+      builder.addAttributesExtractor(new JdbcBatchAttributesExtractor());
+    }
+    INSTRUMENTER = builder.buildInstrumenter(SpanKindExtractor.alwaysClient());
   }
 
   public static Instrumenter<DbRequest, Void> instrumenter() {
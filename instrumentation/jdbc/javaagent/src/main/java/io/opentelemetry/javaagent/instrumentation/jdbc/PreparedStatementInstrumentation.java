@@ -12,6 +12,8 @@ import static io.opentelemetry.javaagent.instrumentation.jdbc.JdbcSingletons.ins
 import static net.bytebuddy.matcher.ElementMatchers.isPublic;
 import static net.bytebuddy.matcher.ElementMatchers.nameStartsWith;
 import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.namedOneOf;
+import static net.bytebuddy.matcher.ElementMatchers.not;
 import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
 
 import io.opentelemetry.context.Context;
@@ -41,7 +43,11 @@ public class PreparedStatementInstrumentation implements TypeInstrumentation {
   @Override
   public void transform(TypeTransformer transformer) {
     transformer.applyAdviceToMethod(
-        nameStartsWith("execute").and(takesArguments(0)).and(isPublic()),
+        nameStartsWith("execute")
+            .and(takesArguments(0))
+            .and(isPublic())
+            // batches are handled by StatementInstrumentation
+            .and(not(namedOneOf("executeBatch", "executeLargeBatch"))),
         PreparedStatementInstrumentation.class.getName() + "$PreparedStatementAdvice");
   }
 
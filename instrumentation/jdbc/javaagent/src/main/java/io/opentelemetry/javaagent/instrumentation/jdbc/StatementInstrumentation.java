@@ -12,12 +12,16 @@ import static io.opentelemetry.javaagent.instrumentation.jdbc.JdbcSingletons.ins
 import static net.bytebuddy.matcher.ElementMatchers.isPublic;
 import static net.bytebuddy.matcher.ElementMatchers.nameStartsWith;
 import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.namedOneOf;
 import static net.bytebuddy.matcher.ElementMatchers.takesArgument;
+import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
 
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.api.util.VirtualField;
 import io.opentelemetry.instrumentation.jdbc.internal.DbRequest;
 import io.opentelemetry.javaagent.bootstrap.CallDepth;
+import io.opentelemetry.javaagent.bootstrap.jdbc.JdbcBatch;
 import io.opentelemetry.javaagent.extension.instrumentation.TypeInstrumentation;
 import io.opentelemetry.javaagent.extension.instrumentation.TypeTransformer;
 import java.sql.Statement;
@@ -42,6 +46,22 @@ public class StatementInstrumentation implements TypeInstrumentation {
     transformer.applyAdviceToMethod(
         nameStartsWith("execute").and(takesArgument(0, String.class)).and(isPublic()),
         StatementInstrumentation.class.getName() + "$StatementAdvice");
+    // PreparedStatement.addBatch()
+    transformer.applyAdviceToMethod(
+        named("addBatch").and(takesArguments(0)).and(isPublic()),
+        StatementInstrumentation.class.getName() + "$AddBatchAdvice");
+    transformer.applyAdviceToMethod(
+        named("addBatch")
+            .and(takesArguments(1))
+            .and(takesArgument(0, String.class))
+            .and(isPublic()),
+        StatementInstrumentation.class.getName() + "$AddBatchSqlAdvice");
+    transformer.applyAdviceToMethod(
+        named("clearBatch").and(takesArguments(0)).and(isPublic()),
+        StatementInstrumentation.class.getName() + "$ClearBatchAdvice");
+    transformer.applyAdviceToMethod(
+        namedOneOf("executeBatch", "executeLargeBatch").and(takesArguments(0)).and(isPublic()),
+        StatementInstrumentation.class.getName() + "$ExecuteBatchAdvice");
   }
 
   @SuppressWarnings("unused")
@@ -95,4 +115,116 @@ public class StatementInstrumentation implements TypeInstrumentation {
       }
     }
   }
+
+  // adding a command to the batch only increments a counter, the span is created when the batch
+  // is executed
+  @SuppressWarnings("unused")
+  public static class AddBatchAdvice {
+
+    @Advice.OnMethodExit(suppress = Throwable.class)
+    public static void onExit(@Advice.This Statement statement) {
+      VirtualField<Statement, JdbcBatch> virtualField =
+          VirtualField.find(Statement.class, JdbcBatch.class);
+      JdbcBatch batch = virtualField.get(statement);
+      if (batch == null) {
+        batch = new JdbcBatch();
+        virtualField.set(statement, batch);
+      }
+      batch.add();
+    }
+  }
+
+  @SuppressWarnings("unused")
+  public static class AddBatchSqlAdvice {
+
+    @Advice.OnMethodExit(suppress = Throwable.class)
+    public static void onExit(@Advice.Argument(0) String sql, @Advice.This Statement statement) {
+      VirtualField<Statement, JdbcBatch> virtualField =
+          VirtualField.find(Statement.class, JdbcBatch.class);
+      JdbcBatch batch = virtualField.get(statement);
+      if (batch == null) {
+        batch = new JdbcBatch();
+        virtualField.set(statement, batch);
+      }
+      batch.add(sql);
+    }
+  }
+
+  @SuppressWarnings("unused")
+  public static class ClearBatchAdvice {
+
+    @Advice.OnMethodExit(suppress = Throwable.class)
+    public static void onExit(@Advice.This Statement statement) {
+      JdbcBatch batch = VirtualField.find(Statement.class, JdbcBatch.class).get(statement);
+      if (batch != null) {
+        batch.clear();
+      }
+    }
+  }
+
+  @SuppressWarnings("unused")
+  public static class ExecuteBatchAdvice {
+
+    @Advice.OnMethodEnter(suppress = Throwable.class)
+    public static void onEnter(
+        @Advice.This Statement statement,
+        @Advice.Local("otelCallDepth") CallDepth callDepth,
+        @Advice.Local("otelRequest") DbRequest request,
+        @Advice.Local("otelContext") Context context,
+        @Advice.Local("otelScope") Scope scope) {
+      // the batch is emptied by its execution; this has to be done also when no span is created,
+      // e.g. for the statement wrapped by a connection pool statement
+      JdbcBatch batch = VirtualField.find(Statement.class, JdbcBatch.class).get(statement);
+      long batchSize = 0;
+      int distinctStatementCount = 0;
+      boolean distinctStatementCountCapped = false;
+      String singleStatement = null;
+      if (batch != null) {
+        batchSize = batch.size();
+        distinctStatementCount = batch.distinctStatementCount();
+        distinctStatementCountCapped = batch.distinctStatementCountCapped();
+        singleStatement = batch.singleStatement();
+        batch.clear();
+      }
+
+      // see StatementAdvice
+      callDepth = CallDepth.forClass(Statement.class);
+      if (callDepth.getAndIncrement() > 0) {
+        return;
+      }
+
+      Context parentContext = currentContext();
+      request =
+          DbRequest.createBatch(
+              statement,
+              singleStatement,
+              batchSize,
+              distinctStatementCount,
+              distinctStatementCountCapped);
+
+      if (request == null || !instrumenter().shouldStart(parentContext, request)) {
+        return;
+      }
+
+      context = instrumenter().start(parentContext, request);
+      scope = context.makeCurrent();
+    }
+
+    @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
+    public static void stopSpan(
+        @Advice.Thrown Throwable throwable,
+        @Advice.Local("otelCallDepth") CallDepth callDepth,
+        @Advice.Local("otelRequest") DbRequest request,
+        @Advice.Local("otelContext") Context context,
+        @Advice.Local("otelScope") Scope scope) {
+      if (callDepth.decrementAndGet() > 0) {
+        return;
+      }
+
+      if (scope != null) {
+        scope.close();
+        instrumenter().end(context, request, null, throwable);
+      }
+    }
+  }
 }
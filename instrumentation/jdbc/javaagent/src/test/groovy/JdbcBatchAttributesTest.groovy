@@ -0,0 +1,168 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+import io.opentelemetry.api.trace.SpanKind
+import io.opentelemetry.instrumentation.test.AgentInstrumentationSpecification
+import io.opentelemetry.semconv.trace.attributes.SemanticAttributes
+import org.h2.Driver
+import spock.lang.Shared
+
+import java.sql.Connection
+import java.sql.PreparedStatement
+import java.sql.Statement
+
+import static io.opentelemetry.api.trace.SpanKind.CLIENT
+
+// runs with otel.instrumentation.jdbc.experimental-span-attributes=true
+class JdbcBatchAttributesTest extends AgentInstrumentationSpecification {
+
+  @Shared
+  def dbName = "jdbcBatchUnitTest"
+  @Shared
+  def dbNameLower = dbName.toLowerCase()
+
+  @Shared
+  Connection connection
+
+  def setupSpec() {
+    connection = new Driver().connect("jdbc:h2:mem:$dbName", null)
+  }
+
+  def cleanupSpec() {
+    connection?.close()
+  }
+
+  def "prepared statement batch has a single distinct statement"() {
+    setup:
+    createTable("PS_BATCH")
+    PreparedStatement statement = connection.prepareStatement("INSERT INTO PS_BATCH VALUES(?)")
+
+    when:
+    runWithSpan("parent") {
+      for (int id = 0; id < 3; id++) {
+        statement.setInt(1, id)
+        statement.addBatch()
+      }
+      statement.executeBatch()
+    }
+
+    then:
+    assertTraces(1) {
+      trace(0, 2) {
+        span(0) {
+          name "parent"
+          kind SpanKind.INTERNAL
+          hasNoParent()
+        }
+        span(1) {
+          name "INSERT $dbNameLower.PS_BATCH"
+          kind CLIENT
+          childOf span(0)
+          attributes {
+            "$SemanticAttributes.DB_SYSTEM" "h2"
+            "$SemanticAttributes.DB_NAME" dbNameLower
+            "$SemanticAttributes.DB_STATEMENT" "INSERT INTO PS_BATCH VALUES(?)"
+            "$SemanticAttributes.DB_OPERATION" "INSERT"
+            "$SemanticAttributes.DB_SQL_TABLE" "PS_BATCH"
+            "$SemanticAttributes.DB_CONNECTION_STRING" "h2:mem:"
+            "db.jdbc.batch.size" 3
+            "db.jdbc.batch.distinct_statements" 1
+          }
+        }
+      }
+    }
+
+    cleanup:
+    statement.close()
+  }
+
+  def "statement batch counts distinct statements"() {
+    setup:
+    createTable("STMT_BATCH")
+    Statement statement = connection.createStatement()
+
+    when:
+    runWithSpan("parent") {
+      statement.addBatch("INSERT INTO STMT_BATCH VALUES(1)")
+      statement.addBatch("DELETE FROM STMT_BATCH WHERE id = 1")
+      statement.addBatch("INSERT INTO STMT_BATCH VALUES(1)")
+      statement.executeBatch()
+    }
+
+    then:
+    assertTraces(1) {
+      trace(0, 2) {
+        span(0) {
+          name "parent"
+          kind SpanKind.INTERNAL
+          hasNoParent()
+        }
+        span(1) {
+          name dbNameLower
+          kind CLIENT
+          childOf span(0)
+          attributes {
+            "$SemanticAttributes.DB_SYSTEM" "h2"
+            "$SemanticAttributes.DB_NAME" dbNameLower
+            "$SemanticAttributes.DB_CONNECTION_STRING" "h2:mem:"
+            "db.jdbc.batch.size" 3
+            "db.jdbc.batch.distinct_statements" 2
+          }
+        }
+      }
+    }
+
+    cleanup:
+    statement.close()
+  }
+
+  def "statement batch caps the distinct statement count"() {
+    setup:
+    createTable("CAPPED_BATCH")
+    Statement statement = connection.createStatement()
+
+    when:
+    runWithSpan("parent") {
+      for (int id = 0; id < 40; id++) {
+        statement.addBatch("INSERT INTO CAPPED_BATCH VALUES($id)")
+      }
+      statement.executeBatch()
+    }
+
+    then:
+    assertTraces(1) {
+      trace(0, 2) {
+        span(0) {
+          name "parent"
+          kind SpanKind.INTERNAL
+          hasNoParent()
+        }
+        span(1) {
+          name dbNameLower
+          kind CLIENT
+          childOf span(0)
+          attributes {
+            "$SemanticAttributes.DB_SYSTEM" "h2"
+            "$SemanticAttributes.DB_NAME" dbNameLower
+            "$SemanticAttributes.DB_CONNECTION_STRING" "h2:mem:"
+            "db.jdbc.batch.size" 40
+            "db.jdbc.batch.distinct_statements" 32
+            "db.jdbc.batch.distinct_statements_capped" true
+          }
+        }
+      }
+    }
+
+    cleanup:
+    statement.close()
+  }
+
+  def createTable(String table) {
+    Statement createTable = connection.createStatement()
+    createTable.execute("CREATE TABLE $table (id INTEGER not NULL, PRIMARY KEY ( id ))")
+    createTable.close()
+    clearExportedData()
+  }
+}
@@ -484,6 +484,110 @@ class JdbcInstrumentationTest extends AgentInstrumentationSpecification {
     "derby" | cpDatasources.get("c3p0").get("derby").getConnection()    | "APP"    | "CREATE TABLE PS_DERBY_C3P0 (id INTEGER not NULL, PRIMARY KEY ( id ))"   | "derby:memory:"
   }
 
+  def "prepared statement batch on #system with #connection.getClass().getCanonicalName() generates a single span"() {
+    setup:
+    def createTable = connection.createStatement()
+    createTable.execute("CREATE TABLE $table (id INTEGER not NULL, PRIMARY KEY ( id ))")
+    createTable.close()
+    PreparedStatement statement = connection.prepareStatement("INSERT INTO $table VALUES(?)")
+    clearExportedData()
+
+    expect:
+    runWithSpan("parent") {
+      for (int id = 0; id < 3; id++) {
+        statement.setInt(1, id)
+        statement.addBatch()
+      }
+      return statement.executeBatch().length == 3
+    }
+    assertTraces(1) {
+      trace(0, 2) {
+        span(0) {
+          name "parent"
+          kind SpanKind.INTERNAL
+          hasNoParent()
+        }
+        span(1) {
+          name "INSERT $dbNameLower.$table"
+          kind CLIENT
+          childOf span(0)
+          attributes {
+            "$SemanticAttributes.DB_SYSTEM" system
+            "$SemanticAttributes.DB_NAME" dbNameLower
+            if (username != null) {
+              "$SemanticAttributes.DB_USER" username
+            }
+            "$SemanticAttributes.DB_STATEMENT" "INSERT INTO $table VALUES(?)"
+            "$SemanticAttributes.DB_OPERATION" "INSERT"
+            "$SemanticAttributes.DB_SQL_TABLE" table
+            "$SemanticAttributes.DB_CONNECTION_STRING" url
+          }
+        }
+      }
+    }
+
+    cleanup:
+    statement.close()
+    connection.close()
+
+    where:
+    system  | connection                                                | username | table                 | url
+    "h2"    | new Driver().connect(jdbcUrls.get("h2"), null)            | null     | "BATCH_H2"            | "h2:mem:"
+    "derby" | new EmbeddedDriver().connect(jdbcUrls.get("derby"), null) | "APP"    | "BATCH_DERBY"         | "derby:memory:"
+    "h2"    | cpDatasources.get("hikari").get("h2").getConnection()     | null     | "BATCH_H2_HIKARI"     | "h2:mem:"
+    "derby" | cpDatasources.get("hikari").get("derby").getConnection()  | "APP"    | "BATCH_DERBY_HIKARI"  | "derby:memory:"
+  }
+
+  def "statement batch on #system with #connection.getClass().getCanonicalName() generates a single span"() {
+    setup:
+    def createTable = connection.createStatement()
+    createTable.execute("CREATE TABLE $table (id INTEGER not NULL, PRIMARY KEY ( id ))")
+    createTable.close()
+    Statement statement = connection.createStatement()
+    clearExportedData()
+
+    expect:
+    runWithSpan("parent") {
+      statement.addBatch("INSERT INTO $table VALUES(1)")
+      statement.addBatch("DELETE FROM $table WHERE id = 1")
+      statement.addBatch("INSERT INTO $table VALUES(1)")
+      return statement.executeBatch().length == 3
+    }
+    assertTraces(1) {
+      trace(0, 2) {
+        span(0) {
+          name "parent"
+          kind SpanKind.INTERNAL
+          hasNoParent()
+        }
+        span(1) {
+          name dbNameLower
+          kind CLIENT
+          childOf span(0)
+          attributes {
+            "$SemanticAttributes.DB_SYSTEM" system
+            "$SemanticAttributes.DB_NAME" dbNameLower
+            if (username != null) {
+              "$SemanticAttributes.DB_USER" username
+            }
+            "$SemanticAttributes.DB_CONNECTION_STRING" url
+          }
+        }
+      }
+    }
+
+    cleanup:
+    statement.close()
+    connection.close()
+
+    where:
+    system  | connection                                                | username | table                       | url
+    "h2"    | new Driver().connect(jdbcUrls.get("h2"), null)            | null     | "STMT_BATCH_H2"             | "h2:mem:"
+    "derby" | new EmbeddedDriver().connect(jdbcUrls.get("derby"), null) | "APP"    | "STMT_BATCH_DERBY"          | "derby:memory:"
+    "h2"    | cpDatasources.get("hikari").get("h2").getConnection()     | null     | "STMT_BATCH_H2_HIKARI"      | "h2:mem:"
+    "derby" | cpDatasources.get("hikari").get("derby").getConnection()  | "APP"    | "STMT_BATCH_DERBY_HIKARI"   | "derby:memory:"
+  }
+
   def "connection constructor throwing then generating correct spans after recovery using #driver connection (prepare statement = #prepareStatement)"() {
     setup:
     Connection connection = null
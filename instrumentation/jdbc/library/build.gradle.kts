@@ -6,6 +6,7 @@
 plugins {
   id("com.github.johnrengelman.shadow")
   id("otel.library-instrumentation")
+  id("otel.jmh-conventions")
 }
 
 dependencies {
@@ -13,6 +14,10 @@ dependencies {
   annotationProcessor("com.google.auto.value:auto-value")
 
   testImplementation(project(":instrumentation:jdbc:testing"))
+
+  jmhImplementation("com.h2database:h2:1.4.200")
+  jmhImplementation("com.zaxxer:HikariCP:4.0.3")
+  jmhImplementation("com.mchange:c3p0:0.9.5.5")
 }
 
 tasks {
@@ -0,0 +1,103 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jdbc.internal;
+
+import com.mchange.v2.c3p0.ComboPooledDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link JdbcUtils#connectionFromStatement(Statement)} with checking and unwrapping the
+ * connection of the statement on every call, for plain and connection pool statements.
+ */
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+public class ConnectionFromStatementBenchmark {
+
+  @Param({"h2", "hikari", "c3p0"})
+  public String pool;
+
+  private DataSource dataSource;
+  private Connection connection;
+  private Statement statement;
+
+  @Setup(Level.Trial)
+  public void setUp() throws SQLException {
+    JdbcDataSource h2 = new JdbcDataSource();
+    h2.setURL("jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+
+    switch (pool) {
+      case "h2":
+        dataSource = h2;
+        break;
+      case "hikari":
+        HikariConfig config = new HikariConfig();
+        config.setDataSource(h2);
+        config.setMaximumPoolSize(1);
+        dataSource = new HikariDataSource(config);
+        break;
+      case "c3p0":
+        ComboPooledDataSource c3p0 = new ComboPooledDataSource();
+        c3p0.setJdbcUrl("jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+        c3p0.setMaxPoolSize(1);
+        dataSource = c3p0;
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown pool " + pool);
+    }
+    connection = dataSource.getConnection();
+    statement = connection.createStatement();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    statement.close();
+    connection.close();
+    if (dataSource instanceof Closeable) {
+      ((Closeable) dataSource).close();
+    } else if (dataSource instanceof ComboPooledDataSource) {
+      ((ComboPooledDataSource) dataSource).close();
+    }
+  }
+
+  @Benchmark
+  public Connection connectionFromStatement() {
+    return JdbcUtils.connectionFromStatement(statement);
+  }
+
+  @Benchmark
+  public Connection isWrapperForAndUnwrap() throws SQLException {
+    Connection connection = statement.getConnection();
+    if (connection.isWrapperFor(Connection.class)) {
+      return connection.unwrap(Connection.class);
+    }
+    return connection;
+  }
+}
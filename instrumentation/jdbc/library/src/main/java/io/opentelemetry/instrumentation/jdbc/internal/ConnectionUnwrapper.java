@@ -0,0 +1,115 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jdbc.internal;
+
+import static java.util.logging.Level.FINE;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * Unwraps connection pool proxies to the underlying connection. How a connection is unwrapped is
+ * resolved on the first connection of each class and then reused for all the connections of that
+ * class, so that executing a statement doesn't have to call {@link Connection#isWrapperFor(Class)}
+ * and compare class names every time.
+ */
+final class ConnectionUnwrapper {
+
+  private static final Logger logger = Logger.getLogger(ConnectionUnwrapper.class.getName());
+
+  private static final String C3P0_PROXY_CONNECTION = "com.mchange.v2.c3p0.impl.NewProxyConnection";
+
+  private static final ClassValue<ConnectionUnwrapper> unwrappers =
+      new ClassValue<ConnectionUnwrapper>() {
+        @Override
+        protected ConnectionUnwrapper computeValue(Class<?> type) {
+          return new ConnectionUnwrapper();
+        }
+      };
+
+  private enum Strategy {
+    UNRESOLVED,
+    // not a wrapper, or a connection that doesn't support unwrapping
+    NONE,
+    UNWRAP,
+    // c3p0 proxy delegating to a connection that doesn't support unwrapping
+    INNER_FIELD
+  }
+
+  private volatile Strategy strategy = Strategy.UNRESOLVED;
+  @Nullable private volatile MethodHandle innerConnection;
+
+  private ConnectionUnwrapper() {}
+
+  static Connection unwrap(Connection connection) throws Throwable {
+    ConnectionUnwrapper unwrapper = unwrappers.get(connection.getClass());
+    switch (unwrapper.strategy) {
+      case NONE:
+        return connection;
+      case UNWRAP:
+        try {
+          return connection.unwrap(Connection.class);
+        } catch (Exception e) {
+          // Stick with original connection.
+          return connection;
+        }
+      case INNER_FIELD:
+        return (Connection) unwrapper.innerConnection.invoke(connection);
+      default:
+        return unwrapper.resolve(connection);
+    }
+  }
+
+  private Connection resolve(Connection connection) throws Throwable {
+    try {
+      // unwrap the connection to cache the underlying actual connection and to not cache proxy
+      // objects
+      if (connection.isWrapperFor(Connection.class)) {
+        Connection unwrapped = connection.unwrap(Connection.class);
+        strategy = Strategy.UNWRAP;
+        return unwrapped;
+      }
+      strategy = Strategy.NONE;
+      return connection;
+    } catch (Exception | AbstractMethodError e) {
+      // Attempt to work around c3po delegating to an connection that doesn't support unwrapping.
+      Class<? extends Connection> connectionClass = connection.getClass();
+      if (connectionClass.getName().equals(C3P0_PROXY_CONNECTION)) {
+        Field inner = connectionClass.getDeclaredField("inner");
+        inner.setAccessible(true);
+        innerConnection = MethodHandles.lookup().unreflectGetter(inner);
+        strategy = Strategy.INNER_FIELD;
+        return (Connection) inner.get(connection);
+      }
+
+      // a closed connection may fail to unwrap even when its class supports unwrapping, resolve
+      // the strategy with another connection
+      if (isClosed(connection)) {
+        return connection;
+      }
+
+      // perhaps wrapping isn't supported?
+      // ex: org.h2.jdbc.JdbcConnection v1.3.175
+      // or: jdts.jdbc which always throws `AbstractMethodError` (at least up to version 1.3)
+      // Stick with original connection.
+      logger.log(FINE, "Connection " + connectionClass.getName() + " can't be unwrapped", e);
+      strategy = Strategy.NONE;
+      return connection;
+    }
+  }
+
+  private static boolean isClosed(Connection connection) {
+    try {
+      return connection.isClosed();
+    } catch (Exception | AbstractMethodError e) {
+      return false;
+    }
+  }
+}
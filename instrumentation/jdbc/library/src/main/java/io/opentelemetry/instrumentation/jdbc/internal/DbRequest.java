@@ -9,7 +9,9 @@ import static io.opentelemetry.instrumentation.jdbc.internal.JdbcUtils.connectio
 import static io.opentelemetry.instrumentation.jdbc.internal.JdbcUtils.extractDbInfo;
 
 import com.google.auto.value.AutoValue;
+import io.opentelemetry.instrumentation.api.db.SqlStatementInfo;
 import io.opentelemetry.instrumentation.jdbc.internal.dbinfo.DbInfo;
+import io.opentelemetry.instrumentation.jdbc.internal.dbinfo.PreparedStatementSql;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.Statement;
@@ -24,7 +26,45 @@ public abstract class DbRequest {
 
   @Nullable
   public static DbRequest create(PreparedStatement statement) {
-    return create(statement, JdbcData.preparedStatement.get(statement));
+    Connection connection = connectionFromStatement(statement);
+    if (connection == null) {
+      return null;
+    }
+
+    return create(extractDbInfo(connection), JdbcData.preparedStatement.get(statement), null);
+  }
+
+  /**
+   * Creates a request representing the execution of a batch of commands. The SQL of the commands of
+   * a {@link PreparedStatement} batch is the prepared SQL; for plain statements {@code
+   * singleStatement} is the SQL shared by all the commands, or {@code null} if they differ, and
+   * {@code distinctStatementCount} is capped when {@code distinctStatementCountCapped} is set.
+   */
+  @Nullable
+  public static DbRequest createBatch(
+      Statement statement,
+      @Nullable String singleStatement,
+      long batchSize,
+      long distinctStatementCount,
+      boolean distinctStatementCountCapped) {
+    Connection connection = connectionFromStatement(statement);
+    if (connection == null) {
+      return null;
+    }
+
+    if (statement instanceof PreparedStatement) {
+      return create(
+          extractDbInfo(connection),
+          JdbcData.preparedStatement.get((PreparedStatement) statement),
+          batchSize);
+    }
+    return new AutoValue_DbRequest(
+        extractDbInfo(connection),
+        singleStatement,
+        null,
+        batchSize,
+        distinctStatementCount,
+        distinctStatementCountCapped);
   }
 
   @Nullable
@@ -38,11 +78,50 @@ public abstract class DbRequest {
   }
 
   public static DbRequest create(DbInfo dbInfo, String statement) {
-    return new AutoValue_DbRequest(dbInfo, statement);
+    return new AutoValue_DbRequest(dbInfo, statement, null, null, null, null);
+  }
+
+  private static DbRequest create(
+      DbInfo dbInfo, @Nullable PreparedStatementSql preparedSql, @Nullable Long batchSize) {
+    return new AutoValue_DbRequest(
+        dbInfo,
+        preparedSql == null ? null : preparedSql.getSql(),
+        preparedSql,
+        batchSize,
+        batchSize == null ? null : 1L,
+        batchSize == null ? null : false);
   }
 
   public abstract DbInfo getDbInfo();
 
   @Nullable
   public abstract String getStatement();
+
+  @Nullable
+  abstract PreparedStatementSql getPreparedStatementSql();
+
+  /** The sanitized statement of a prepared statement, {@code null} for other statements. */
+  @Nullable
+  public SqlStatementInfo getSanitizedStatement() {
+    PreparedStatementSql preparedSql = getPreparedStatementSql();
+    return preparedSql == null ? null : preparedSql.getSanitizedStatement();
+  }
+
+  /** The number of commands in the executed batch, {@code null} if this is not a batch. */
+  @Nullable
+  public abstract Long getBatchSize();
+
+  /**
+   * The number of distinct SQL statements in the executed batch, {@code null} if this is not a
+   * batch.
+   */
+  @Nullable
+  public abstract Long getBatchDistinctStatementCount();
+
+  /**
+   * Whether the executed batch had more distinct SQL statements than were counted, {@code null} if
+   * this is not a batch.
+   */
+  @Nullable
+  public abstract Boolean getBatchDistinctStatementCountCapped();
 }
@@ -5,6 +5,8 @@
 
 package io.opentelemetry.instrumentation.jdbc.internal;
 
+import io.opentelemetry.instrumentation.api.db.SqlStatementInfo;
+import io.opentelemetry.instrumentation.api.db.internal.SanitizedStatementGetter;
 import io.opentelemetry.instrumentation.api.instrumenter.db.SqlClientAttributesGetter;
 import io.opentelemetry.instrumentation.jdbc.internal.dbinfo.DbInfo;
 import javax.annotation.Nullable;
@@ -13,7 +15,8 @@ import javax.annotation.Nullable;
  * This class is internal and is hence not for public use. Its APIs are unstable and can change at
  * any time.
  */
-public final class JdbcAttributesGetter implements SqlClientAttributesGetter<DbRequest> {
+public final class JdbcAttributesGetter
+    implements SqlClientAttributesGetter<DbRequest>, SanitizedStatementGetter<DbRequest> {
 
   @Nullable
   @Override
@@ -45,4 +48,10 @@ public final class JdbcAttributesGetter implements SqlClientAttributesGetter<DbR
   public String rawStatement(DbRequest request) {
     return request.getStatement();
   }
+
+  @Nullable
+  @Override
+  public SqlStatementInfo sanitizedStatement(DbRequest request) {
+    return request.getSanitizedStatement();
+  }
 }
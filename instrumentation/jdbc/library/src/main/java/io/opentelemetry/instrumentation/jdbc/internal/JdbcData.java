@@ -7,11 +7,15 @@ package io.opentelemetry.instrumentation.jdbc.internal;
 
 import io.opentelemetry.instrumentation.api.util.VirtualField;
 import io.opentelemetry.instrumentation.jdbc.internal.dbinfo.DbInfo;
+import io.opentelemetry.instrumentation.jdbc.internal.dbinfo.PreparedStatementSql;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
-import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
 
 /**
  * Holds info associated with JDBC connections and prepared statements.
@@ -21,14 +25,26 @@ import java.util.WeakHashMap;
  */
 public final class JdbcData {
 
-  private static final Map<DbInfo, WeakReference<DbInfo>> dbInfos = new WeakHashMap<>();
+  // lock free, so that a burst of new connections (e.g. when a pool is filled) doesn't contend on
+  // interning their db infos
+  private static final ConcurrentMap<DbInfoReference, DbInfoReference> dbInfos =
+      new ConcurrentHashMap<>();
+  private static final ReferenceQueue<DbInfo> staleDbInfos = new ReferenceQueue<>();
   public static final VirtualField<Connection, DbInfo> connectionInfo =
       VirtualField.find(Connection.class, DbInfo.class);
-  public static final VirtualField<PreparedStatement, String> preparedStatement =
-      VirtualField.find(PreparedStatement.class, String.class);
+  public static final VirtualField<PreparedStatement, PreparedStatementSql> preparedStatement =
+      VirtualField.find(PreparedStatement.class, PreparedStatementSql.class);
 
   private JdbcData() {}
 
+  /**
+   * Associates the SQL with the prepared statement. The SQL is sanitized only when the statement is
+   * first executed, see {@link PreparedStatementSql}.
+   */
+  public static void setPreparedStatement(PreparedStatement statement, String sql) {
+    preparedStatement.set(statement, new PreparedStatementSql(sql));
+  }
+
   /**
    * Returns canonical representation of db info.
    *
@@ -38,16 +54,57 @@ public final class JdbcData {
    *     and a different instance later if the original interned instance was garbage collected.
    */
   public static DbInfo intern(DbInfo dbInfo) {
-    synchronized (dbInfos) {
-      WeakReference<DbInfo> reference = dbInfos.get(dbInfo);
-      if (reference != null) {
-        DbInfo result = reference.get();
-        if (result != null) {
-          return result;
-        }
+    expungeStaleDbInfos();
+    DbInfoReference reference = new DbInfoReference(dbInfo, staleDbInfos);
+    while (true) {
+      DbInfoReference existing = dbInfos.putIfAbsent(reference, reference);
+      if (existing == null) {
+        return dbInfo;
+      }
+      DbInfo result = existing.get();
+      if (result != null) {
+        return result;
+      }
+      // the interned instance was collected after the lookup matched it, retry
+      dbInfos.remove(existing, existing);
+    }
+  }
+
+  private static void expungeStaleDbInfos() {
+    Reference<?> reference;
+    while ((reference = staleDbInfos.poll()) != null) {
+      dbInfos.remove(reference);
+    }
+  }
+
+  /**
+   * Weak reference to an interned {@link DbInfo}. Unlike the keys of the weak maps in
+   * instrumentation-api, which are compared by identity, references are equal when the db infos
+   * they refer to are equal.
+   */
+  private static final class DbInfoReference extends WeakReference<DbInfo> {
+    private final int hashCode;
+
+    DbInfoReference(DbInfo dbInfo, ReferenceQueue<DbInfo> queue) {
+      super(dbInfo, queue);
+      hashCode = dbInfo.hashCode();
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (!(obj instanceof DbInfoReference)) {
+        return false;
       }
-      dbInfos.put(dbInfo, new WeakReference<>(dbInfo));
-      return dbInfo;
+      DbInfo dbInfo = get();
+      return dbInfo != null && dbInfo.equals(((DbInfoReference) obj).get());
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
     }
   }
 }
@@ -8,7 +8,6 @@ package io.opentelemetry.instrumentation.jdbc.internal;
 import static java.util.logging.Level.FINE;
 
 import io.opentelemetry.instrumentation.jdbc.internal.dbinfo.DbInfo;
-import java.lang.reflect.Field;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
@@ -24,50 +23,17 @@ public final class JdbcUtils {
 
   private static final Logger logger = Logger.getLogger(JdbcUtils.class.getName());
 
-  @Nullable private static Field c3poField = null;
-
   /** Returns the unwrapped connection or null if exception was thrown. */
+  @Nullable
   public static Connection connectionFromStatement(Statement statement) {
-    Connection connection;
     try {
-      connection = statement.getConnection();
-
-      if (c3poField != null) {
-        if (connection.getClass().getName().equals("com.mchange.v2.c3p0.impl.NewProxyConnection")) {
-          return (Connection) c3poField.get(connection);
-        }
-      }
-
-      try {
-        // unwrap the connection to cache the underlying actual connection and to not cache proxy
-        // objects
-        if (connection.isWrapperFor(Connection.class)) {
-          connection = connection.unwrap(Connection.class);
-        }
-      } catch (Exception | AbstractMethodError e) {
-        if (connection != null) {
-          // Attempt to work around c3po delegating to an connection that doesn't support
-          // unwrapping.
-          Class<? extends Connection> connectionClass = connection.getClass();
-          if (connectionClass.getName().equals("com.mchange.v2.c3p0.impl.NewProxyConnection")) {
-            Field inner = connectionClass.getDeclaredField("inner");
-            inner.setAccessible(true);
-            c3poField = inner;
-            return (Connection) c3poField.get(connection);
-          }
-        }
-
-        // perhaps wrapping isn't supported?
-        // ex: org.h2.jdbc.JdbcConnection v1.3.175
-        // or: jdts.jdbc which always throws `AbstractMethodError` (at least up to version 1.3)
-        // Stick with original connection.
-      }
+      Connection connection = statement.getConnection();
+      return connection == null ? null : ConnectionUnwrapper.unwrap(connection);
     } catch (Throwable e) {
       // Had some problem getting the connection.
       logger.log(FINE, "Could not get connection for StatementAdvice", e);
       return null;
     }
-    return connection;
   }
 
   public static DbInfo extractDbInfo(Connection connection) {
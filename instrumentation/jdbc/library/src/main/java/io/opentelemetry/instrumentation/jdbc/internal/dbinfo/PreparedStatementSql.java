@@ -0,0 +1,44 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jdbc.internal.dbinfo;
+
+import io.opentelemetry.instrumentation.api.db.SqlStatementInfo;
+import io.opentelemetry.instrumentation.api.db.SqlStatementSanitizer;
+import javax.annotation.Nullable;
+
+/**
+ * The SQL of a prepared statement. It is sanitized when it's first needed, the executions of the
+ * statement after that don't have to sanitize it (or look it up in the sanitizer cache) again.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class PreparedStatementSql {
+
+  // prepared statements are always sanitized, the span name needs the operation and the table
+  private static final SqlStatementSanitizer sanitizer = SqlStatementSanitizer.create(true);
+
+  private final String sql;
+  // not volatile, SqlStatementInfo is immutable and sanitizing the statement twice is harmless
+  @Nullable private SqlStatementInfo sanitizedStatement;
+
+  public PreparedStatementSql(String sql) {
+    this.sql = sql;
+  }
+
+  public String getSql() {
+    return sql;
+  }
+
+  public SqlStatementInfo getSanitizedStatement() {
+    SqlStatementInfo result = sanitizedStatement;
+    if (result == null) {
+      result = sanitizer.sanitize(sql);
+      sanitizedStatement = result;
+    }
+    return result;
+  }
+}
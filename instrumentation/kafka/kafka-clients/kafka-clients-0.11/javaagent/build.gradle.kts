@@ -49,10 +49,21 @@ tasks {
     include("**/KafkaClientSuppressReceiveSpansTest.*")
   }
 
+  val testBatchProcess by registering(Test::class) {
+    filter {
+      includeTestsMatching("KafkaClientBatchProcessTest")
+    }
+    include("**/KafkaClientBatchProcessTest.*")
+    jvmArgs("-Dotel.instrumentation.messaging.experimental.receive-telemetry.enabled=true")
+    jvmArgs("-Dotel.instrumentation.kafka.experimental.batch-process.consumer-groups=test")
+    jvmArgs("-Dotel.instrumentation.kafka.experimental.batch-process.max-linked-records=2")
+  }
+
   test {
     filter {
       excludeTestsMatching("KafkaClientPropagationDisabledTest")
       excludeTestsMatching("KafkaClientSuppressReceiveSpansTest")
+      excludeTestsMatching("KafkaClientBatchProcessTest")
     }
     jvmArgs("-Dotel.instrumentation.messaging.experimental.receive-telemetry.enabled=true")
   }
@@ -60,5 +71,6 @@ tasks {
   check {
     dependsOn(testPropagationDisabled)
     dependsOn(testReceiveSpansDisabled)
+    dependsOn(testBatchProcess)
   }
 }
@@ -23,6 +23,7 @@ import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
 
 public class ConsumerRecordsInstrumentation implements TypeInstrumentation {
 
@@ -103,7 +104,13 @@ public class ConsumerRecordsInstrumentation implements TypeInstrumentation {
       // case it's important to overwrite the leaked span instead of suppressing the correct span
       // (https://github.com/open-telemetry/opentelemetry-java-instrumentation/issues/1947)
       Context receiveContext = VirtualField.find(ConsumerRecords.class, Context.class).get(records);
-      iterator = TracingIterator.wrap(iterator, receiveContext);
+      KafkaConsumer<?, ?> consumer =
+          VirtualField.find(ConsumerRecords.class, KafkaConsumer.class).get(records);
+      if (consumer != null) {
+        iterator = TracingBatchIterator.wrap(iterator, records, receiveContext, consumer);
+      } else {
+        iterator = TracingIterator.wrap(iterator, receiveContext);
+      }
     }
   }
 }
@@ -8,6 +8,7 @@ package io.opentelemetry.javaagent.instrumentation.kafkaclients;
 import static io.opentelemetry.javaagent.bootstrap.Java8BytecodeBridge.currentContext;
 import static io.opentelemetry.javaagent.instrumentation.kafkaclients.KafkaSingletons.consumerReceiveInstrumenter;
 import static io.opentelemetry.javaagent.instrumentation.kafkaclients.KafkaSingletons.enhanceConfig;
+import static io.opentelemetry.javaagent.instrumentation.kafkaclients.KafkaSingletons.isBatchProcessEnabled;
 import static net.bytebuddy.matcher.ElementMatchers.isConstructor;
 import static net.bytebuddy.matcher.ElementMatchers.isPublic;
 import static net.bytebuddy.matcher.ElementMatchers.named;
@@ -28,8 +29,10 @@ import java.util.Properties;
 import net.bytebuddy.asm.Advice;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
 
 public class KafkaConsumerInstrumentation implements TypeInstrumentation {
 
@@ -62,6 +65,14 @@ public class KafkaConsumerInstrumentation implements TypeInstrumentation {
     public static void onEnter(@Advice.Argument(0) Map<String, Object> config) {
       enhanceConfig(config);
     }
+
+    @Advice.OnMethodExit(suppress = Throwable.class)
+    public static void onExit(
+        @Advice.This KafkaConsumer<?, ?> consumer, @Advice.Argument(0) Map<String, Object> config) {
+      if (isBatchProcessEnabled(config.get(ConsumerConfig.GROUP_ID_CONFIG))) {
+        VirtualField.find(KafkaConsumer.class, Boolean.class).set(consumer, true);
+      }
+    }
   }
 
   @SuppressWarnings("unused")
@@ -71,17 +82,28 @@ public class KafkaConsumerInstrumentation implements TypeInstrumentation {
     public static void onEnter(@Advice.Argument(0) Properties config) {
       enhanceConfig(config);
     }
+
+    @Advice.OnMethodExit(suppress = Throwable.class)
+    public static void onExit(
+        @Advice.This KafkaConsumer<?, ?> consumer, @Advice.Argument(0) Properties config) {
+      if (isBatchProcessEnabled(config.get(ConsumerConfig.GROUP_ID_CONFIG))) {
+        VirtualField.find(KafkaConsumer.class, Boolean.class).set(consumer, true);
+      }
+    }
   }
 
   @SuppressWarnings("unused")
   public static class PollAdvice {
     @Advice.OnMethodEnter(suppress = Throwable.class)
-    public static Timer onEnter() {
+    public static Timer onEnter(@Advice.This KafkaConsumer<?, ?> consumer) {
+      // the previous records are not iterated anymore once the consumer polls again
+      TracingBatchIterator.endOpenBatch(consumer);
       return Timer.start();
     }
 
     @Advice.OnMethodExit(suppress = Throwable.class, onThrowable = Throwable.class)
     public static void onExit(
+        @Advice.This KafkaConsumer<?, ?> consumer,
         @Advice.Enter Timer timer,
         @Advice.Return ConsumerRecords<?, ?> records,
         @Advice.Thrown Throwable error) {
@@ -91,6 +113,11 @@ public class KafkaConsumerInstrumentation implements TypeInstrumentation {
         return;
       }
 
+      // records of consumer groups configured for batch processing get a single process span
+      if (VirtualField.find(KafkaConsumer.class, Boolean.class).get(consumer) != null) {
+        VirtualField.find(ConsumerRecords.class, KafkaConsumer.class).set(records, consumer);
+      }
+
       Context parentContext = currentContext();
       if (consumerReceiveInstrumenter().shouldStart(parentContext, records)) {
         // disable process tracing and store the receive span for each individual record too
@@ -5,6 +5,9 @@
 
 package io.opentelemetry.javaagent.instrumentation.kafkaclients;
 
+import static java.util.Collections.emptyList;
+import static java.util.logging.Level.WARNING;
+
 import io.opentelemetry.api.GlobalOpenTelemetry;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import io.opentelemetry.instrumentation.kafka.internal.KafkaInstrumenterFactory;
@@ -12,13 +15,19 @@ import io.opentelemetry.instrumentation.kafka.internal.OpenTelemetryMetricsRepor
 import io.opentelemetry.javaagent.bootstrap.internal.DeprecatedConfigProperties;
 import io.opentelemetry.javaagent.bootstrap.internal.ExperimentalConfig;
 import io.opentelemetry.javaagent.bootstrap.internal.InstrumentationConfig;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
 import org.apache.kafka.clients.CommonClientConfigs;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.producer.ProducerRecord;
 
 public final class KafkaSingletons {
+  private static final Logger logger = Logger.getLogger(KafkaSingletons.class.getName());
+
   private static final String INSTRUMENTATION_NAME = "io.opentelemetry.kafka-clients-0.11";
 
   private static final boolean PRODUCER_PROPAGATION_ENABLED =
@@ -31,9 +40,24 @@ public final class KafkaSingletons {
       InstrumentationConfig.get()
           .getBoolean("otel.instrumentation.kafka.metric-reporter.enabled", true);
 
+  // records polled by consumers of these groups get one process span per iteration of the whole
+  // batch instead of one per record
+  private static final Set<String> BATCH_PROCESS_CONSUMER_GROUPS =
+      new HashSet<>(
+          InstrumentationConfig.get()
+              .getList(
+                  "otel.instrumentation.kafka.experimental.batch-process.consumer-groups",
+                  emptyList()));
+
+  private static final String BATCH_PROCESS_MAX_LINKED_RECORDS_CONFIG =
+      "otel.instrumentation.kafka.experimental.batch-process.max-linked-records";
+  private static final int DEFAULT_BATCH_PROCESS_MAX_LINKED_RECORDS = 128;
+
   private static final Instrumenter<ProducerRecord<?, ?>, Void> PRODUCER_INSTRUMENTER;
   private static final Instrumenter<ConsumerRecords<?, ?>, Void> CONSUMER_RECEIVE_INSTRUMENTER;
   private static final Instrumenter<ConsumerRecord<?, ?>, Void> CONSUMER_PROCESS_INSTRUMENTER;
+  private static final Instrumenter<ConsumerRecords<?, ?>, Void>
+      CONSUMER_BATCH_PROCESS_INSTRUMENTER;
 
   static {
     KafkaInstrumenterFactory instrumenterFactory =
@@ -43,10 +67,31 @@ public final class KafkaSingletons {
                 InstrumentationConfig.get()
                     .getBoolean("otel.instrumentation.kafka.experimental-span-attributes", false))
             .setMessagingReceiveInstrumentationEnabled(
-                ExperimentalConfig.get().messagingReceiveInstrumentationEnabled());
+                ExperimentalConfig.get().messagingReceiveInstrumentationEnabled())
+            .setBatchProcessMaxLinkedRecords(batchProcessMaxLinkedRecords());
     PRODUCER_INSTRUMENTER = instrumenterFactory.createProducerInstrumenter();
     CONSUMER_RECEIVE_INSTRUMENTER = instrumenterFactory.createConsumerReceiveInstrumenter();
     CONSUMER_PROCESS_INSTRUMENTER = instrumenterFactory.createConsumerProcessInstrumenter();
+    CONSUMER_BATCH_PROCESS_INSTRUMENTER = instrumenterFactory.createBatchProcessInstrumenter();
+  }
+
+  private static int batchProcessMaxLinkedRecords() {
+    int maxLinkedRecords =
+        InstrumentationConfig.get()
+            .getInt(
+                BATCH_PROCESS_MAX_LINKED_RECORDS_CONFIG, DEFAULT_BATCH_PROCESS_MAX_LINKED_RECORDS);
+    if (maxLinkedRecords < 0) {
+      logger.log(
+          WARNING,
+          "Invalid value {0} for {1}, it must not be negative, using the default {2}",
+          new Object[] {
+            maxLinkedRecords,
+            BATCH_PROCESS_MAX_LINKED_RECORDS_CONFIG,
+            DEFAULT_BATCH_PROCESS_MAX_LINKED_RECORDS
+          });
+      return DEFAULT_BATCH_PROCESS_MAX_LINKED_RECORDS;
+    }
+    return maxLinkedRecords;
   }
 
   public static boolean isProducerPropagationEnabled() {
@@ -65,6 +110,16 @@ public final class KafkaSingletons {
     return CONSUMER_PROCESS_INSTRUMENTER;
   }
 
+  public static Instrumenter<ConsumerRecords<?, ?>, Void> consumerBatchProcessInstrumenter() {
+    return CONSUMER_BATCH_PROCESS_INSTRUMENTER;
+  }
+
+  public static boolean isBatchProcessEnabled(@Nullable Object consumerGroup) {
+    return !BATCH_PROCESS_CONSUMER_GROUPS.isEmpty()
+        && consumerGroup != null
+        && BATCH_PROCESS_CONSUMER_GROUPS.contains(consumerGroup.toString());
+  }
+
   public static void enhanceConfig(Map<? super String, Object> config) {
     if (!METRICS_ENABLED) {
       return;
@@ -0,0 +1,132 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.kafkaclients;
+
+import static io.opentelemetry.javaagent.instrumentation.kafkaclients.KafkaSingletons.consumerBatchProcessInstrumenter;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.api.util.VirtualField;
+import io.opentelemetry.javaagent.bootstrap.kafka.KafkaClientsConsumerProcessTracing;
+import java.util.Iterator;
+import javax.annotation.Nullable;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+
+/**
+ * Creates a single process span for an iteration over all the records of a {@link ConsumerRecords},
+ * which starts when the first record is returned and ends when the iterator is exhausted. When the
+ * iteration is abandoned before, the span ends when the consumer polls again or when another
+ * iterator is created for the records of the same consumer. The span is linked to the producer
+ * spans of the first records only, see {@code
+ * otel.instrumentation.kafka.experimental.batch-process.max-linked-records}.
+ */
+public class TracingBatchIterator<K, V> implements Iterator<ConsumerRecord<K, V>> {
+  private final Iterator<ConsumerRecord<K, V>> delegateIterator;
+  private final ConsumerRecords<?, ?> records;
+  private final Context parentContext;
+
+  /*
+   * Note: this may potentially create problems if this iterator is used from different threads. But
+   * at the moment we cannot do much about this.
+   */
+  @Nullable private Context context;
+  @Nullable private Scope scope;
+  @Nullable private Thread scopeThread;
+  private boolean ended;
+
+  private TracingBatchIterator(
+      Iterator<ConsumerRecord<K, V>> delegateIterator,
+      ConsumerRecords<?, ?> records,
+      @Nullable Context receiveContext) {
+    this.delegateIterator = delegateIterator;
+    this.records = records;
+
+    // use the receive CONSUMER as parent if it's available
+    this.parentContext = receiveContext != null ? receiveContext : Context.current();
+  }
+
+  public static <K, V> Iterator<ConsumerRecord<K, V>> wrap(
+      Iterator<ConsumerRecord<K, V>> delegateIterator,
+      ConsumerRecords<?, ?> records,
+      @Nullable Context receiveContext,
+      KafkaConsumer<?, ?> consumer) {
+    if (KafkaClientsConsumerProcessTracing.wrappingEnabled()) {
+      // the records of the consumer are iterated again, the previous iteration won't end
+      endOpenBatch(consumer);
+      TracingBatchIterator<K, V> iterator =
+          new TracingBatchIterator<>(delegateIterator, records, receiveContext);
+      VirtualField.find(KafkaConsumer.class, TracingBatchIterator.class).set(consumer, iterator);
+      return iterator;
+    }
+    return delegateIterator;
+  }
+
+  /** Ends the span of the last iteration over the records of the consumer if it's still open. */
+  public static void endOpenBatch(KafkaConsumer<?, ?> consumer) {
+    VirtualField<KafkaConsumer<?, ?>, TracingBatchIterator<?, ?>> openBatch =
+        VirtualField.find(KafkaConsumer.class, TracingBatchIterator.class);
+    TracingBatchIterator<?, ?> iterator = openBatch.get(consumer);
+    if (iterator != null) {
+      openBatch.set(consumer, null);
+      iterator.closeScopeAndEndSpan();
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    boolean hasNext = delegateIterator.hasNext();
+    if (!hasNext) {
+      closeScopeAndEndSpan();
+    }
+    return hasNext;
+  }
+
+  @Override
+  public ConsumerRecord<K, V> next() {
+    ConsumerRecord<K, V> next = delegateIterator.next();
+    // same as in TracingIterator, the span is not suppressed using Instrumenter.shouldStart()
+    // (https://github.com/open-telemetry/opentelemetry-java-instrumentation/issues/1947)
+    if (context == null && KafkaClientsConsumerProcessTracing.wrappingEnabled()) {
+      startSpan();
+    }
+    return next;
+  }
+
+  private synchronized void startSpan() {
+    if (context != null) {
+      return;
+    }
+    // the span links extractor iterates over the records too, don't trace that iteration
+    boolean previousValue = KafkaClientsConsumerProcessTracing.setEnabled(false);
+    try {
+      context = consumerBatchProcessInstrumenter().start(parentContext, records);
+    } finally {
+      KafkaClientsConsumerProcessTracing.setEnabled(previousValue);
+    }
+    scope = context.makeCurrent();
+    scopeThread = Thread.currentThread();
+  }
+
+  // also called from poll(), possibly on another thread than the one iterating over the records
+  private synchronized void closeScopeAndEndSpan() {
+    // a scope can only be closed on the thread that opened it
+    if (scope != null && scopeThread == Thread.currentThread()) {
+      scope.close();
+      scope = null;
+    }
+    if (context != null && !ended) {
+      ended = true;
+      consumerBatchProcessInstrumenter().end(context, records, null, null);
+    }
+  }
+
+  @Override
+  public void remove() {
+    delegateIterator.remove();
+  }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.kafkaclients
+
+import io.opentelemetry.sdk.trace.data.SpanData
+import io.opentelemetry.semconv.trace.attributes.SemanticAttributes
+import org.apache.kafka.clients.producer.ProducerRecord
+
+import java.time.Duration
+import java.util.concurrent.TimeUnit
+
+import static io.opentelemetry.api.trace.SpanKind.CONSUMER
+import static io.opentelemetry.api.trace.SpanKind.INTERNAL
+import static io.opentelemetry.api.trace.SpanKind.PRODUCER
+
+// runs with otel.instrumentation.kafka.experimental.batch-process.max-linked-records=2
+class KafkaClientBatchProcessTest extends KafkaClientPropagationBaseTest {
+
+  def "test kafka produce and batch consume"() {
+    when:
+    String greeting = "Hello Kafka!"
+    runWithSpan("parent") {
+      producer.send(new ProducerRecord(SHARED_TOPIC, greeting)).get(5, TimeUnit.SECONDS)
+    }
+
+    then:
+    awaitUntilConsumerIsReady()
+    def records = consumer.poll(Duration.ofSeconds(5).toMillis())
+    records.count() == 1
+
+    // iterate over records to generate spans
+    for (record in records) {
+      runWithSpan("processing") {
+        assert record.value() == greeting
+        assert record.key() == null
+      }
+    }
+
+    assertTraces(2) {
+      traces.sort(orderByRootSpanKind(INTERNAL, CONSUMER))
+
+      SpanData producerSpan
+
+      trace(0, 2) {
+        span(0) {
+          name "parent"
+          kind INTERNAL
+          hasNoParent()
+        }
+        span(1) {
+          name SHARED_TOPIC + " send"
+          kind PRODUCER
+          childOf span(0)
+          attributes {
+            "$SemanticAttributes.MESSAGING_SYSTEM" "kafka"
+            "$SemanticAttributes.MESSAGING_DESTINATION" SHARED_TOPIC
+            "$SemanticAttributes.MESSAGING_DESTINATION_KIND" "topic"
+          }
+        }
+
+        producerSpan = span(1)
+      }
+      trace(1, 3) {
+        span(0) {
+          name SHARED_TOPIC + " receive"
+          kind CONSUMER
+          hasNoParent()
+          attributes {
+            "$SemanticAttributes.MESSAGING_SYSTEM" "kafka"
+            "$SemanticAttributes.MESSAGING_DESTINATION" SHARED_TOPIC
+            "$SemanticAttributes.MESSAGING_DESTINATION_KIND" "topic"
+            "$SemanticAttributes.MESSAGING_OPERATION" "receive"
+          }
+        }
+        span(1) {
+          name SHARED_TOPIC + " process"
+          kind CONSUMER
+          childOf span(0)
+          hasLink producerSpan
+          attributes {
+            "$SemanticAttributes.MESSAGING_SYSTEM" "kafka"
+            "$SemanticAttributes.MESSAGING_DESTINATION" SHARED_TOPIC
+            "$SemanticAttributes.MESSAGING_DESTINATION_KIND" "topic"
+            "$SemanticAttributes.MESSAGING_OPERATION" "process"
+          }
+        }
+        span(2) {
+          name "processing"
+          childOf span(1)
+        }
+      }
+    }
+  }
+
+  def "test kafka produce and batch consume multiple records"() {
+    when:
+    runWithSpan("parent") {
+      for (int i = 0; i < 3; i++) {
+        producer.send(new ProducerRecord(SHARED_TOPIC, "message " + i)).get(5, TimeUnit.SECONDS)
+      }
+    }
+
+    then:
+    awaitUntilConsumerIsReady()
+    def records = consumer.poll(Duration.ofSeconds(5).toMillis())
+    records.count() == 3
+
+    // iterate over records to generate spans
+    for (record in records) {
+      runWithSpan("processing") {}
+    }
+
+    List<SpanData> producerSpans = []
+    SpanData processSpan = null
+    assertTraces(2) {
+      traces.sort(orderByRootSpanKind(INTERNAL, CONSUMER))
+
+      trace(0, 4) {
+        span(0) {
+          name "parent"
+          kind INTERNAL
+          hasNoParent()
+        }
+        for (int i = 1; i <= 3; i++) {
+          span(i) {
+            name SHARED_TOPIC + " send"
+            kind PRODUCER
+            childOf span(0)
+          }
+          producerSpans.add(span(i))
+        }
+      }
+      // a single process span for the whole batch
+      trace(1, 5) {
+        span(0) {
+          name SHARED_TOPIC + " receive"
+          kind CONSUMER
+          hasNoParent()
+        }
+        span(1) {
+          name SHARED_TOPIC + " process"
+          kind CONSUMER
+          childOf span(0)
+        }
+        processSpan = span(1)
+        for (int i = 2; i <= 4; i++) {
+          span(i) {
+            name "processing"
+            childOf span(1)
+          }
+        }
+      }
+    }
+
+    // only the first max-linked-records records are linked
+    processSpan.links.size() == 2
+    processSpan.links.every { link ->
+      producerSpans.any {
+        it.traceId == link.spanContext.traceId && it.spanId == link.spanContext.spanId
+      }
+    }
+  }
+
+  def "test kafka batch process span ends on next poll"() {
+    when:
+    String greeting = "Hello Kafka!"
+    producer.send(new ProducerRecord(SHARED_TOPIC, greeting)).get(5, TimeUnit.SECONDS)
+
+    then:
+    awaitUntilConsumerIsReady()
+    def records = consumer.poll(Duration.ofSeconds(5).toMillis())
+    records.count() == 1
+
+    // abandon the iteration before the iterator is exhausted
+    def iterator = records.iterator()
+    iterator.next().value() == greeting
+
+    // polling again ends the process span
+    consumer.poll(Duration.ofMillis(100).toMillis()).isEmpty()
+
+    assertTraces(2) {
+      traces.sort(orderByRootSpanKind(PRODUCER, CONSUMER))
+
+      trace(0, 1) {
+        span(0) {
+          name SHARED_TOPIC + " send"
+          kind PRODUCER
+          hasNoParent()
+        }
+      }
+      trace(1, 2) {
+        span(0) {
+          name SHARED_TOPIC + " receive"
+          kind CONSUMER
+          hasNoParent()
+        }
+        span(1) {
+          name SHARED_TOPIC + " process"
+          kind CONSUMER
+          childOf span(0)
+          hasLink traces[0][0]
+        }
+      }
+    }
+  }
+}
@@ -17,17 +17,24 @@ final class KafkaBatchProcessSpanLinksExtractor
     implements SpanLinksExtractor<ConsumerRecords<?, ?>> {
 
   private final SpanLinksExtractor<ConsumerRecord<?, ?>> singleRecordLinkExtractor;
+  private final int maxLinkedRecords;
 
-  KafkaBatchProcessSpanLinksExtractor(TextMapPropagator propagator) {
+  KafkaBatchProcessSpanLinksExtractor(TextMapPropagator propagator, int maxLinkedRecords) {
     this.singleRecordLinkExtractor =
         new PropagatorBasedSpanLinksExtractor<>(propagator, KafkaConsumerRecordGetter.INSTANCE);
+    this.maxLinkedRecords = maxLinkedRecords;
   }
 
   @Override
   public void extract(
       SpanLinksBuilder spanLinks, Context parentContext, ConsumerRecords<?, ?> records) {
 
+    int linkedRecords = 0;
     for (ConsumerRecord<?, ?> record : records) {
+      // headers of the records after the first maxLinkedRecords are never read
+      if (linkedRecords++ == maxLinkedRecords) {
+        break;
+      }
       // explicitly passing root to avoid situation where context propagation is turned off and the
       // parent (CONSUMER receive) span is linked
       singleRecordLinkExtractor.extract(spanLinks, Context.root(), record);
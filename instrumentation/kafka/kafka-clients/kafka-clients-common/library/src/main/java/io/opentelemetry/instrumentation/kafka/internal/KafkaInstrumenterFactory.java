@@ -37,6 +37,7 @@ public final class KafkaInstrumenterFactory {
   private List<String> capturedHeaders = emptyList();
   private boolean captureExperimentalSpanAttributes = false;
   private boolean messagingReceiveInstrumentationEnabled = false;
+  private int batchProcessMaxLinkedRecords = Integer.MAX_VALUE;
 
   public KafkaInstrumenterFactory(OpenTelemetry openTelemetry, String instrumentationName) {
     this.openTelemetry = openTelemetry;
@@ -80,6 +81,23 @@ public final class KafkaInstrumenterFactory {
     return this;
   }
 
+  /**
+   * Sets the maximum number of records of a batch whose producer spans are linked to the batch
+   * process span. Only the headers of these records are read, all records are linked by default.
+   *
+   * @throws IllegalArgumentException if {@code batchProcessMaxLinkedRecords} is negative
+   */
+  @CanIgnoreReturnValue
+  public KafkaInstrumenterFactory setBatchProcessMaxLinkedRecords(
+      int batchProcessMaxLinkedRecords) {
+    if (batchProcessMaxLinkedRecords < 0) {
+      throw new IllegalArgumentException(
+          "batchProcessMaxLinkedRecords must not be negative: " + batchProcessMaxLinkedRecords);
+    }
+    this.batchProcessMaxLinkedRecords = batchProcessMaxLinkedRecords;
+    return this;
+  }
+
   public Instrumenter<ProducerRecord<?, ?>, Void> createProducerInstrumenter() {
     return createProducerInstrumenter(Collections.emptyList());
   }
@@ -164,7 +182,8 @@ public final class KafkaInstrumenterFactory {
             buildMessagingAttributesExtractor(getter, operation, capturedHeaders))
         .addSpanLinksExtractor(
             new KafkaBatchProcessSpanLinksExtractor(
-                openTelemetry.getPropagators().getTextMapPropagator()))
+                openTelemetry.getPropagators().getTextMapPropagator(),
+                batchProcessMaxLinkedRecords))
         .setErrorCauseExtractor(errorCauseExtractor)
         .buildInstrumenter(SpanKindExtractor.alwaysConsumer());
   }
@@ -6,6 +6,8 @@
 package io.opentelemetry.javaagent.instrumentation.instrumentationapi;
 
 import application.io.opentelemetry.instrumentation.api.internal.SpanKey;
+import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import javax.annotation.Nullable;
@@ -43,11 +45,50 @@ public final class SpanKeyBridging {
     return map;
   }
 
+  // span key masks are bridged bit by bit, since the bits of the same span key can differ between
+  // the application and the agent instrumentation-api versions
+  private static final int[] agentMaskBits = createMaskMapping();
+
+  private static int[] createMaskMapping() {
+    int[] agentBits = new int[Integer.SIZE];
+    try {
+      // looked up reflectively, so that muzzle still matches the versions that don't have masks
+      Method applicationMask = SpanKey.class.getMethod("mask", Iterable.class);
+      for (Map.Entry<SpanKey, io.opentelemetry.instrumentation.api.internal.SpanKey> entry :
+          agentSpanKeys.entrySet()) {
+        int applicationBit =
+            (Integer) applicationMask.invoke(null, Collections.singletonList(entry.getKey()));
+        agentBits[Integer.numberOfTrailingZeros(applicationBit)] =
+            io.opentelemetry.instrumentation.api.internal.SpanKey.mask(
+                Collections.singletonList(entry.getValue()));
+      }
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      // the application instrumentation-api doesn't use span key masks
+    }
+    return agentBits;
+  }
+
   @Nullable
   public static io.opentelemetry.instrumentation.api.internal.SpanKey toAgentOrNull(
       SpanKey applicationSpanKey) {
     return agentSpanKeys.get(applicationSpanKey);
   }
 
+  /**
+   * Returns the agent span keys mask corresponding to the application one, or 0 if any of the span
+   * keys is unknown to the agent.
+   */
+  public static int toAgentMask(int applicationSpanKeysMask) {
+    int agentSpanKeysMask = 0;
+    for (int bits = applicationSpanKeysMask; bits != 0; bits &= bits - 1) {
+      int agentBit = agentMaskBits[Integer.numberOfTrailingZeros(bits)];
+      if (agentBit == 0) {
+        return 0;
+      }
+      agentSpanKeysMask |= agentBit;
+    }
+    return agentSpanKeysMask;
+  }
+
   private SpanKeyBridging() {}
 }
@@ -5,6 +5,7 @@
 
 package io.opentelemetry.javaagent.instrumentation.instrumentationapi;
 
+import static net.bytebuddy.matcher.ElementMatchers.isStatic;
 import static net.bytebuddy.matcher.ElementMatchers.named;
 import static net.bytebuddy.matcher.ElementMatchers.takesArgument;
 
@@ -37,6 +38,19 @@ final class SpanKeyInstrumentation implements TypeInstrumentation {
         named("fromContextOrNull")
             .and(takesArgument(0, named("application.io.opentelemetry.context.Context"))),
         this.getClass().getName() + "$FromContextOrNullAdvice");
+    transformer.applyAdviceToMethod(
+        named("storeInContext")
+            .and(isStatic())
+            .and(takesArgument(0, named("application.io.opentelemetry.context.Context")))
+            .and(takesArgument(1, int.class))
+            .and(takesArgument(2, named("application.io.opentelemetry.api.trace.Span"))),
+        this.getClass().getName() + "$StoreInContextWithMaskAdvice");
+    transformer.applyAdviceToMethod(
+        named("allStoredInContext")
+            .and(isStatic())
+            .and(takesArgument(0, named("application.io.opentelemetry.context.Context")))
+            .and(takesArgument(1, int.class)),
+        this.getClass().getName() + "$AllStoredInContextAdvice");
   }
 
   @SuppressWarnings("unused")
@@ -101,4 +115,70 @@ final class SpanKeyInstrumentation implements TypeInstrumentation {
       applicationSpan = agentSpan == null ? null : Bridging.toApplication(agentSpan);
     }
   }
+
+  @SuppressWarnings("unused")
+  public static class StoreInContextWithMaskAdvice {
+    @Advice.OnMethodEnter(skipOn = Advice.OnDefaultValue.class)
+    public static Object onEnter() {
+      return null;
+    }
+
+    @Advice.OnMethodExit(suppress = Throwable.class)
+    public static void onExit(
+        @Advice.Argument(0) Context applicationContext,
+        @Advice.Argument(1) int applicationSpanKeysMask,
+        @Advice.Argument(2) Span applicationSpan,
+        @Advice.Return(readOnly = false) Context newApplicationContext) {
+
+      // the original method is skipped, return the unchanged context if the span can't be bridged
+      newApplicationContext = applicationContext;
+
+      int agentSpanKeysMask = SpanKeyBridging.toAgentMask(applicationSpanKeysMask);
+      if (agentSpanKeysMask == 0) {
+        return;
+      }
+
+      io.opentelemetry.context.Context agentContext =
+          AgentContextStorage.getAgentContext(applicationContext);
+
+      io.opentelemetry.api.trace.Span agentSpan = Bridging.toAgentOrNull(applicationSpan);
+      if (agentSpan == null) {
+        return;
+      }
+
+      io.opentelemetry.context.Context newAgentContext =
+          io.opentelemetry.instrumentation.api.internal.SpanKey.storeInContext(
+              agentContext, agentSpanKeysMask, agentSpan);
+
+      newApplicationContext = AgentContextStorage.toApplicationContext(newAgentContext);
+    }
+  }
+
+  @SuppressWarnings("unused")
+  public static class AllStoredInContextAdvice {
+    @Advice.OnMethodEnter(skipOn = Advice.OnDefaultValue.class)
+    public static Object onEnter() {
+      return null;
+    }
+
+    @Advice.OnMethodExit(suppress = Throwable.class)
+    public static void onExit(
+        @Advice.Argument(0) Context applicationContext,
+        @Advice.Argument(1) int applicationSpanKeysMask,
+        @Advice.Return(readOnly = false) boolean allStored) {
+
+      int agentSpanKeysMask = SpanKeyBridging.toAgentMask(applicationSpanKeysMask);
+      if (agentSpanKeysMask == 0) {
+        allStored = false;
+        return;
+      }
+
+      io.opentelemetry.context.Context agentContext =
+          AgentContextStorage.getAgentContext(applicationContext);
+
+      allStored =
+          io.opentelemetry.instrumentation.api.internal.SpanKey.allStoredInContext(
+              agentContext, agentSpanKeysMask);
+    }
+  }
 }
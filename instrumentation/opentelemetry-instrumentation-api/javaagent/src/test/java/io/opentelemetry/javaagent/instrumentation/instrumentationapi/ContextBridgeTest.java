@@ -6,21 +6,30 @@
 package io.opentelemetry.javaagent.instrumentation.instrumentationapi;
 
 import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.equalTo;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
+import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import io.opentelemetry.instrumentation.api.instrumenter.LocalRootSpan;
+import io.opentelemetry.instrumentation.api.instrumenter.SpanKindExtractor;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpRouteHolder;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpRouteSource;
 import io.opentelemetry.instrumentation.api.internal.SpanKey;
+import io.opentelemetry.instrumentation.api.internal.SpanKeyProvider;
 import io.opentelemetry.instrumentation.testing.junit.AgentInstrumentationExtension;
 import io.opentelemetry.instrumentation.testing.junit.InstrumentationExtension;
 import io.opentelemetry.javaagent.instrumentation.testing.AgentSpanTesting;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
 import java.util.Arrays;
 import java.util.List;
+import javax.annotation.Nullable;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
@@ -75,6 +84,35 @@ class ContextBridgeTest {
         });
   }
 
+  @Test
+  void testLibraryServerSpanSuppressedByAgentServerSpan() {
+    Instrumenter<String, Void> libraryInstrumenter = libraryHttpServerInstrumenter();
+
+    AgentSpanTesting.runWithHttpServerSpan(
+        "server", () -> assertFalse(libraryInstrumenter.shouldStart(Context.current(), "library")));
+
+    testing.waitAndAssertTraces(
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span -> span.hasName("/test/server/*").hasKind(SpanKind.SERVER).hasNoParent()));
+  }
+
+  @Test
+  void testAgentServerSpanSuppressedByLibraryServerSpan() {
+    Instrumenter<String, Void> libraryInstrumenter = libraryHttpServerInstrumenter();
+
+    Context context = libraryInstrumenter.start(Context.current(), "library");
+    try (Scope ignored = context.makeCurrent()) {
+      AgentSpanTesting.runWithHttpServerSpan("server", () -> {});
+    }
+    libraryInstrumenter.end(context, "library", null, null);
+
+    testing.waitAndAssertTraces(
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span -> span.hasName("library").hasKind(SpanKind.SERVER).hasNoParent()));
+  }
+
   @Test
   void testHttpRouteHolder_SameSourceAsServerInstrumentationDoesNotOverrideRoute() {
     AgentSpanTesting.runWithHttpServerSpan(
@@ -112,4 +150,31 @@ class ContextBridgeTest {
                         .hasAttributesSatisfyingExactly(
                             equalTo(SemanticAttributes.HTTP_ROUTE, "/test/controller/:id"))));
   }
+
+  private static Instrumenter<String, Void> libraryHttpServerInstrumenter() {
+    return Instrumenter.<String, Void>builder(
+            GlobalOpenTelemetry.get(), "library-test", request -> request)
+        .addAttributesExtractor(new HttpServerSpanKeyExtractor())
+        .buildInstrumenter(SpanKindExtractor.alwaysServer());
+  }
+
+  private static final class HttpServerSpanKeyExtractor
+      implements AttributesExtractor<String, Void>, SpanKeyProvider {
+
+    @Override
+    public void onStart(AttributesBuilder attributes, Context parentContext, String request) {}
+
+    @Override
+    public void onEnd(
+        AttributesBuilder attributes,
+        Context context,
+        String request,
+        @Nullable Void unused,
+        @Nullable Throwable error) {}
+
+    @Override
+    public SpanKey internalGetSpanKey() {
+      return SpanKey.HTTP_SERVER;
+    }
+  }
 }
@@ -19,7 +19,10 @@ import java.net.URLStreamHandler;
 import java.security.CodeSource;
 import java.security.Permission;
 import java.security.cert.Certificate;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
@@ -64,6 +67,9 @@ public class AgentClassLoader extends URLClassLoader {
   private final String jarEntryPrefix;
   private final CodeSource codeSource;
   private final Manifest manifest;
+  // resource name -> entry for the running java version, only for the resources that have a
+  // versioned entry in the multi release jar
+  private final Map<String, JarEntry> versionedJarEntries;
 
   /**
    * Construct a new AgentClassLoader.
@@ -94,6 +100,8 @@ public class AgentClassLoader extends URLClassLoader {
           new URL("x-internal-jar", null, 0, "/", new AgentClassLoaderUrlStreamHandler(jarFile));
       codeSource = new CodeSource(javaagentFile.toURI().toURL(), (Certificate[]) null);
       manifest = jarFile.getManifest();
+      versionedJarEntries =
+          MULTI_RELEASE_JAR_ENABLE ? indexVersionedJarEntries() : Collections.emptyMap();
     } catch (IOException e) {
       throw new IllegalStateException("Unable to open agent jar", e);
     }
@@ -219,11 +227,11 @@ public class AgentClassLoader extends URLClassLoader {
       name += getClassSuffix();
     }
 
-    JarEntry jarEntry = jarFile.getJarEntry(jarEntryPrefix + name);
-    if (MULTI_RELEASE_JAR_ENABLE) {
-      jarEntry = findVersionedJarEntry(jarEntry, name);
+    JarEntry versionedJarEntry = versionedJarEntries.get(name);
+    if (versionedJarEntry != null) {
+      return versionedJarEntry;
     }
-    return jarEntry;
+    return jarFile.getJarEntry(jarEntryPrefix + name);
   }
 
   // suffix appended to class resource names
@@ -232,22 +240,45 @@ public class AgentClassLoader extends URLClassLoader {
     return "data";
   }
 
-  private JarEntry findVersionedJarEntry(JarEntry jarEntry, String name) {
-    // same logic as in JarFile.getVersionedEntry
-    if (!name.startsWith(META_INF)) {
-      // search for versioned entry by looping over possible versions form high to low
-      int version = JAVA_VERSION;
-      while (version >= MIN_MULTI_RELEASE_JAR_JAVA_VERSION) {
-        JarEntry versionedJarEntry =
-            jarFile.getJarEntry(jarEntryPrefix + META_INF_VERSIONS + version + "/" + name);
-        if (versionedJarEntry != null) {
-          return versionedJarEntry;
-        }
-        version--;
+  /**
+   * Resolves the versioned entries of the multi release jar for the running java version once, with
+   * the same logic as in JarFile.getVersionedEntry, so that looking up an entry doesn't have to
+   * probe for a versioned entry of every java version from the current one down to 9.
+   */
+  private Map<String, JarEntry> indexVersionedJarEntries() {
+    String versionsPrefix = jarEntryPrefix + META_INF_VERSIONS;
+    Map<String, JarEntry> versionedEntries = new HashMap<>();
+    Map<String, Integer> entryVersions = new HashMap<>();
+    Enumeration<JarEntry> entries = jarFile.entries();
+    while (entries.hasMoreElements()) {
+      JarEntry entry = entries.nextElement();
+      String entryName = entry.getName();
+      if (!entryName.startsWith(versionsPrefix) || entry.isDirectory()) {
+        continue;
+      }
+      int versionEnd = entryName.indexOf('/', versionsPrefix.length());
+      if (versionEnd == -1) {
+        continue;
+      }
+      int version;
+      try {
+        version = Integer.parseInt(entryName.substring(versionsPrefix.length(), versionEnd));
+      } catch (NumberFormatException e) {
+        continue;
+      }
+      String name = entryName.substring(versionEnd + 1);
+      if (version < MIN_MULTI_RELEASE_JAR_JAVA_VERSION
+          || version > JAVA_VERSION
+          || name.startsWith(META_INF)) {
+        continue;
+      }
+      Integer currentVersion = entryVersions.get(name);
+      if (currentVersion == null || currentVersion < version) {
+        entryVersions.put(name, version);
+        versionedEntries.put(name, entry);
       }
     }
-
-    return jarEntry;
+    return versionedEntries;
   }
 
   @Override
@@ -0,0 +1,110 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.bootstrap;
+
+import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
+import io.opentelemetry.instrumentation.api.internal.cache.weaklockfree.WeakConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.Nullable;
+
+/**
+ * Stores virtual field values of objects whose class could not get a real field injected, e.g.
+ * because it was loaded before the agent was installed. Executors can pass hundreds of thousands of
+ * such tasks per second through a single virtual field, so the map is split into stripes by the
+ * identity hash code of the keys, each with its own reference queue. Stale entries are expunged
+ * when writing to a stripe, by one thread at a time and all at once, instead of on every access.
+ *
+ * <p>The accesses and the size of each map are reported in {@link SupportabilityMetrics}, under the
+ * name of the map, to show which virtual fields end up on this slow path. They are not reported per
+ * class of the keys, which can be lambda or proxy classes without bound.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class VirtualFieldFallbackMap {
+
+  private static final int MAX_STRIPES = 64;
+
+  private final Stripe[] stripes;
+  private final SupportabilityMetrics.Counter accessCounter;
+
+  /**
+   * Returns a new map whose accesses and size are reported under the given {@code name}, usually
+   * the name of the virtual field implementation class.
+   */
+  public static VirtualFieldFallbackMap create(String name) {
+    SupportabilityMetrics metrics = SupportabilityMetrics.instance();
+    int stripeCount = Math.min(MAX_STRIPES, Runtime.getRuntime().availableProcessors());
+    VirtualFieldFallbackMap map =
+        new VirtualFieldFallbackMap(
+            stripeCount, metrics.counter("VirtualField fallback accesses: " + name));
+    metrics.registerSize("VirtualField fallback size: " + name, map::size);
+    return map;
+  }
+
+  // visible for testing
+  VirtualFieldFallbackMap(int stripeCount, SupportabilityMetrics.Counter accessCounter) {
+    this.accessCounter = accessCounter;
+    // round up to a power of two
+    int length = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+    stripes = new Stripe[length];
+    for (int i = 0; i < length; i++) {
+      stripes[i] = new Stripe();
+    }
+  }
+
+  @Nullable
+  public Object get(Object key) {
+    accessCounter.increment();
+    return stripe(key).getIfPresent(key);
+  }
+
+  public void put(Object key, @Nullable Object value) {
+    accessCounter.increment();
+    Stripe stripe = stripe(key);
+    if (value == null) {
+      stripe.remove(key);
+    } else {
+      stripe.put(key, value);
+    }
+    stripe.tryExpungeStaleEntries();
+  }
+
+  /** Returns the approximate number of entries, after expunging the stale ones. */
+  public int size() {
+    int size = 0;
+    for (Stripe stripe : stripes) {
+      stripe.tryExpungeStaleEntries();
+      size += stripe.approximateSize();
+    }
+    return size;
+  }
+
+  private Stripe stripe(Object key) {
+    int hash = System.identityHashCode(key);
+    return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+  }
+
+  private static final class Stripe extends WeakConcurrentMap<Object, Object> {
+
+    private final AtomicBoolean expunging = new AtomicBoolean();
+
+    Stripe() {
+      super(/* cleanerThread= */ false);
+    }
+
+    void tryExpungeStaleEntries() {
+      // other threads skip expunging instead of contending on the reference queue
+      if (expunging.compareAndSet(false, true)) {
+        try {
+          expungeStaleEntries();
+        } finally {
+          expunging.set(false);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.bootstrap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class VirtualFieldFallbackMapTest {
+
+  @SuppressWarnings("StringOperationCanBeSimplified")
+  @Test
+  void storesValuesByIdentity() {
+    VirtualFieldFallbackMap map = newMap(4);
+    String key = new String("key");
+
+    assertThat(map.get(key)).isNull();
+    map.put(key, "value");
+    assertThat(map.get(key)).isEqualTo("value");
+    assertThat(map.get(new String("key"))).isNull();
+    assertThat(map.size()).isEqualTo(1);
+
+    map.put(key, null);
+    assertThat(map.get(key)).isNull();
+    assertThat(map.size()).isEqualTo(0);
+  }
+
+  @Test
+  void expungesCollectedKeys() {
+    VirtualFieldFallbackMap map = newMap(3);
+    List<Object> keys = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      Object key = new Object();
+      keys.add(key);
+      map.put(key, i);
+    }
+    assertThat(map.size()).isEqualTo(100);
+    for (int i = 0; i < 100; i++) {
+      assertThat(map.get(keys.get(i))).isEqualTo(i);
+    }
+
+    keys.subList(0, 60).clear();
+    System.gc();
+    // Wait for GC to be reflected.
+    await().untilAsserted(() -> assertThat(map.size()).isEqualTo(40));
+    assertThat(keys).hasSize(40);
+  }
+
+  private static VirtualFieldFallbackMap newMap(int stripeCount) {
+    return new VirtualFieldFallbackMap(
+        stripeCount, SupportabilityMetrics.instance().counter("VirtualFieldFallbackMapTest"));
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.extension.matcher;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Matches the class loader of a newly deployed application against the {@code hasClassesNamed()}
+ * matchers of all instrumentation modules. The application class loader has a few jars of its own
+ * and a parent class loader (e.g. an application server) with many jars.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 10, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+public class ClassLoaderHasClassesNamedBenchmark {
+
+  private static final int SERVER_JARS = 100;
+  private static final int APPLICATION_JARS = 10;
+  private static final int CLASSES_PER_JAR = 200;
+  private static final int MATCHERS = 150;
+
+  private Path tempDir;
+  private URLClassLoader serverClassLoader;
+  private URL[] applicationJars;
+  private String[][] matcherResources;
+  private List<ElementMatcher<ClassLoader>> matchers;
+
+  @Setup
+  public void setUp() throws IOException {
+    tempDir = Files.createTempDirectory("class-loader-matcher-benchmark");
+    URL[] serverJars = new URL[SERVER_JARS];
+    for (int i = 0; i < serverJars.length; i++) {
+      serverJars[i] = createJar("server" + i);
+    }
+    applicationJars = new URL[APPLICATION_JARS];
+    for (int i = 0; i < applicationJars.length; i++) {
+      applicationJars[i] = createJar("application" + i);
+    }
+    serverClassLoader = new URLClassLoader(serverJars, null);
+
+    // most instrumented libraries are not present, a few are in the server or in the application
+    matcherResources = new String[MATCHERS][];
+    matchers = new ArrayList<>();
+    for (int i = 0; i < MATCHERS; i++) {
+      String className;
+      if (i % 50 == 0) {
+        className = "com.example.server" + (i % SERVER_JARS) + ".Class0";
+      } else if (i % 50 == 1) {
+        className = "com.example.application" + (i % APPLICATION_JARS) + ".Class0";
+      } else {
+        className = "com.example.library" + i + ".Client";
+      }
+      matcherResources[i] = new String[] {className.replace('.', '/') + ".class"};
+      matchers.add(AgentElementMatchers.hasClassesNamed(className));
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    serverClassLoader.close();
+    try (Stream<Path> files = Files.walk(tempDir)) {
+      files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+    }
+  }
+
+  @Benchmark
+  public void getResourcePerMatcher(Blackhole blackhole) throws IOException {
+    try (URLClassLoader applicationClassLoader =
+        new URLClassLoader(applicationJars, serverClassLoader)) {
+      for (String[] resources : matcherResources) {
+        boolean matches = true;
+        for (String resource : resources) {
+          if (applicationClassLoader.getResource(resource) == null) {
+            matches = false;
+            break;
+          }
+        }
+        blackhole.consume(matches);
+      }
+    }
+  }
+
+  @Benchmark
+  public void sharedProbe(Blackhole blackhole) throws IOException {
+    try (URLClassLoader applicationClassLoader =
+        new URLClassLoader(applicationJars, serverClassLoader)) {
+      for (ElementMatcher<ClassLoader> matcher : matchers) {
+        blackhole.consume(matcher.matches(applicationClassLoader));
+      }
+    }
+  }
+
+  private URL createJar(String name) throws IOException {
+    Path jar = tempDir.resolve(name + ".jar");
+    try (OutputStream out = Files.newOutputStream(jar);
+        JarOutputStream jarOut = new JarOutputStream(out)) {
+      for (int i = 0; i < CLASSES_PER_JAR; i++) {
+        jarOut.putNextEntry(new JarEntry("com/example/" + name + "/Class" + i + ".class"));
+        jarOut.closeEntry();
+      }
+    }
+    return jar.toUri().toURL();
+  }
+}
@@ -21,6 +21,7 @@ class ClassLoaderHasClassesNamedMatcher extends ElementMatcher.Junction.Abstract
     for (int i = 0; i < resources.length; i++) {
       resources[i] = resources[i].replace(".", "/") + ".class";
     }
+    ClassLoaderResourceProbe.register(resources);
     ClassLoaderMatcherCacheHolder.addCache(cache);
   }
 
@@ -36,14 +37,9 @@ class ClassLoaderHasClassesNamedMatcher extends ElementMatcher.Junction.Abstract
   private boolean hasResources(ClassLoader cl) {
     boolean priorValue = InClassLoaderMatcher.getAndSet(true);
     try {
-      for (String resource : resources) {
-        if (cl.getResource(resource) == null) {
-          return false;
-        }
-      }
+      return ClassLoaderResourceProbe.hasResources(cl, resources);
     } finally {
       InClassLoaderMatcher.set(priorValue);
     }
-    return true;
   }
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.extension.matcher;
+
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import io.opentelemetry.javaagent.bootstrap.internal.ClassLoaderMatcherCacheHolder;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
+
+/**
+ * Looks up the class files requested by all the {@link ClassLoaderHasClassesNamedMatcher}s in a
+ * class loader. All the class files requested by any matcher are looked up together the first time
+ * a class loader is matched, and the results are shared by all the matchers.
+ *
+ * <p>For {@link URLClassLoader}s that use the standard parent-first delegation, only the class
+ * loader's own jars are searched, the class files found in the parent class loaders are answered
+ * from the parents' probes. This way the jars of a parent class loader (e.g. an application server
+ * with many jars) are searched only once, and not once for every child class loader.
+ */
+final class ClassLoaderResourceProbe {
+
+  // class files requested by any matcher
+  private static final Set<String> allResources = ConcurrentHashMap.newKeySet();
+
+  private static final Cache<ClassLoader, ClassLoaderResourceProbe> probes = Cache.weak();
+
+  // delegates only to the bootstrap class loader
+  private static final ClassLoader bootstrapResources = new URLClassLoader(new URL[0], null);
+  private static final ClassLoaderResourceProbe bootstrapProbe =
+      new ClassLoaderResourceProbe(false);
+
+  static {
+    // e.g. URLClassLoader.addURL() invalidates the probe
+    ClassLoaderMatcherCacheHolder.addCache(probes);
+  }
+
+  // true when only the class loader's own resources are probed here, and the parent's resources
+  // are probed by the parent's probe
+  private final boolean parentFirst;
+  private final ConcurrentMap<String, Boolean> found = new ConcurrentHashMap<>();
+
+  private ClassLoaderResourceProbe(boolean parentFirst) {
+    this.parentFirst = parentFirst;
+  }
+
+  static void register(String[] resources) {
+    Collections.addAll(allResources, resources);
+  }
+
+  static boolean hasResources(ClassLoader classLoader, String[] resources) {
+    ClassLoaderResourceProbe probe = probeFor(classLoader);
+    for (String resource : resources) {
+      if (!probe.hasResource(classLoader, resource)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static ClassLoaderResourceProbe probeFor(@Nullable ClassLoader classLoader) {
+    if (classLoader == null) {
+      return bootstrapProbe;
+    }
+    ClassLoaderResourceProbe probe = probes.get(classLoader);
+    if (probe == null) {
+      probe = new ClassLoaderResourceProbe(isParentFirstUrlClassLoader(classLoader));
+      probe.probeAll(classLoader);
+      probes.put(classLoader, probe);
+    }
+    return probe;
+  }
+
+  private void probeAll(ClassLoader classLoader) {
+    for (String resource : allResources) {
+      hasResource(classLoader, resource);
+    }
+  }
+
+  private boolean hasResource(@Nullable ClassLoader classLoader, String resource) {
+    if (parentFirst) {
+      ClassLoader parent = classLoader.getParent();
+      if (probeFor(parent).hasResource(parent, resource)) {
+        return true;
+      }
+    }
+    // not using computeIfAbsent(), looking up a resource may load classes and call back here
+    Boolean result = found.get(resource);
+    if (result == null) {
+      result = findResource(classLoader, resource) != null;
+      found.put(resource, result);
+    }
+    return result;
+  }
+
+  @Nullable
+  private URL findResource(@Nullable ClassLoader classLoader, String resource) {
+    if (classLoader == null) {
+      return bootstrapResources.getResource(resource);
+    }
+    if (parentFirst) {
+      return ((URLClassLoader) classLoader).findResource(resource);
+    }
+    return classLoader.getResource(resource);
+  }
+
+  private static boolean isParentFirstUrlClassLoader(ClassLoader classLoader) {
+    if (!(classLoader instanceof URLClassLoader)) {
+      return false;
+    }
+    try {
+      Class<?> type = classLoader.getClass();
+      return type.getMethod("getResource", String.class).getDeclaringClass() == ClassLoader.class
+          && type.getMethod("findResource", String.class).getDeclaringClass()
+              == URLClassLoader.class;
+    } catch (NoSuchMethodException | SecurityException e) {
+      return false;
+    }
+  }
+}
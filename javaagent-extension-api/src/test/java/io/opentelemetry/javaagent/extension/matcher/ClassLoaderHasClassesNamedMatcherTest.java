@@ -0,0 +1,105 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.extension.matcher;
+
+import static io.opentelemetry.javaagent.extension.matcher.AgentElementMatchers.hasClassesNamed;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.javaagent.bootstrap.internal.ClassLoaderMatcherCacheHolder;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ClassLoaderHasClassesNamedMatcherTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  void matchesClassesOfClassLoaderAndItsParents() throws IOException {
+    ElementMatcher<ClassLoader> parentClass = hasClassesNamed("com.example.parent.Parent");
+    ElementMatcher<ClassLoader> bothClasses =
+        hasClassesNamed("com.example.parent.Parent", "com.example.child.Child");
+    ElementMatcher<ClassLoader> bootstrapClass = hasClassesNamed("java.lang.String");
+    ElementMatcher<ClassLoader> missingClass = hasClassesNamed("com.example.Missing");
+
+    try (URLClassLoader parent =
+            new URLClassLoader(
+                new URL[] {createJar("parent.jar", "com/example/parent/Parent.class")}, null);
+        URLClassLoader child =
+            new URLClassLoader(
+                new URL[] {createJar("child.jar", "com/example/child/Child.class")}, parent)) {
+
+      assertThat(parentClass.matches(child)).isTrue();
+      assertThat(bothClasses.matches(child)).isTrue();
+      assertThat(bootstrapClass.matches(child)).isTrue();
+      assertThat(missingClass.matches(child)).isFalse();
+
+      assertThat(parentClass.matches(parent)).isTrue();
+      assertThat(bothClasses.matches(parent)).isFalse();
+    }
+  }
+
+  @Test
+  void matchesClassesOfNonStandardClassLoader() throws IOException {
+    ElementMatcher<ClassLoader> matcher = hasClassesNamed("com.example.other.Other");
+
+    URL jar = createJar("other.jar", "com/example/other/Other.class");
+    ClassLoader classLoader =
+        new ClassLoader(null) {
+          @Override
+          protected URL findResource(String name) {
+            return name.equals("com/example/other/Other.class") ? jar : null;
+          }
+        };
+
+    assertThat(matcher.matches(classLoader)).isTrue();
+  }
+
+  @Test
+  void matchesClassesAddedToClassLoader() throws IOException {
+    ElementMatcher<ClassLoader> matcher = hasClassesNamed("com.example.added.Added");
+
+    try (AddUrlClassLoader classLoader = new AddUrlClassLoader()) {
+      assertThat(matcher.matches(classLoader)).isFalse();
+
+      classLoader.addUrl(createJar("added.jar", "com/example/added/Added.class"));
+      assertThat(matcher.matches(classLoader)).isTrue();
+    }
+  }
+
+  private URL createJar(String name, String... entries) throws IOException {
+    Path jar = tempDir.resolve(name);
+    try (OutputStream out = Files.newOutputStream(jar);
+        JarOutputStream jarOut = new JarOutputStream(out)) {
+      for (String entry : entries) {
+        jarOut.putNextEntry(new JarEntry(entry));
+        jarOut.closeEntry();
+      }
+    }
+    return jar.toUri().toURL();
+  }
+
+  private static class AddUrlClassLoader extends URLClassLoader {
+
+    AddUrlClassLoader() {
+      super(new URL[0], null);
+    }
+
+    void addUrl(URL url) {
+      addURL(url);
+      // done by the URLClassLoader instrumentation
+      ClassLoaderMatcherCacheHolder.invalidateAllCachesForClassLoader(this);
+    }
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import net.bytebuddy.matcher.AccessibilityMatcher;
+import net.bytebuddy.matcher.BooleanMatcher;
+import net.bytebuddy.matcher.CollectionErasureMatcher;
+import net.bytebuddy.matcher.CollectionItemMatcher;
+import net.bytebuddy.matcher.CollectionOneToOneMatcher;
+import net.bytebuddy.matcher.CollectionSizeMatcher;
+import net.bytebuddy.matcher.DeclaringAnnotationMatcher;
+import net.bytebuddy.matcher.DeclaringFieldMatcher;
+import net.bytebuddy.matcher.DeclaringMethodMatcher;
+import net.bytebuddy.matcher.DeclaringTypeMatcher;
+import net.bytebuddy.matcher.DefinedShapeMatcher;
+import net.bytebuddy.matcher.EqualityMatcher;
+import net.bytebuddy.matcher.ErasureMatcher;
+import net.bytebuddy.matcher.HasSuperTypeMatcher;
+import net.bytebuddy.matcher.IsNamedMatcher;
+import net.bytebuddy.matcher.MethodExceptionTypeMatcher;
+import net.bytebuddy.matcher.MethodParameterTypeMatcher;
+import net.bytebuddy.matcher.MethodParametersMatcher;
+import net.bytebuddy.matcher.MethodReturnTypeMatcher;
+import net.bytebuddy.matcher.ModifierMatcher;
+import net.bytebuddy.matcher.NameMatcher;
+import net.bytebuddy.matcher.NegatingMatcher;
+import net.bytebuddy.matcher.NullMatcher;
+import net.bytebuddy.matcher.SignatureTokenMatcher;
+import net.bytebuddy.matcher.StringMatcher;
+import net.bytebuddy.matcher.SuperTypeMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Applies the helper injectors of many instrumentation modules to a newly created class loader, as
+ * happens when a web application that matches many instrumentations is deployed. The modules share
+ * some of their helper classes.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 10, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+public class HelperInjectorBenchmark {
+
+  private static final int MODULES = 30;
+
+  private static final List<String> sharedHelpers =
+      names(
+          AccessibilityMatcher.class,
+          BooleanMatcher.class,
+          EqualityMatcher.class,
+          NameMatcher.class,
+          StringMatcher.class);
+  private static final List<String> otherHelpers =
+      names(
+          CollectionErasureMatcher.class,
+          CollectionItemMatcher.class,
+          CollectionOneToOneMatcher.class,
+          CollectionSizeMatcher.class,
+          DeclaringAnnotationMatcher.class,
+          DeclaringFieldMatcher.class,
+          DeclaringMethodMatcher.class,
+          DeclaringTypeMatcher.class,
+          DefinedShapeMatcher.class,
+          ErasureMatcher.class,
+          HasSuperTypeMatcher.class,
+          IsNamedMatcher.class,
+          MethodExceptionTypeMatcher.class,
+          MethodParameterTypeMatcher.class,
+          MethodParametersMatcher.class,
+          MethodReturnTypeMatcher.class,
+          ModifierMatcher.class,
+          NegatingMatcher.class,
+          NullMatcher.class,
+          SignatureTokenMatcher.class,
+          SuperTypeMatcher.class);
+
+  private final List<HelperInjector> helperInjectors = new ArrayList<>();
+
+  @Setup
+  public void setUp() {
+    ClassLoader helpersSource = HelperInjectorBenchmark.class.getClassLoader();
+    for (int i = 0; i < MODULES; i++) {
+      List<String> helperClassNames = new ArrayList<>(sharedHelpers);
+      for (int j = 0; j < 3; j++) {
+        helperClassNames.add(otherHelpers.get((i * 3 + j) % otherHelpers.size()));
+      }
+      helperInjectors.add(
+          new HelperInjector(
+              "module" + i, helperClassNames, Collections.emptyList(), helpersSource, null));
+    }
+  }
+
+  @Benchmark
+  public ClassLoader injectHelpers() throws IOException {
+    try (URLClassLoader classLoader = new URLClassLoader(new URL[0], null)) {
+      for (HelperInjector helperInjector : helperInjectors) {
+        helperInjector.transform(null, null, classLoader, null, null);
+      }
+      return classLoader;
+    }
+  }
+
+  private static List<String> names(Class<?>... classes) {
+    return Stream.of(classes).map(Class::getName).collect(Collectors.toList());
+  }
+}
@@ -7,6 +7,7 @@ package io.opentelemetry.javaagent.tooling.ignore;
 
 import io.opentelemetry.javaagent.tooling.EmptyConfigProperties;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
 import org.openjdk.jmh.annotations.Benchmark;
@@ -14,8 +15,10 @@ import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
 import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
 
 @Fork(1)
 @Warmup(iterations = 3, time = 1)
@@ -29,10 +32,56 @@ public class IgnoredTypesMatcherBenchmark {
   private static final TypeDescription testAppType =
       new TypeDescription.Latent("com.example.myapp.Main", 0, null);
 
+  // a sample of the classes loaded while a Spring Boot application with Tomcat, Hibernate and
+  // Jackson starts, in the proportions in which they are loaded
+  private static final TypeDescription[] startupTypes =
+      Stream.of(
+              "java.lang.invoke.LambdaForm$MH/0x0000000800c0c400",
+              "java.util.concurrent.ConcurrentHashMap$KeySetView",
+              "java.util.stream.ReferencePipeline$3$1",
+              "jdk.internal.reflect.GeneratedMethodAccessor12",
+              "sun.reflect.annotation.AnnotationInvocationHandler",
+              "com.sun.proxy.$Proxy42",
+              "org.springframework.boot.SpringApplication",
+              "org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration",
+              "org.springframework.context.annotation.ConfigurationClassPostProcessor",
+              "org.springframework.core.annotation.MergedAnnotationsCollection",
+              "org.springframework.beans.factory.support.DefaultListableBeanFactory",
+              "org.springframework.web.servlet.DispatcherServlet",
+              "org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter",
+              "org.springframework.web.client.RestTemplate",
+              "org.springframework.data.jpa.repository.support.SimpleJpaRepository",
+              "org.springframework.cglib.proxy.Enhancer",
+              "com.example.myapp.OwnerController$$EnhancerBySpringCGLIB$$1a2b3c4d",
+              "org.apache.catalina.core.StandardContext",
+              "org.apache.catalina.core.ApplicationFilterChain",
+              "org.apache.coyote.http11.Http11Processor",
+              "org.apache.tomcat.util.net.NioEndpoint$SocketProcessor",
+              "org.apache.tomcat.util.threads.ThreadPoolExecutor",
+              "org.hibernate.internal.SessionImpl",
+              "org.hibernate.engine.jdbc.internal.StatementPreparerImpl",
+              "org.hibernate.loader.plan.exec.process.internal.ResultSetProcessorImpl",
+              "com.zaxxer.hikari.pool.HikariProxyPreparedStatement",
+              "com.fasterxml.jackson.databind.ObjectMapper",
+              "com.fasterxml.jackson.databind.ser.BeanSerializer",
+              "com.fasterxml.jackson.core.json.UTF8JsonGenerator",
+              "ch.qos.logback.classic.Logger",
+              "org.slf4j.LoggerFactory",
+              "kotlin.collections.CollectionsKt",
+              "scala.runtime.AbstractFunction1",
+              "com.example.myapp.Main",
+              "com.example.myapp.owner.OwnerController",
+              "com.example.myapp.owner.OwnerRepository",
+              "com.example.myapp.owner.Owner$HibernateProxy$4fT2kQ9z",
+              "com.example.myapp.vet.VetController$$Lambda$1234/0x0000000800d4e840")
+          .map(name -> new TypeDescription.Latent(name, 0, null))
+          .toArray(TypeDescription[]::new);
+
   private static final ElementMatcher<TypeDescription> ignoredTypesMatcher;
 
   static {
     IgnoredTypesBuilderImpl builder = new IgnoredTypesBuilderImpl();
+    new GlobalIgnoredTypesConfigurer().configure(builder, EmptyConfigProperties.INSTANCE);
     new AdditionalLibraryIgnoredTypesConfigurer()
         .configure(builder, EmptyConfigProperties.INSTANCE);
     ignoredTypesMatcher = new IgnoredTypesMatcher(builder.buildIgnoredTypesTrie());
@@ -47,4 +96,12 @@ public class IgnoredTypesMatcherBenchmark {
   public boolean appType() {
     return ignoredTypesMatcher.matches(testAppType);
   }
+
+  @Benchmark
+  @OperationsPerInvocation(38)
+  public void startupTypes(Blackhole blackhole) {
+    for (TypeDescription type : startupTypes) {
+      blackhole.consume(ignoredTypesMatcher.matches(type));
+    }
+  }
 }
@@ -0,0 +1,99 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.ignore;
+
+import io.opentelemetry.javaagent.tooling.EmptyConfigProperties;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares skipping a type remembered by the {@link PersistentIgnoredTypesCache} with the global
+ * ignored types matcher, which is the cheapest part of matching a type without the cache: a type
+ * that is not ignored by it is then matched by the type matchers of all instrumentations.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 10, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+public class PersistentIgnoredTypesCacheBenchmark {
+
+  private static final TypeDescription appType =
+      new TypeDescription.Latent("com.example.myapp.owner.OwnerController", 0, null);
+
+  private static final ElementMatcher<TypeDescription> ignoredTypesMatcher;
+
+  static {
+    IgnoredTypesBuilderImpl builder = new IgnoredTypesBuilderImpl();
+    new GlobalIgnoredTypesConfigurer().configure(builder, EmptyConfigProperties.INSTANCE);
+    new AdditionalLibraryIgnoredTypesConfigurer()
+        .configure(builder, EmptyConfigProperties.INSTANCE);
+    ignoredTypesMatcher = new IgnoredTypesMatcher(builder.buildIgnoredTypesTrie());
+  }
+
+  private Path tempDir;
+  private URLClassLoader classLoader;
+  private PersistentIgnoredTypesCache cache;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    tempDir = Files.createTempDirectory("type-match-cache-benchmark");
+    Path jar = tempDir.resolve("app.jar");
+    try (OutputStream out = Files.newOutputStream(jar);
+        JarOutputStream jarOut = new JarOutputStream(out)) {
+      jarOut.putNextEntry(new JarEntry("com/example/myapp/owner/OwnerController.class"));
+      jarOut.closeEntry();
+    }
+    classLoader = new URLClassLoader(new URL[] {jar.toUri().toURL()}, null);
+
+    Path cacheFile = tempDir.resolve("types.bin");
+    PersistentIgnoredTypesCache previousRun =
+        PersistentIgnoredTypesCache.load(cacheFile, "fingerprint");
+    previousRun.listener().onIgnored(appType, classLoader, null, false);
+    previousRun.save();
+    cache = PersistentIgnoredTypesCache.load(cacheFile, "fingerprint");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    classLoader.close();
+    Files.deleteIfExists(tempDir.resolve("types.bin"));
+    Files.deleteIfExists(tempDir.resolve("app.jar"));
+    Files.deleteIfExists(tempDir);
+  }
+
+  @Benchmark
+  public boolean cacheHit() {
+    return cache.matches(appType, classLoader, null, null, null);
+  }
+
+  @Benchmark
+  public boolean ignoredTypesMatcher() {
+    return ignoredTypesMatcher.matches(appType);
+  }
+}
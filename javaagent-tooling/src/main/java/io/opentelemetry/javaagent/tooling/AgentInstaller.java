@@ -16,8 +16,10 @@ import static net.bytebuddy.matcher.ElementMatchers.any;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.ContextStorage;
 import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.api.db.internal.SqlStatementSanitizerMetrics;
 import io.opentelemetry.instrumentation.api.internal.ConfigPropertiesUtil;
 import io.opentelemetry.instrumentation.api.internal.EmbeddedInstrumentationProperties;
+import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
 import io.opentelemetry.javaagent.bootstrap.AgentClassLoader;
 import io.opentelemetry.javaagent.bootstrap.AgentInitializer;
 import io.opentelemetry.javaagent.bootstrap.BootstrapPackagePrefixesHolder;
@@ -36,12 +38,14 @@ import io.opentelemetry.javaagent.tooling.config.ConfigPropertiesBridge;
 import io.opentelemetry.javaagent.tooling.ignore.IgnoredClassLoadersMatcher;
 import io.opentelemetry.javaagent.tooling.ignore.IgnoredTypesBuilderImpl;
 import io.opentelemetry.javaagent.tooling.ignore.IgnoredTypesMatcher;
+import io.opentelemetry.javaagent.tooling.ignore.PersistentIgnoredTypesCache;
 import io.opentelemetry.javaagent.tooling.muzzle.AgentTooling;
 import io.opentelemetry.javaagent.tooling.util.Trie;
 import io.opentelemetry.sdk.autoconfigure.AutoConfiguredOpenTelemetrySdk;
 import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
 import java.lang.instrument.Instrumentation;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -78,6 +82,16 @@ public class AgentInstaller {
 
   private static final Map<String, List<Runnable>> CLASS_LOAD_CALLBACKS = new HashMap<>();
 
+  // instrumentation-api reads these from system properties, as it can't access the agent config
+  private static final List<String> CONFIG_PROPERTIES_READ_BY_INSTRUMENTATION_API =
+      Arrays.asList(
+          "otel.instrumentation.experimental.span-suppression-strategy",
+          "otel.instrumentation.experimental.instrumenter.reuse-buffers",
+          "otel.instrumentation.experimental.instrumenter.sampling-aware-extraction",
+          "otel.instrumentation.experimental.db-statement-sanitizer.cache-max-bytes",
+          "otel.instrumentation.executors.experimental.propagation-policy",
+          "otel.instrumentation.executors.experimental.propagate-per-fork-join-computation");
+
   public static void installBytebuddyAgent(Instrumentation inst) {
     addByteBuddyRawSetting();
 
@@ -114,6 +128,8 @@ public class AgentInstaller {
     ConfigProperties sdkConfig = autoConfiguredSdk.getConfig();
     InstrumentationConfig.internalInitializeConfig(new ConfigPropertiesBridge(sdkConfig));
     copyNecessaryConfigToSystemProperties(sdkConfig);
+    SqlStatementSanitizerMetrics.registerObservers(autoConfiguredSdk.getOpenTelemetrySdk());
+    SupportabilityMetrics.instance().registerObservers(autoConfiguredSdk.getOpenTelemetrySdk());
 
     setBootstrapPackages(sdkConfig);
 
@@ -182,9 +198,11 @@ public class AgentInstaller {
   }
 
   private static void copyNecessaryConfigToSystemProperties(ConfigProperties config) {
-    String value = config.getString("otel.instrumentation.experimental.span-suppression-strategy");
-    if (value != null) {
-      System.setProperty("otel.instrumentation.experimental.span-suppression-strategy", value);
+    for (String property : CONFIG_PROPERTIES_READ_BY_INSTRUMENTATION_API) {
+      String value = config.getString(property);
+      if (value != null) {
+        System.setProperty(property, value);
+      }
     }
   }
 
@@ -218,13 +236,20 @@ public class AgentInstaller {
     Trie<Boolean> ignoredTasksTrie = builder.buildIgnoredTasksTrie();
     InstrumentedTaskClasses.setIgnoredTaskClassesPredicate(ignoredTasksTrie::contains);
 
-    return agentBuilder
-        .ignore(any(), new IgnoredClassLoadersMatcher(builder.buildIgnoredClassLoadersTrie()))
-        .or(new IgnoredTypesMatcher(builder.buildIgnoredTypesTrie()))
-        .or(
-            (typeDescription, classLoader, module, classBeingRedefined, protectionDomain) -> {
-              return HelperInjector.isInjectedClass(classLoader, typeDescription.getName());
-            });
+    AgentBuilder.Ignored ignored =
+        agentBuilder
+            .ignore(any(), new IgnoredClassLoadersMatcher(builder.buildIgnoredClassLoadersTrie()))
+            .or(new IgnoredTypesMatcher(builder.buildIgnoredTypesTrie()))
+            .or(
+                (typeDescription, classLoader, module, classBeingRedefined, protectionDomain) -> {
+                  return HelperInjector.isInjectedClass(classLoader, typeDescription.getName());
+                });
+
+    PersistentIgnoredTypesCache ignoredTypesCache = PersistentIgnoredTypesCache.create(config);
+    if (ignoredTypesCache == null) {
+      return ignored;
+    }
+    return ignored.or(ignoredTypesCache).with(ignoredTypesCache.listener());
   }
 
   private static void runAfterAgentListeners(
@@ -9,8 +9,8 @@ import static io.opentelemetry.javaagent.tooling.field.GeneratedVirtualFieldName
 import static io.opentelemetry.javaagent.tooling.field.GeneratedVirtualFieldNames.getRealSetterName;
 import static io.opentelemetry.javaagent.tooling.field.GeneratedVirtualFieldNames.getVirtualFieldImplementationClassName;
 
-import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import io.opentelemetry.instrumentation.api.util.VirtualField;
+import io.opentelemetry.javaagent.bootstrap.VirtualFieldFallbackMap;
 import io.opentelemetry.javaagent.tooling.Utils;
 import io.opentelemetry.javaagent.tooling.muzzle.VirtualFieldMappings;
 import java.util.HashMap;
@@ -258,17 +258,20 @@ final class VirtualFieldImplementationsGenerator {
 
   /**
    * Template class used to generate the class that accesses stored context using either key
-   * instance's own injected field or global hash map if field is not available.
+   * instance's own injected field or global hash map if field is not available. Each generated
+   * class has its own {@link VirtualFieldFallbackMap}, whose size is reported under the name of the
+   * generated class.
    */
   // Called from generated code
   @SuppressWarnings({"UnusedMethod", "UnusedVariable", "MethodCanBeStatic"})
   static final class VirtualFieldImplementationTemplate extends VirtualField<Object, Object> {
     private static final VirtualFieldImplementationTemplate INSTANCE =
-        new VirtualFieldImplementationTemplate(Cache.weak());
+        new VirtualFieldImplementationTemplate(
+            VirtualFieldFallbackMap.create(VirtualFieldImplementationTemplate.class.getName()));
 
-    private final Cache<Object, Object> map;
+    private final VirtualFieldFallbackMap map;
 
-    private VirtualFieldImplementationTemplate(Cache<Object, Object> map) {
+    private VirtualFieldImplementationTemplate(VirtualFieldFallbackMap map) {
       this.map = map;
     }
 
@@ -296,11 +299,7 @@ final class VirtualFieldImplementationsGenerator {
     }
 
     private void mapPut(Object key, Object value) {
-      if (value == null) {
-        map.remove(key);
-      } else {
-        map.put(key, value);
-      }
+      map.put(key, value);
     }
 
     public static VirtualField<?, ?> getVirtualField(Class<?> keyClass, Class<?> contextClass) {
@@ -0,0 +1,300 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.ignore;
+
+import static io.opentelemetry.javaagent.tooling.util.ClassLoaderFingerprints.agentFingerprint;
+import static io.opentelemetry.javaagent.tooling.util.ClassLoaderFingerprints.classLoaderKey;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.logging.Level.FINE;
+
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.ProtectionDomain;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.utility.JavaModule;
+
+/**
+ * Remembers across JVM restarts which types were not transformed by any instrumentation, so that on
+ * the next start they can be ignored without parsing them and running all the type matchers again.
+ *
+ * <p>The types are remembered per class loader, identified by the jars and directories of the class
+ * loader and of all its parents, including the sizes and last modification times of their files.
+ * When any of these files changes, when the agent version, any {@code otel.*} setting, the agent
+ * configuration file or the extensions change, the types remembered for that class loader are
+ * discarded. Class loaders that can't be identified this way, e.g. the module class loaders of
+ * JBoss Modules, are never cached.
+ *
+ * <p>The cache file is memory-mapped when the agent starts, and the types of a class loader are
+ * read only when that class loader loads its first class. The cache file is rewritten when the JVM
+ * shuts down.
+ */
+public final class PersistentIgnoredTypesCache implements AgentBuilder.RawMatcher {
+
+  private static final Logger logger =
+      Logger.getLogger(PersistentIgnoredTypesCache.class.getName());
+
+  static final String CACHE_FILE_CONFIG = "otel.javaagent.experimental.type-match-cache.file";
+
+  private static final int MAGIC = 0x4f54454c;
+  private static final int FORMAT_VERSION = 1;
+
+  private static final LoaderTypes UNSUPPORTED = new LoaderTypes(null, Collections.emptySet());
+
+  private final Path file;
+  private final String fingerprint;
+  // class loader key -> position of its type names in the mapped cache file
+  private final Map<String, Integer> positions;
+  private final ByteBuffer buffer;
+
+  private final Cache<ClassLoader, LoaderTypes> loaderTypes = Cache.weak();
+  // class loaders with the same jars share their types, so that this map doesn't grow with the
+  // number of class loaders, e.g. when an application is redeployed
+  private final Map<String, LoaderTypes> typesByKey = new ConcurrentHashMap<>();
+
+  private PersistentIgnoredTypesCache(
+      Path file, String fingerprint, Map<String, Integer> positions, ByteBuffer buffer) {
+    this.file = file;
+    this.fingerprint = fingerprint;
+    this.positions = positions;
+    this.buffer = buffer;
+  }
+
+  /** Returns the cache configured by the user, or {@code null} when it's not enabled. */
+  @Nullable
+  public static PersistentIgnoredTypesCache create(ConfigProperties config) {
+    String file = config.getString(CACHE_FILE_CONFIG);
+    if (file == null || file.isEmpty()) {
+      return null;
+    }
+    PersistentIgnoredTypesCache cache = load(Paths.get(file), agentFingerprint());
+    Runtime.getRuntime()
+        .addShutdownHook(new Thread(cache::save, "otel-javaagent-type-match-cache-writer"));
+    return cache;
+  }
+
+  // visible for testing
+  static PersistentIgnoredTypesCache load(Path file, String fingerprint) {
+    if (Files.isRegularFile(file)) {
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        Map<String, Integer> positions = readIndex(buffer, fingerprint);
+        if (positions != null) {
+          return new PersistentIgnoredTypesCache(file, fingerprint, positions, buffer);
+        }
+        logger.log(FINE, "Type match cache {0} is out of date", file);
+      } catch (IOException | RuntimeException e) {
+        logger.log(FINE, "Failed to read type match cache " + file, e);
+      }
+    }
+    return new PersistentIgnoredTypesCache(
+        file, fingerprint, Collections.emptyMap(), ByteBuffer.allocate(0));
+  }
+
+  @Nullable
+  private static Map<String, Integer> readIndex(ByteBuffer buffer, String fingerprint) {
+    if (buffer.remaining() < 8 || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+      return null;
+    }
+    if (!fingerprint.equals(readString(buffer))) {
+      return null;
+    }
+    int loaderCount = buffer.getInt();
+    Map<String, Integer> positions = new HashMap<>();
+    for (int i = 0; i < loaderCount; i++) {
+      String key = readString(buffer);
+      int length = buffer.getInt();
+      positions.put(key, buffer.position());
+      buffer.position(buffer.position() + length);
+    }
+    return positions;
+  }
+
+  private Set<String> readTypeNames(String key) {
+    Integer position = positions.get(key);
+    if (position == null) {
+      return Collections.emptySet();
+    }
+    try {
+      // the buffer is shared by all threads, read it through a view with its own position
+      ByteBuffer view = buffer.duplicate();
+      view.position(position);
+      int count = view.getInt();
+      Set<String> typeNames = new HashSet<>(count * 4 / 3 + 1);
+      for (int i = 0; i < count; i++) {
+        typeNames.add(readString(view));
+      }
+      return typeNames;
+    } catch (BufferUnderflowException | IllegalArgumentException e) {
+      logger.log(FINE, "Type match cache " + file + " is corrupted", e);
+      return Collections.emptySet();
+    }
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.getShort() & 0xffff];
+    buffer.get(bytes);
+    return new String(bytes, UTF_8);
+  }
+
+  @Override
+  public boolean matches(
+      TypeDescription typeDescription,
+      @Nullable ClassLoader classLoader,
+      @Nullable JavaModule module,
+      @Nullable Class<?> classBeingRedefined,
+      @Nullable ProtectionDomain protectionDomain) {
+    // only the initial load of a class is skipped, a retransformation is requested when there is
+    // something new to apply
+    if (classLoader == null || classBeingRedefined != null) {
+      return false;
+    }
+    return getLoaderTypes(classLoader).previouslyIgnored.contains(typeDescription.getName());
+  }
+
+  /** Returns the listener that records which types were not transformed. */
+  public AgentBuilder.Listener listener() {
+    return new Listener();
+  }
+
+  private LoaderTypes getLoaderTypes(ClassLoader classLoader) {
+    return loaderTypes.computeIfAbsent(
+        classLoader,
+        cl -> {
+          String key = classLoaderKey(cl);
+          if (key == null) {
+            return UNSUPPORTED;
+          }
+          return typesByKey.computeIfAbsent(key, k -> new LoaderTypes(k, readTypeNames(k)));
+        });
+  }
+
+  // visible for testing
+  void save() {
+    Map<String, Set<String>> ignoredTypes = new TreeMap<>();
+    for (LoaderTypes types : typesByKey.values()) {
+      Set<String> ignored = new TreeSet<>(types.previouslyIgnored);
+      ignored.addAll(types.ignored);
+      // a type loaded by several class loaders with the same jars is skipped only when none of
+      // them transformed it
+      ignored.removeAll(types.transformed);
+      ignoredTypes.put(types.key, ignored);
+    }
+
+    try {
+      Path parent = file.toAbsolutePath().getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      Path tempFile = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+      try (OutputStream out = Files.newOutputStream(tempFile)) {
+        write(out, ignoredTypes);
+      }
+      Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException | RuntimeException e) {
+      logger.log(FINE, "Failed to write type match cache " + file, e);
+    }
+  }
+
+  private void write(OutputStream out, Map<String, Set<String>> ignoredTypes) throws IOException {
+    DataOutputStream data = new DataOutputStream(out);
+    data.writeInt(MAGIC);
+    data.writeInt(FORMAT_VERSION);
+    writeString(data, fingerprint);
+    data.writeInt(ignoredTypes.size());
+    for (Map.Entry<String, Set<String>> entry : ignoredTypes.entrySet()) {
+      ByteArrayOutputStream typeNames = new ByteArrayOutputStream();
+      DataOutputStream typeNamesData = new DataOutputStream(typeNames);
+      typeNamesData.writeInt(entry.getValue().size());
+      for (String typeName : entry.getValue()) {
+        writeString(typeNamesData, typeName);
+      }
+      writeString(data, entry.getKey());
+      data.writeInt(typeNames.size());
+      typeNames.writeTo(data);
+    }
+    data.flush();
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    byte[] bytes = value.getBytes(UTF_8);
+    out.writeShort(bytes.length);
+    out.write(bytes);
+  }
+
+  private static final class LoaderTypes {
+    @Nullable final String key;
+    final Set<String> previouslyIgnored;
+    final Set<String> ignored = ConcurrentHashMap.newKeySet();
+    final Set<String> transformed = ConcurrentHashMap.newKeySet();
+
+    LoaderTypes(@Nullable String key, Set<String> previouslyIgnored) {
+      this.key = key;
+      this.previouslyIgnored = previouslyIgnored;
+    }
+  }
+
+  private class Listener extends AgentBuilder.Listener.Adapter {
+
+    @Override
+    public void onIgnored(
+        TypeDescription typeDescription,
+        @Nullable ClassLoader classLoader,
+        @Nullable JavaModule module,
+        boolean loaded) {
+      if (classLoader != null && !loaded) {
+        LoaderTypes types = getLoaderTypes(classLoader);
+        String typeName = typeDescription.getName();
+        // types generated at runtime (e.g. proxies) can get the same name with different contents
+        // in the next run, only types loaded from the class loader jars can be skipped; checked
+        // here, once per type, so that skipping a type in the next run is only a set lookup
+        if (types != UNSUPPORTED
+            && !types.previouslyIgnored.contains(typeName)
+            && classLoader.getResource(typeName.replace('.', '/') + ".class") != null) {
+          types.ignored.add(typeName);
+        }
+      }
+    }
+
+    @Override
+    public void onTransformation(
+        TypeDescription typeDescription,
+        @Nullable ClassLoader classLoader,
+        @Nullable JavaModule module,
+        boolean loaded,
+        DynamicType dynamicType) {
+      if (classLoader != null) {
+        LoaderTypes types = getLoaderTypes(classLoader);
+        if (types != UNSUPPORTED) {
+          types.transformed.add(typeDescription.getName());
+        }
+      }
+    }
+  }
+}
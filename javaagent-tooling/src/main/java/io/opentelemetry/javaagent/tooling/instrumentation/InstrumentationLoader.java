@@ -13,21 +13,69 @@ import com.google.auto.service.AutoService;
 import io.opentelemetry.javaagent.bootstrap.InstrumentationHolder;
 import io.opentelemetry.javaagent.extension.instrumentation.InstrumentationModule;
 import io.opentelemetry.javaagent.tooling.AgentExtension;
+import io.opentelemetry.javaagent.tooling.instrumentation.InstrumentationModuleInstaller.PreparedModule;
 import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 import net.bytebuddy.agent.builder.AgentBuilder;
 
 @AutoService(AgentExtension.class)
 public class InstrumentationLoader implements AgentExtension {
   private static final Logger logger = Logger.getLogger(InstrumentationLoader.class.getName());
 
-  private final InstrumentationModuleInstaller instrumentationModuleInstaller =
-      new InstrumentationModuleInstaller(InstrumentationHolder.getInstrumentation());
+  // the instrumentation modules can be prepared concurrently, this shortens the agent startup on
+  // machines with many cores
+  private static final String PARALLEL_PREPARATION_CONFIG =
+      "otel.javaagent.experimental.parallel-module-preparation.enabled";
+  private static final int MAX_PREPARATION_PARALLELISM = 8;
+  // modules that don't apply to all class loaders are installed only when their class loader
+  // matcher first matches a class loader, until then their type matchers cost nothing
+  private static final String LAZY_REGISTRATION_CONFIG =
+      "otel.javaagent.experimental.lazy-module-registration.enabled";
 
   @Override
   public AgentBuilder extend(AgentBuilder agentBuilder, ConfigProperties config) {
+    InstrumentationModuleInstaller instrumentationModuleInstaller =
+        new InstrumentationModuleInstaller(
+            InstrumentationHolder.getInstrumentation(), MuzzleVerdictCache.create(config));
+    List<InstrumentationModule> instrumentationModules = loadOrdered(InstrumentationModule.class);
+
+    LazyInstrumentationModules lazyModules = null;
+    if (config.getBoolean(LAZY_REGISTRATION_CONFIG, false)) {
+      lazyModules =
+          new LazyInstrumentationModules(
+              instrumentationModuleInstaller, config, InstrumentationHolder.getInstrumentation());
+      List<InstrumentationModule> eagerModules = new ArrayList<>();
+      int numberOfLazyModules = 0;
+      for (InstrumentationModule instrumentationModule : instrumentationModules) {
+        if (!InstrumentationModuleInstaller.isEnabled(instrumentationModule, config)) {
+          continue;
+        }
+        if (lazyModules.register(instrumentationModule)) {
+          numberOfLazyModules++;
+        } else {
+          eagerModules.add(instrumentationModule);
+        }
+      }
+      logger.log(
+          FINE, "Registered {0} instrumenter(s) to be installed on demand", numberOfLazyModules);
+      instrumentationModules = eagerModules;
+      if (numberOfLazyModules == 0) {
+        lazyModules = null;
+      }
+    }
+
+    List<CompletableFuture<PreparedModule>> preparedModules =
+        prepareModules(instrumentationModuleInstaller, instrumentationModules, config);
+
     int numberOfLoadedModules = 0;
-    for (InstrumentationModule instrumentationModule : loadOrdered(InstrumentationModule.class)) {
+    for (int i = 0; i < instrumentationModules.size(); i++) {
+      InstrumentationModule instrumentationModule = instrumentationModules.get(i);
       if (logger.isLoggable(FINE)) {
         logger.log(
             FINE,
@@ -38,8 +86,10 @@ public class InstrumentationLoader implements AgentExtension {
             });
       }
       try {
-        agentBuilder =
-            instrumentationModuleInstaller.install(instrumentationModule, agentBuilder, config);
+        PreparedModule preparedModule = getPreparedModule(preparedModules.get(i));
+        if (preparedModule != null) {
+          agentBuilder = instrumentationModuleInstaller.install(preparedModule, agentBuilder);
+        }
         numberOfLoadedModules++;
       } catch (Exception | LinkageError e) {
         logger.log(
@@ -54,9 +104,70 @@ public class InstrumentationLoader implements AgentExtension {
     }
     logger.log(FINE, "Installed {0} instrumenter(s)", numberOfLoadedModules);
 
+    if (lazyModules != null) {
+      agentBuilder = lazyModules.extend(agentBuilder);
+    }
+
     return agentBuilder;
   }
 
+  /**
+   * Prepares the modules, concurrently when enabled. Only the preparation is done concurrently, the
+   * prepared modules are always installed one by one in the original order, so the resulting agent
+   * builder is the same.
+   */
+  private static List<CompletableFuture<PreparedModule>> prepareModules(
+      InstrumentationModuleInstaller instrumentationModuleInstaller,
+      List<InstrumentationModule> instrumentationModules,
+      ConfigProperties config) {
+    List<CompletableFuture<PreparedModule>> preparedModules = new ArrayList<>();
+    int parallelism =
+        Math.min(Runtime.getRuntime().availableProcessors(), MAX_PREPARATION_PARALLELISM);
+    if (!config.getBoolean(PARALLEL_PREPARATION_CONFIG, false) || parallelism < 2) {
+      for (InstrumentationModule instrumentationModule : instrumentationModules) {
+        CompletableFuture<PreparedModule> preparedModule = new CompletableFuture<>();
+        try {
+          preparedModule.complete(
+              instrumentationModuleInstaller.prepare(instrumentationModule, config));
+        } catch (Exception | LinkageError e) {
+          preparedModule.completeExceptionally(e);
+        }
+        preparedModules.add(preparedModule);
+      }
+      return preparedModules;
+    }
+
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      for (InstrumentationModule instrumentationModule : instrumentationModules) {
+        preparedModules.add(
+            CompletableFuture.supplyAsync(
+                () -> instrumentationModuleInstaller.prepare(instrumentationModule, config), pool));
+      }
+      // wait for all the modules before shutting the pool down
+      for (CompletableFuture<PreparedModule> preparedModule : preparedModules) {
+        preparedModule.handle((result, error) -> null).join();
+      }
+    } finally {
+      pool.shutdown();
+    }
+    return preparedModules;
+  }
+
+  @Nullable
+  private static PreparedModule getPreparedModule(CompletableFuture<PreparedModule> future)
+      throws Exception {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof Exception) {
+        throw (Exception) cause;
+      }
+      throw (Error) cause;
+    }
+  }
+
   @Override
   public String extensionName() {
     return "instrumentation-loader";
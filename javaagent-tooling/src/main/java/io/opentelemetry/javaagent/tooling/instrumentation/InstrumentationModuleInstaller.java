@@ -31,9 +31,11 @@ import io.opentelemetry.javaagent.tooling.util.NamedMatcher;
 import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
 import java.lang.instrument.Instrumentation;
 import java.security.ProtectionDomain;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 import net.bytebuddy.agent.builder.AgentBuilder;
 import net.bytebuddy.description.annotation.AnnotationSource;
 import net.bytebuddy.description.type.TypeDescription;
@@ -54,21 +56,38 @@ public final class InstrumentationModuleInstaller {
   private final VirtualFieldImplementationInstallerFactory virtualFieldInstallerFactory =
       new VirtualFieldImplementationInstallerFactory();
 
+  @Nullable private final MuzzleVerdictCache muzzleVerdictCache;
+
   public InstrumentationModuleInstaller(Instrumentation instrumentation) {
+    this(instrumentation, null);
+  }
+
+  InstrumentationModuleInstaller(
+      Instrumentation instrumentation, @Nullable MuzzleVerdictCache muzzleVerdictCache) {
     this.instrumentation = instrumentation;
+    this.muzzleVerdictCache = muzzleVerdictCache;
   }
 
-  AgentBuilder install(
-      InstrumentationModule instrumentationModule,
-      AgentBuilder parentAgentBuilder,
-      ConfigProperties config) {
-    if (!AgentConfig.isInstrumentationEnabled(
+  static boolean isEnabled(InstrumentationModule instrumentationModule, ConfigProperties config) {
+    return AgentConfig.isInstrumentationEnabled(
         config,
         instrumentationModule.instrumentationNames(),
-        instrumentationModule.defaultEnabled(config))) {
+        instrumentationModule.defaultEnabled(config));
+  }
+
+  /**
+   * Builds the matchers, the helper injector and the virtual field implementations of the module.
+   * Unlike {@link #install(PreparedModule, AgentBuilder)}, this method does not depend on the other
+   * modules, so the modules can be prepared concurrently.
+   *
+   * @return the prepared module, or {@code null} if there is nothing to install
+   */
+  @Nullable
+  PreparedModule prepare(InstrumentationModule instrumentationModule, ConfigProperties config) {
+    if (!isEnabled(instrumentationModule, config)) {
       logger.log(
           FINE, "Instrumentation {0} is disabled", instrumentationModule.instrumentationName());
-      return parentAgentBuilder;
+      return null;
     }
     List<String> helperClassNames =
         InstrumentationModuleMuzzle.getHelperClassNames(instrumentationModule);
@@ -83,12 +102,12 @@ public final class InstrumentationModuleInstaller {
             instrumentationModule.instrumentationName());
       }
 
-      return parentAgentBuilder;
+      return null;
     }
 
     ElementMatcher.Junction<ClassLoader> moduleClassLoaderMatcher =
         instrumentationModule.classLoaderMatcher();
-    MuzzleMatcher muzzleMatcher = new MuzzleMatcher(instrumentationModule);
+    MuzzleMatcher muzzleMatcher = new MuzzleMatcher(instrumentationModule, muzzleVerdictCache);
     AgentBuilder.Transformer helperInjector =
         new HelperInjector(
             instrumentationModule.instrumentationName(),
@@ -99,7 +118,8 @@ public final class InstrumentationModuleInstaller {
     VirtualFieldImplementationInstaller contextProvider =
         virtualFieldInstallerFactory.create(instrumentationModule);
 
-    AgentBuilder agentBuilder = parentAgentBuilder;
+    List<ElementMatcher<TypeDescription>> typeMatchers = new ArrayList<>();
+    List<ElementMatcher<ClassLoader>> classLoaderMatchers = new ArrayList<>();
     for (TypeInstrumentation typeInstrumentation : typeInstrumentations) {
       ElementMatcher<TypeDescription> typeMatcher =
           new NamedMatcher<>(
@@ -113,26 +133,43 @@ public final class InstrumentationModuleInstaller {
                   + "#"
                   + typeInstrumentation.getClass().getSimpleName(),
               moduleClassLoaderMatcher.and(typeInstrumentation.classLoaderOptimization()));
+      typeMatchers.add(
+          new LoggingFailSafeMatcher<>(
+              typeMatcher, "Instrumentation type matcher unexpected exception: " + typeMatcher));
+      classLoaderMatchers.add(
+          new LoggingFailSafeMatcher<>(
+              classLoaderMatcher,
+              "Instrumentation class loader matcher unexpected exception: " + classLoaderMatcher));
+    }
+
+    return new PreparedModule(
+        typeInstrumentations,
+        typeMatchers,
+        classLoaderMatchers,
+        muzzleMatcher,
+        helperInjector,
+        contextProvider);
+  }
+
+  /** Adds the transformations of a prepared module to the agent builder. */
+  AgentBuilder install(PreparedModule preparedModule, AgentBuilder parentAgentBuilder) {
+    AgentBuilder agentBuilder = parentAgentBuilder;
+    for (int i = 0; i < preparedModule.typeInstrumentations.size(); i++) {
+      TypeInstrumentation typeInstrumentation = preparedModule.typeInstrumentations.get(i);
 
       AgentBuilder.Identified.Extendable extendableAgentBuilder =
           agentBuilder
-              .type(
-                  new LoggingFailSafeMatcher<>(
-                      typeMatcher,
-                      "Instrumentation type matcher unexpected exception: " + typeMatcher),
-                  new LoggingFailSafeMatcher<>(
-                      classLoaderMatcher,
-                      "Instrumentation class loader matcher unexpected exception: "
-                          + classLoaderMatcher))
+              .type(preparedModule.typeMatchers.get(i), preparedModule.classLoaderMatchers.get(i))
               .and(NOT_DECORATOR_MATCHER)
-              .and(muzzleMatcher)
+              .and(preparedModule.muzzleMatcher)
               .transform(ConstantAdjuster.instance())
-              .transform(helperInjector);
-      extendableAgentBuilder = contextProvider.rewriteVirtualFieldsCalls(extendableAgentBuilder);
+              .transform(preparedModule.helperInjector);
+      extendableAgentBuilder =
+          preparedModule.contextProvider.rewriteVirtualFieldsCalls(extendableAgentBuilder);
       TypeTransformerImpl typeTransformer = new TypeTransformerImpl(extendableAgentBuilder);
       typeInstrumentation.transform(typeTransformer);
       extendableAgentBuilder = typeTransformer.getAgentBuilder();
-      extendableAgentBuilder = contextProvider.injectFields(extendableAgentBuilder);
+      extendableAgentBuilder = preparedModule.contextProvider.injectFields(extendableAgentBuilder);
 
       agentBuilder = extendableAgentBuilder;
     }
@@ -140,6 +177,31 @@ public final class InstrumentationModuleInstaller {
     return agentBuilder;
   }
 
+  /** The parts of an instrumentation module that can be built before it's installed. */
+  static final class PreparedModule {
+    private final List<TypeInstrumentation> typeInstrumentations;
+    private final List<ElementMatcher<TypeDescription>> typeMatchers;
+    private final List<ElementMatcher<ClassLoader>> classLoaderMatchers;
+    private final AgentBuilder.RawMatcher muzzleMatcher;
+    private final AgentBuilder.Transformer helperInjector;
+    private final VirtualFieldImplementationInstaller contextProvider;
+
+    private PreparedModule(
+        List<TypeInstrumentation> typeInstrumentations,
+        List<ElementMatcher<TypeDescription>> typeMatchers,
+        List<ElementMatcher<ClassLoader>> classLoaderMatchers,
+        AgentBuilder.RawMatcher muzzleMatcher,
+        AgentBuilder.Transformer helperInjector,
+        VirtualFieldImplementationInstaller contextProvider) {
+      this.typeInstrumentations = typeInstrumentations;
+      this.typeMatchers = typeMatchers;
+      this.classLoaderMatchers = classLoaderMatchers;
+      this.muzzleMatcher = muzzleMatcher;
+      this.helperInjector = helperInjector;
+      this.contextProvider = contextProvider;
+    }
+  }
+
   /**
    * A ByteBuddy matcher that decides whether this instrumentation should be applied. Calls
    * generated {@link ReferenceMatcher}: if any mismatch with the passed {@code classLoader} is
@@ -147,12 +209,15 @@ public final class InstrumentationModuleInstaller {
    */
   private static class MuzzleMatcher implements AgentBuilder.RawMatcher {
     private final InstrumentationModule instrumentationModule;
+    @Nullable private final MuzzleVerdictCache verdictCache;
     private final AtomicBoolean initialized = new AtomicBoolean(false);
     private final Cache<ClassLoader, Boolean> matchCache = Cache.weak();
     private volatile ReferenceMatcher referenceMatcher;
 
-    private MuzzleMatcher(InstrumentationModule instrumentationModule) {
+    private MuzzleMatcher(
+        InstrumentationModule instrumentationModule, @Nullable MuzzleVerdictCache verdictCache) {
       this.instrumentationModule = instrumentationModule;
+      this.verdictCache = verdictCache;
     }
 
     @Override
@@ -169,8 +234,17 @@ public final class InstrumentationModuleInstaller {
     }
 
     private boolean doesMatch(ClassLoader classLoader) {
-      ReferenceMatcher muzzle = getReferenceMatcher();
-      boolean isMatch = muzzle.matches(classLoader);
+      String moduleName = instrumentationModule.getClass().getName();
+      Boolean cachedMatch = verdictCache != null ? verdictCache.get(classLoader, moduleName) : null;
+      boolean isMatch;
+      if (cachedMatch != null) {
+        isMatch = cachedMatch;
+      } else {
+        isMatch = getReferenceMatcher().matches(classLoader);
+        if (verdictCache != null) {
+          verdictCache.put(classLoader, moduleName, isMatch);
+        }
+      }
 
       if (!isMatch) {
         MuzzleFailureCounter.inc();
@@ -183,7 +257,8 @@ public final class InstrumentationModuleInstaller {
                 instrumentationModule.getClass().getName(),
                 classLoader
               });
-          List<Mismatch> mismatches = muzzle.getMismatchedReferenceSources(classLoader);
+          List<Mismatch> mismatches =
+              getReferenceMatcher().getMismatchedReferenceSources(classLoader);
           for (Mismatch mismatch : mismatches) {
             muzzleLogger.log(WARNING, "-- {0}", mismatch);
           }
@@ -0,0 +1,265 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.instrumentation;
+
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.SEVERE;
+import static net.bytebuddy.matcher.ElementMatchers.none;
+
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import io.opentelemetry.javaagent.bootstrap.internal.ClassLoaderMatcherCacheHolder;
+import io.opentelemetry.javaagent.extension.instrumentation.InstrumentationModule;
+import io.opentelemetry.javaagent.tooling.instrumentation.InstrumentationModuleInstaller.PreparedModule;
+import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+import java.lang.instrument.Instrumentation;
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.agent.builder.ResettableClassFileTransformer;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.matcher.ElementMatchers;
+import net.bytebuddy.utility.JavaModule;
+
+/**
+ * Instrumentation modules that are installed only once they are needed, i.e. when their class
+ * loader matcher first matches the class loader of a class that is being loaded. Until then they
+ * don't add any matchers that have to be evaluated for every loaded class: each class loader is
+ * checked once against the class loader matchers of all the pending modules, and again after {@link
+ * java.net.URLClassLoader#addURL(java.net.URL)} was called on it.
+ *
+ * <p>This is a listener, a matcher and a transformer of the agent's own class file transformer: a
+ * module is activated synchronously, before the class that triggered it is matched, and the
+ * transformations of all the activated modules are then applied by the agent's transformer. This
+ * way they also apply to lambda classes. The classes that were loaded before a module was activated
+ * are retransformed in the background.
+ */
+final class LazyInstrumentationModules extends AgentBuilder.Listener.Adapter
+    implements AgentBuilder.RawMatcher, AgentBuilder.Transformer {
+
+  private static final Logger logger = Logger.getLogger(LazyInstrumentationModules.class.getName());
+
+  private final InstrumentationModuleInstaller instrumentationModuleInstaller;
+  private final ConfigProperties config;
+  private final Instrumentation instrumentation;
+
+  private final List<PendingModule> pendingModules = new CopyOnWriteArrayList<>();
+  private final Cache<ClassLoader, Boolean> checkedClassLoaders = Cache.weak();
+  private volatile boolean bootstrapClassLoaderChecked;
+
+  // the transformations of the modules activated together, these are only matched against the
+  // types seen by the agent's transformer and never installed, so none of the agent's listeners
+  // are added to them
+  private final List<ResettableClassFileTransformer> activatedModules =
+      new CopyOnWriteArrayList<>();
+  private final Object retransformLock = new Object();
+
+  LazyInstrumentationModules(
+      InstrumentationModuleInstaller instrumentationModuleInstaller,
+      ConfigProperties config,
+      Instrumentation instrumentation) {
+    this.instrumentationModuleInstaller = instrumentationModuleInstaller;
+    this.config = config;
+    this.instrumentation = instrumentation;
+    ClassLoaderMatcherCacheHolder.addCache(checkedClassLoaders);
+  }
+
+  private static AgentBuilder newAgentBuilder() {
+    // the agent's transformer has already applied the ignored types
+    return new AgentBuilder.Default().ignore(none());
+  }
+
+  /**
+   * Registers the module to be installed once it's needed, returns {@code false} when the module
+   * applies to all class loaders and has to be installed right away.
+   */
+  boolean register(InstrumentationModule instrumentationModule) {
+    ElementMatcher<ClassLoader> classLoaderMatcher = instrumentationModule.classLoaderMatcher();
+    if (ElementMatchers.any().equals(classLoaderMatcher)) {
+      return false;
+    }
+    pendingModules.add(new PendingModule(instrumentationModule, classLoaderMatcher));
+    return true;
+  }
+
+  /** Adds the transformations of the lazily installed modules to the agent builder. */
+  AgentBuilder extend(AgentBuilder agentBuilder) {
+    return agentBuilder.with(this).type(this).transform(this);
+  }
+
+  @Override
+  public void onDiscovery(
+      String typeName,
+      @Nullable ClassLoader classLoader,
+      @Nullable JavaModule module,
+      boolean loaded) {
+    if (pendingModules.isEmpty()) {
+      return;
+    }
+    if (classLoader == null) {
+      if (!bootstrapClassLoaderChecked) {
+        bootstrapClassLoaderChecked = true;
+        activateMatchingModules(null);
+      }
+      return;
+    }
+    // not using computeIfAbsent(), the class loader matchers may load classes and call back here
+    if (checkedClassLoaders.get(classLoader) == null) {
+      checkedClassLoaders.put(classLoader, Boolean.TRUE);
+      activateMatchingModules(classLoader);
+    }
+  }
+
+  @Override
+  public boolean matches(
+      TypeDescription typeDescription,
+      @Nullable ClassLoader classLoader,
+      @Nullable JavaModule module,
+      @Nullable Class<?> classBeingRedefined,
+      @Nullable ProtectionDomain protectionDomain) {
+    for (ResettableClassFileTransformer transformer : activatedModules) {
+      if (transformer
+          .iterator(typeDescription, classLoader, module, classBeingRedefined, protectionDomain)
+          .hasNext()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public DynamicType.Builder<?> transform(
+      DynamicType.Builder<?> builder,
+      TypeDescription typeDescription,
+      @Nullable ClassLoader classLoader,
+      @Nullable JavaModule module,
+      @Nullable ProtectionDomain protectionDomain) {
+    for (ResettableClassFileTransformer transformer : activatedModules) {
+      // the class being redefined is not passed to transformers, none of the matchers use it
+      Iterator<AgentBuilder.Transformer> transformers =
+          transformer.iterator(typeDescription, classLoader, module, null, protectionDomain);
+      while (transformers.hasNext()) {
+        builder =
+            transformers
+                .next()
+                .transform(builder, typeDescription, classLoader, module, protectionDomain);
+      }
+    }
+    return builder;
+  }
+
+  private void activateMatchingModules(@Nullable ClassLoader classLoader) {
+    List<PendingModule> matchingModules = new ArrayList<>();
+    for (PendingModule pendingModule : pendingModules) {
+      if (pendingModule.matches(classLoader) && pendingModules.remove(pendingModule)) {
+        matchingModules.add(pendingModule);
+      }
+    }
+    if (matchingModules.isEmpty()) {
+      return;
+    }
+
+    AgentBuilder moduleAgentBuilder = newAgentBuilder();
+    boolean installed = false;
+    for (PendingModule matchingModule : matchingModules) {
+      InstrumentationModule instrumentationModule = matchingModule.instrumentationModule;
+      logger.log(
+          FINE,
+          "Installing instrumentation {0} [class {1}]",
+          new Object[] {
+            instrumentationModule.instrumentationName(), instrumentationModule.getClass().getName()
+          });
+      try {
+        PreparedModule preparedModule =
+            instrumentationModuleInstaller.prepare(instrumentationModule, config);
+        if (preparedModule != null) {
+          moduleAgentBuilder =
+              instrumentationModuleInstaller.install(preparedModule, moduleAgentBuilder);
+          installed = true;
+        }
+      } catch (Exception | LinkageError e) {
+        logger.log(
+            SEVERE,
+            "Unable to load instrumentation "
+                + instrumentationModule.instrumentationName()
+                + " [class "
+                + instrumentationModule.getClass().getName()
+                + "]",
+            e);
+      }
+    }
+    if (!installed) {
+      return;
+    }
+    ResettableClassFileTransformer newModules =
+        (ResettableClassFileTransformer) moduleAgentBuilder.makeRaw();
+    activatedModules.add(newModules);
+
+    // the classes that were loaded before, e.g. by a parent class loader or before a url was added
+    // to the class loader, have to be retransformed; this method is called from within the agent's
+    // transformer, so this has to happen on another thread
+    Thread thread = new Thread(() -> retransformLoadedClasses(newModules));
+    thread.setName("otel-javaagent-lazy-instrumentation-retransformer");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  // retransforming for one activation at a time, so that the retransformations don't run
+  // concurrently
+  private void retransformLoadedClasses(ResettableClassFileTransformer newModules) {
+    if (!instrumentation.isRetransformClassesSupported()) {
+      return;
+    }
+    synchronized (retransformLock) {
+      for (Class<?> loadedClass : instrumentation.getAllLoadedClasses()) {
+        try {
+          if (!instrumentation.isModifiableClass(loadedClass)
+              || !newModules
+                  .iterator(
+                      TypeDescription.ForLoadedType.of(loadedClass),
+                      loadedClass.getClassLoader(),
+                      JavaModule.ofType(loadedClass),
+                      loadedClass,
+                      loadedClass.getProtectionDomain())
+                  .hasNext()) {
+            continue;
+          }
+          // the agent's transformer applies all the activated modules
+          instrumentation.retransformClasses(loadedClass);
+        } catch (Throwable t) {
+          logger.log(FINE, "Failed to retransform " + loadedClass.getName(), t);
+        }
+      }
+    }
+  }
+
+  private static final class PendingModule {
+    private final InstrumentationModule instrumentationModule;
+    private final ElementMatcher<ClassLoader> classLoaderMatcher;
+
+    private PendingModule(
+        InstrumentationModule instrumentationModule,
+        ElementMatcher<ClassLoader> classLoaderMatcher) {
+      this.instrumentationModule = instrumentationModule;
+      this.classLoaderMatcher = classLoaderMatcher;
+    }
+
+    boolean matches(@Nullable ClassLoader classLoader) {
+      try {
+        return classLoaderMatcher.matches(classLoader);
+      } catch (Throwable t) {
+        // install the module, its own matchers will log the failure
+        return true;
+      }
+    }
+  }
+}
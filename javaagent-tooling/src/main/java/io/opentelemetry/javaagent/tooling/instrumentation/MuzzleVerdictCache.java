@@ -0,0 +1,201 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.instrumentation;
+
+import static io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics.CounterNames.MUZZLE_CHECKS_AVOIDED;
+import static java.util.logging.Level.FINE;
+
+import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import io.opentelemetry.javaagent.tooling.util.ClassLoaderFingerprints;
+import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * Shares the muzzle verdicts of the instrumentation modules between class loaders that load classes
+ * from the same jars, e.g. the class loaders of an application that is redeployed, or of the many
+ * bundles of an application server that use the same libraries. Class loaders are identified by
+ * {@link ClassLoaderFingerprints#classLoaderKey(ClassLoader)}, class loaders that it can't identify
+ * are always checked.
+ *
+ * <p>When a file is configured, the verdicts are also reused across JVM restarts, as long as the
+ * agent version, the JVM and the {@code otel.*} settings don't change. Only the verdicts used
+ * during a run are written back to the file when the JVM shuts down.
+ */
+final class MuzzleVerdictCache {
+
+  private static final Logger logger = Logger.getLogger(MuzzleVerdictCache.class.getName());
+
+  static final String ENABLED_CONFIG = "otel.javaagent.experimental.muzzle-cache.enabled";
+  static final String FILE_CONFIG = "otel.javaagent.experimental.muzzle-cache.file";
+
+  private static final int MAGIC = 0x4f544d5a;
+  private static final int FORMAT_VERSION = 1;
+
+  // marks class loaders that can't be identified by their jars, Cache does not store null values
+  private static final String UNSUPPORTED = "";
+
+  private static final SupportabilityMetrics.Counter checksAvoided =
+      SupportabilityMetrics.instance().counter(MUZZLE_CHECKS_AVOIDED);
+
+  @Nullable private final Path file;
+  private final String fingerprint;
+  // verdicts read from the file, keyed by class loader key and instrumentation module class name
+  private final Map<String, Boolean> previousVerdicts;
+  private final ConcurrentMap<String, Boolean> verdicts = new ConcurrentHashMap<>();
+  private final Cache<ClassLoader, String> classLoaderKeys = Cache.weak();
+
+  private MuzzleVerdictCache(
+      @Nullable Path file, String fingerprint, Map<String, Boolean> previousVerdicts) {
+    this.file = file;
+    this.fingerprint = fingerprint;
+    this.previousVerdicts = previousVerdicts;
+  }
+
+  /** Returns the cache configured by the user, or {@code null} when it's not enabled. */
+  @Nullable
+  static MuzzleVerdictCache create(ConfigProperties config) {
+    String file = config.getString(FILE_CONFIG);
+    if (file == null || file.isEmpty()) {
+      return config.getBoolean(ENABLED_CONFIG, false)
+          ? new MuzzleVerdictCache(null, "", Collections.emptyMap())
+          : null;
+    }
+    MuzzleVerdictCache cache = load(Paths.get(file), ClassLoaderFingerprints.agentFingerprint());
+    Runtime.getRuntime()
+        .addShutdownHook(new Thread(cache::save, "otel-javaagent-muzzle-cache-writer"));
+    return cache;
+  }
+
+  // visible for testing
+  static MuzzleVerdictCache load(Path file, String fingerprint) {
+    Map<String, Boolean> previousVerdicts = Collections.emptyMap();
+    if (Files.isRegularFile(file)) {
+      try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+        Map<String, Boolean> read = read(new DataInputStream(in), fingerprint);
+        if (read != null) {
+          previousVerdicts = read;
+        } else {
+          logger.log(FINE, "Muzzle cache {0} is out of date", file);
+        }
+      } catch (IOException | RuntimeException e) {
+        logger.log(FINE, "Failed to read muzzle cache " + file, e);
+      }
+    }
+    return new MuzzleVerdictCache(file, fingerprint, previousVerdicts);
+  }
+
+  @Nullable
+  private static Map<String, Boolean> read(DataInputStream in, String fingerprint)
+      throws IOException {
+    if (in.readInt() != MAGIC
+        || in.readInt() != FORMAT_VERSION
+        || !fingerprint.equals(in.readUTF())) {
+      return null;
+    }
+    int count = in.readInt();
+    Map<String, Boolean> verdicts = new HashMap<>();
+    for (int i = 0; i < count; i++) {
+      verdicts.put(in.readUTF(), in.readBoolean());
+    }
+    return verdicts;
+  }
+
+  /**
+   * Returns the verdict of the instrumentation module for a class loader with the same jars, or
+   * {@code null} when the module has to be checked.
+   */
+  @Nullable
+  Boolean get(ClassLoader classLoader, String instrumentationModuleName) {
+    String key = verdictKey(classLoader, instrumentationModuleName);
+    if (key == null) {
+      return null;
+    }
+    Boolean verdict = verdicts.get(key);
+    if (verdict == null) {
+      verdict = previousVerdicts.get(key);
+      if (verdict == null) {
+        return null;
+      }
+      verdicts.put(key, verdict);
+    }
+    checksAvoided.increment();
+    return verdict;
+  }
+
+  void put(ClassLoader classLoader, String instrumentationModuleName, boolean matches) {
+    String key = verdictKey(classLoader, instrumentationModuleName);
+    if (key != null) {
+      verdicts.put(key, matches);
+    }
+  }
+
+  @Nullable
+  private String verdictKey(ClassLoader classLoader, String instrumentationModuleName) {
+    String classLoaderKey =
+        classLoaderKeys.computeIfAbsent(
+            classLoader,
+            cl -> {
+              String key = ClassLoaderFingerprints.classLoaderKey(cl);
+              return key != null ? key : UNSUPPORTED;
+            });
+    if (classLoaderKey.equals(UNSUPPORTED)) {
+      return null;
+    }
+    return classLoaderKey + ' ' + instrumentationModuleName;
+  }
+
+  // visible for testing
+  void save() {
+    if (file == null) {
+      return;
+    }
+    try {
+      Path parent = file.toAbsolutePath().getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      Path tempFile = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+      try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tempFile))) {
+        write(new DataOutputStream(out));
+      }
+      Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException | RuntimeException e) {
+      logger.log(FINE, "Failed to write muzzle cache " + file, e);
+    }
+  }
+
+  private void write(DataOutputStream out) throws IOException {
+    Map<String, Boolean> sortedVerdicts = new TreeMap<>(verdicts);
+    out.writeInt(MAGIC);
+    out.writeInt(FORMAT_VERSION);
+    out.writeUTF(fingerprint);
+    out.writeInt(sortedVerdicts.size());
+    for (Map.Entry<String, Boolean> entry : sortedVerdicts.entrySet()) {
+      out.writeUTF(entry.getKey());
+      out.writeBoolean(entry.getValue());
+    }
+    out.flush();
+  }
+}
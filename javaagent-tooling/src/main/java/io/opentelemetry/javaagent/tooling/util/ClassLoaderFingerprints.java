@@ -0,0 +1,293 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.util;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+
+import io.opentelemetry.instrumentation.api.internal.ConfigPropertiesUtil;
+import io.opentelemetry.javaagent.tooling.AgentVersion;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+
+/**
+ * Identifies class loaders by the jars and directories they load classes from, so that results
+ * computed for a class loader can be reused for other class loaders with the same classes, also
+ * across JVM restarts. OSGi bundle class loaders are identified by the installed bundles. Other
+ * class loaders that don't expose where their classes come from, e.g. the module class loaders of
+ * JBoss Modules or the application class loaders of Open Liberty, are not identified.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class ClassLoaderFingerprints {
+
+  // listing larger directories costs more than what the callers save
+  private static final int MAX_DIRECTORY_FILES = 10_000;
+
+  private static final String BUNDLE_REFERENCE = "org.osgi.framework.BundleReference";
+
+  /**
+   * Returns a digest of the agent version, the JVM, all the {@code otel.*} settings, the contents
+   * of the agent configuration file and the extension jars. Results persisted across JVM restarts
+   * are valid only when this digest does not change.
+   */
+  public static String agentFingerprint() {
+    StringBuilder fingerprint = new StringBuilder();
+    fingerprint
+        .append(AgentVersion.VERSION)
+        .append('\n')
+        .append(System.getProperty("java.home"))
+        .append('\n')
+        .append(System.getProperty("java.version"));
+    new TreeMap<>(System.getenv())
+        .forEach(
+            (name, value) -> {
+              if (name.startsWith("OTEL_")) {
+                fingerprint.append('\n').append(name).append('=').append(value);
+              }
+            });
+    new TreeSet<>(System.getProperties().stringPropertyNames())
+        .forEach(
+            name -> {
+              if (name.startsWith("otel.")) {
+                fingerprint.append('\n').append(name).append('=').append(System.getProperty(name));
+              }
+            });
+    appendConfigurationFile(fingerprint);
+    appendExtensions(fingerprint, "otel.javaagent.extensions");
+    appendExtensions(fingerprint, "otel.javaagent.experimental.extensions");
+    return digest(fingerprint);
+  }
+
+  // the settings read from the configuration file are not visible as system properties
+  private static void appendConfigurationFile(StringBuilder fingerprint) {
+    String path = ConfigPropertiesUtil.getString("otel.javaagent.configuration-file");
+    if (path == null) {
+      return;
+    }
+    File file = new File(path.replaceFirst("^~", System.getProperty("user.home")));
+    fingerprint.append("\nconfiguration-file ").append(file.getAbsolutePath()).append(' ');
+    try {
+      fingerprint.append(digest(Files.readAllBytes(file.toPath())));
+    } catch (IOException e) {
+      fingerprint.append("unreadable");
+    }
+  }
+
+  // extensions can add instrumentations, same as ExtensionClassLoader a location is either a jar or
+  // a directory of jars
+  private static void appendExtensions(StringBuilder fingerprint, String propertyName) {
+    String locations = ConfigPropertiesUtil.getString(propertyName);
+    if (locations == null) {
+      return;
+    }
+    fingerprint.append('\n');
+    for (String location : locations.split(",")) {
+      if (location.isEmpty()) {
+        continue;
+      }
+      File file = new File(location);
+      File[] jars = file.isDirectory() ? file.listFiles(File::isFile) : new File[] {file};
+      if (jars == null) {
+        continue;
+      }
+      Arrays.sort(jars);
+      for (File jar : jars) {
+        appendFile(fingerprint, jar);
+      }
+    }
+  }
+
+  /**
+   * Returns a key identifying the jars and directories of the class loader and of all its parents,
+   * including the sizes and last modification times of their files, or {@code null} when the class
+   * loader (or one of its parents) loads classes from other kinds of locations.
+   */
+  @Nullable
+  public static String classLoaderKey(ClassLoader classLoader) {
+    ClassLoader systemClassLoader = ClassLoader.getSystemClassLoader();
+    ClassLoader platformClassLoader = systemClassLoader.getParent();
+    StringBuilder key = new StringBuilder();
+    for (ClassLoader cl = classLoader;
+        cl != null && cl != platformClassLoader;
+        cl = cl.getParent()) {
+      key.append(cl.getClass().getName()).append('\n');
+      if (cl instanceof URLClassLoader) {
+        for (URL url : ((URLClassLoader) cl).getURLs()) {
+          if (!appendLocation(key, toFile(url))) {
+            return null;
+          }
+        }
+      } else if (cl == systemClassLoader) {
+        for (String entry : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+          if (!entry.isEmpty() && !appendLocation(key, new File(entry))) {
+            return null;
+          }
+        }
+      } else if (!appendBundles(key, cl)) {
+        return null;
+      }
+    }
+    return digest(key);
+  }
+
+  private static boolean appendLocation(StringBuilder key, @Nullable File location) {
+    if (location == null) {
+      return false;
+    }
+    if (location.isDirectory()) {
+      return appendDirectory(key, location);
+    }
+    if (!location.isFile()) {
+      return false;
+    }
+    appendFile(key, location);
+    return true;
+  }
+
+  // e.g. WEB-INF/classes, any added, removed or changed file changes the key
+  private static boolean appendDirectory(StringBuilder key, File directory) {
+    List<Path> files;
+    try (Stream<Path> paths = Files.walk(directory.toPath())) {
+      files =
+          paths
+              .filter(Files::isRegularFile)
+              .limit(MAX_DIRECTORY_FILES + 1)
+              .sorted()
+              .collect(toList());
+    } catch (IOException | UncheckedIOException e) {
+      return false;
+    }
+    if (files.size() > MAX_DIRECTORY_FILES) {
+      return false;
+    }
+    key.append(directory.getAbsolutePath()).append('\n');
+    for (Path file : files) {
+      appendFile(key, file.toFile());
+    }
+    return true;
+  }
+
+  /**
+   * The classes visible to a bundle depend on the bundles it is wired to, so instead of only the
+   * bundle of the class loader the key covers the location, version and last modification time of
+   * all the installed bundles. OSGi classes are accessed reflectively, they are not visible to the
+   * agent.
+   */
+  private static boolean appendBundles(StringBuilder key, ClassLoader classLoader) {
+    Class<?> bundleReference = findInterface(classLoader.getClass(), BUNDLE_REFERENCE);
+    if (bundleReference == null) {
+      return false;
+    }
+    try {
+      Method getBundle = bundleReference.getMethod("getBundle");
+      Class<?> bundleClass = getBundle.getReturnType();
+      Method getBundleContext = bundleClass.getMethod("getBundleContext");
+      Method getBundles = getBundleContext.getReturnType().getMethod("getBundles");
+      Method getLocation = bundleClass.getMethod("getLocation");
+      Method getVersion = bundleClass.getMethod("getVersion");
+      Method getLastModified = bundleClass.getMethod("getLastModified");
+
+      Object bundle = getBundle.invoke(classLoader);
+      // the context is null when the bundle is not started
+      Object bundleContext = bundle != null ? getBundleContext.invoke(bundle) : null;
+      if (bundleContext == null) {
+        return false;
+      }
+      key.append(getLocation.invoke(bundle)).append('\n');
+      for (Object installedBundle : (Object[]) getBundles.invoke(bundleContext)) {
+        key.append(getLocation.invoke(installedBundle))
+            .append(' ')
+            .append(getVersion.invoke(installedBundle))
+            .append(' ')
+            .append(getLastModified.invoke(installedBundle))
+            .append('\n');
+      }
+      return true;
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return false;
+    }
+  }
+
+  @Nullable
+  private static Class<?> findInterface(@Nullable Class<?> type, String interfaceName) {
+    for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+      for (Class<?> implemented : c.getInterfaces()) {
+        if (implemented.getName().equals(interfaceName)) {
+          return implemented;
+        }
+        Class<?> inherited = findInterface(implemented, interfaceName);
+        if (inherited != null) {
+          return inherited;
+        }
+      }
+    }
+    return null;
+  }
+
+  private static void appendFile(StringBuilder key, File file) {
+    key.append(file.getAbsolutePath())
+        .append(' ')
+        .append(file.length())
+        .append(' ')
+        .append(file.lastModified())
+        .append('\n');
+  }
+
+  @Nullable
+  private static File toFile(URL url) {
+    String spec = url.toString();
+    if (spec.startsWith("jar:")) {
+      // e.g. a jar nested in a spring boot executable jar, use the outer jar
+      int separator = spec.indexOf("!/");
+      spec = spec.substring("jar:".length(), separator == -1 ? spec.length() : separator);
+    }
+    if (!spec.startsWith("file:")) {
+      return null;
+    }
+    try {
+      return new File(new URI(spec));
+    } catch (URISyntaxException | IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  private static String digest(CharSequence value) {
+    return digest(value.toString().getBytes(UTF_8));
+  }
+
+  private static String digest(byte[] value) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(value);
+      StringBuilder hex = new StringBuilder(digest.length * 2);
+      for (byte b : digest) {
+        hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+      }
+      return hex.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private ClassLoaderFingerprints() {}
+}
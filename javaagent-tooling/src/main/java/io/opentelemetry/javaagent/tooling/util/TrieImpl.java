@@ -6,107 +6,106 @@
 package io.opentelemetry.javaagent.tooling.util;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import java.util.ArrayDeque;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Iterator;
+import java.util.Deque;
 import java.util.Map;
-import javax.annotation.Nullable;
+import java.util.TreeMap;
 
+/**
+ * A trie flattened into arrays when it is built: the nodes are numbered in breadth-first order, so
+ * that the children of each node are consecutive nodes, sorted by their chars. Looking up a string
+ * is then a binary search in a slice of a single {@code char[]} per character, without any node
+ * objects to chase.
+ */
 final class TrieImpl<V> implements Trie<V> {
 
-  private final Node<V> root;
-
-  private TrieImpl(Node<V> root) {
-    this.root = root;
+  // the char leading to node i (unused for the root, node 0)
+  private final char[] chars;
+  // the children of node i are the nodes firstChild[i] until firstChild[i + 1] (exclusive)
+  private final int[] firstChild;
+  // the value of node i, or null
+  private final Object[] values;
+
+  private TrieImpl(char[] chars, int[] firstChild, Object[] values) {
+    this.chars = chars;
+    this.firstChild = firstChild;
+    this.values = values;
   }
 
   @Override
+  @SuppressWarnings("unchecked")
   public V getOrDefault(CharSequence str, V defaultValue) {
-    Node<V> node = root;
-    V lastMatchedValue = defaultValue;
+    int node = 0;
+    Object lastMatchedValue = defaultValue;
 
     for (int i = 0; i < str.length(); ++i) {
-      char c = str.charAt(i);
-      Node<V> next = node.getNext(c);
-      if (next == null) {
-        return lastMatchedValue;
+      int next = Arrays.binarySearch(chars, firstChild[node], firstChild[node + 1], str.charAt(i));
+      if (next < 0) {
+        break;
       }
       node = next;
       // next node matched, use its value if it's defined
-      lastMatchedValue = next.value != null ? next.value : lastMatchedValue;
-    }
-
-    return lastMatchedValue;
-  }
-
-  static final class Node<V> {
-    final char[] chars;
-    final Node<V>[] children;
-    final V value;
-
-    Node(char[] chars, Node<V>[] children, V value) {
-      this.chars = chars;
-      this.children = children;
-      this.value = value;
-    }
-
-    @Nullable
-    Node<V> getNext(char c) {
-      int index = Arrays.binarySearch(chars, c);
-      if (index < 0) {
-        return null;
+      if (values[node] != null) {
+        lastMatchedValue = values[node];
       }
-      return children[index];
     }
+
+    return (V) lastMatchedValue;
   }
 
   static final class BuilderImpl<V> implements Builder<V> {
 
     private final NodeBuilder<V> root = new NodeBuilder<>();
+    private int size = 1;
 
     @Override
     @CanIgnoreReturnValue
     public Builder<V> put(CharSequence str, V value) {
-      put(root, str, 0, value);
-      return this;
-    }
-
-    private void put(NodeBuilder<V> node, CharSequence str, int i, V value) {
-      if (str.length() == i) {
-        node.value = value;
-        return;
+      NodeBuilder<V> node = root;
+      for (int i = 0; i < str.length(); i++) {
+        NodeBuilder<V> next = node.children.get(str.charAt(i));
+        if (next == null) {
+          next = new NodeBuilder<>();
+          node.children.put(str.charAt(i), next);
+          size++;
+        }
+        node = next;
       }
-      char c = str.charAt(i);
-      NodeBuilder<V> next = node.children.computeIfAbsent(c, k -> new NodeBuilder<>());
-      put(next, str, i + 1, value);
+      node.value = value;
+      return this;
     }
 
     @Override
     public Trie<V> build() {
-      return new TrieImpl<>(root.build());
+      char[] chars = new char[size];
+      int[] firstChild = new int[size + 1];
+      Object[] values = new Object[size];
+
+      Deque<NodeBuilder<V>> queue = new ArrayDeque<>();
+      queue.add(root);
+      int node = 0;
+      // index of the next node to be numbered, the root is 0
+      int next = 1;
+      while (!queue.isEmpty()) {
+        NodeBuilder<V> current = queue.remove();
+        values[node] = current.value;
+        firstChild[node] = next;
+        for (Map.Entry<Character, NodeBuilder<V>> child : current.children.entrySet()) {
+          chars[next++] = child.getKey();
+          queue.add(child.getValue());
+        }
+        node++;
+      }
+      firstChild[size] = size;
+
+      return new TrieImpl<>(chars, firstChild, values);
     }
   }
 
   static final class NodeBuilder<V> {
-    final Map<Character, NodeBuilder<V>> children = new HashMap<>();
+    // sorted, so that the children can be binary searched
+    final Map<Character, NodeBuilder<V>> children = new TreeMap<>();
     V value;
-
-    Node<V> build() {
-      int size = children.size();
-      char[] chars = new char[size];
-      @SuppressWarnings({"unchecked", "rawtypes"})
-      Node<V>[] nodes = new Node[size];
-
-      int i = 0;
-      Iterator<Map.Entry<Character, NodeBuilder<V>>> it =
-          this.children.entrySet().stream().sorted(Map.Entry.comparingByKey()).iterator();
-      while (it.hasNext()) {
-        Map.Entry<Character, NodeBuilder<V>> e = it.next();
-        chars[i] = e.getKey();
-        nodes[i++] = e.getValue().build();
-      }
-
-      return new Node<>(chars, nodes, value);
-    }
   }
 }
@@ -0,0 +1,188 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.ignore;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import io.opentelemetry.javaagent.tooling.util.ClassLoaderFingerprints;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PersistentIgnoredTypesCacheTest {
+
+  private static final TypeDescription IGNORED = type("com.example.Ignored");
+  private static final TypeDescription TRANSFORMED = type("com.example.Transformed");
+  private static final TypeDescription GENERATED = type("com.example.Generated$$Proxy");
+
+  @TempDir Path tempDir;
+
+  @Test
+  void skipsTypesThatWereNotTransformedInPreviousRun() throws IOException {
+    Path cacheFile = tempDir.resolve("cache").resolve("types.bin");
+    Path jar = createJar("app.jar", "com/example/Ignored.class", "com/example/Transformed.class");
+
+    PersistentIgnoredTypesCache cache = PersistentIgnoredTypesCache.load(cacheFile, "fingerprint");
+    try (URLClassLoader classLoader = newClassLoader(jar)) {
+      assertThat(matches(cache, IGNORED, classLoader)).isFalse();
+
+      AgentBuilder.Listener listener = cache.listener();
+      listener.onIgnored(IGNORED, classLoader, null, false);
+      listener.onIgnored(GENERATED, classLoader, null, false);
+      listener.onTransformation(TRANSFORMED, classLoader, null, false, mock(DynamicType.class));
+      cache.save();
+    }
+
+    cache = PersistentIgnoredTypesCache.load(cacheFile, "fingerprint");
+    try (URLClassLoader classLoader = newClassLoader(jar)) {
+      assertThat(matches(cache, IGNORED, classLoader)).isTrue();
+      assertThat(matches(cache, TRANSFORMED, classLoader)).isFalse();
+      // not loaded from the class loader jars
+      assertThat(matches(cache, GENERATED, classLoader)).isFalse();
+      // retransformation
+      assertThat(cache.matches(IGNORED, classLoader, null, Object.class, null)).isFalse();
+    }
+  }
+
+  @Test
+  void invalidatesTypesWhenFingerprintOrJarsChange() throws IOException {
+    Path cacheFile = tempDir.resolve("types.bin");
+    Path jar = createJar("app.jar", "com/example/Ignored.class");
+
+    PersistentIgnoredTypesCache cache = PersistentIgnoredTypesCache.load(cacheFile, "fingerprint");
+    try (URLClassLoader classLoader = newClassLoader(jar)) {
+      cache.listener().onIgnored(IGNORED, classLoader, null, false);
+      cache.save();
+    }
+
+    cache = PersistentIgnoredTypesCache.load(cacheFile, "other fingerprint");
+    try (URLClassLoader classLoader = newClassLoader(jar)) {
+      assertThat(matches(cache, IGNORED, classLoader)).isFalse();
+    }
+
+    createJar("app.jar", "com/example/Ignored.class", "com/example/Other.class");
+    cache = PersistentIgnoredTypesCache.load(cacheFile, "fingerprint");
+    try (URLClassLoader classLoader = newClassLoader(jar)) {
+      assertThat(matches(cache, IGNORED, classLoader)).isFalse();
+    }
+  }
+
+  @Test
+  void mergesTypesOfClassLoadersWithSameJars() throws IOException {
+    Path cacheFile = tempDir.resolve("types.bin");
+    Path jar = createJar("app.jar", "com/example/Ignored.class", "com/example/Transformed.class");
+
+    PersistentIgnoredTypesCache cache = PersistentIgnoredTypesCache.load(cacheFile, "fingerprint");
+    try (URLClassLoader first = newClassLoader(jar);
+        URLClassLoader second = newClassLoader(jar)) {
+      cache.listener().onIgnored(IGNORED, first, null, false);
+      cache.listener().onIgnored(TRANSFORMED, first, null, false);
+      cache.listener().onTransformation(TRANSFORMED, second, null, false, mock(DynamicType.class));
+      cache.save();
+    }
+
+    cache = PersistentIgnoredTypesCache.load(cacheFile, "fingerprint");
+    try (URLClassLoader classLoader = newClassLoader(jar)) {
+      assertThat(matches(cache, IGNORED, classLoader)).isTrue();
+      assertThat(matches(cache, TRANSFORMED, classLoader)).isFalse();
+    }
+  }
+
+  @Test
+  void agentFingerprintCoversConfigurationFileAndExtensions() throws IOException {
+    Path configFile = tempDir.resolve("otel.properties");
+    Files.write(configFile, "otel.instrumentation.common.default-enabled=true".getBytes(UTF_8));
+    Path extension = createJar("extension.jar", "com/example/Extension.class");
+    System.setProperty("otel.javaagent.configuration-file", configFile.toString());
+    System.setProperty("otel.javaagent.extensions", extension.toString());
+    try {
+      String fingerprint = ClassLoaderFingerprints.agentFingerprint();
+      assertThat(ClassLoaderFingerprints.agentFingerprint()).isEqualTo(fingerprint);
+
+      Files.write(configFile, "otel.instrumentation.common.default-enabled=false".getBytes(UTF_8));
+      String newConfigFingerprint = ClassLoaderFingerprints.agentFingerprint();
+      assertThat(newConfigFingerprint).isNotEqualTo(fingerprint);
+
+      createJar("extension.jar", "com/example/Extension.class", "com/example/Other.class");
+      assertThat(ClassLoaderFingerprints.agentFingerprint()).isNotEqualTo(newConfigFingerprint);
+    } finally {
+      System.clearProperty("otel.javaagent.configuration-file");
+      System.clearProperty("otel.javaagent.extensions");
+    }
+  }
+
+  @Test
+  void keysClassLoadersWithDirectoriesByTheirFiles() throws IOException {
+    Path classesDir = Files.createDirectories(tempDir.resolve("classes"));
+    Path packageDir = Files.createDirectories(classesDir.resolve("com/example"));
+    Files.write(packageDir.resolve("First.class"), new byte[] {1});
+    try (URLClassLoader classLoader = newClassLoader(classesDir)) {
+      String key = ClassLoaderFingerprints.classLoaderKey(classLoader);
+      assertThat(key).isNotNull();
+      assertThat(ClassLoaderFingerprints.classLoaderKey(classLoader)).isEqualTo(key);
+
+      Files.write(packageDir.resolve("Second.class"), new byte[] {2});
+      assertThat(ClassLoaderFingerprints.classLoaderKey(classLoader)).isNotNull().isNotEqualTo(key);
+    }
+  }
+
+  @Test
+  void doesNotCacheUnknownClassLoaders() {
+    ClassLoader classLoader = new ClassLoader(null) {};
+    assertThat(ClassLoaderFingerprints.classLoaderKey(classLoader)).isNull();
+  }
+
+  @Test
+  void ignoresCorruptedFile() throws IOException {
+    Path cacheFile = tempDir.resolve("types.bin");
+    Files.write(cacheFile, new byte[] {1, 2, 3});
+    Path jar = createJar("app.jar", "com/example/Ignored.class");
+
+    PersistentIgnoredTypesCache cache = PersistentIgnoredTypesCache.load(cacheFile, "fingerprint");
+    try (URLClassLoader classLoader = newClassLoader(jar)) {
+      assertThat(matches(cache, IGNORED, classLoader)).isFalse();
+    }
+  }
+
+  private static boolean matches(
+      PersistentIgnoredTypesCache cache, TypeDescription type, ClassLoader classLoader) {
+    return cache.matches(type, classLoader, null, null, null);
+  }
+
+  private static TypeDescription type(String name) {
+    return new TypeDescription.Latent(name, Modifier.PUBLIC, TypeDescription.Generic.OBJECT);
+  }
+
+  private Path createJar(String name, String... entries) throws IOException {
+    Path jar = tempDir.resolve(name);
+    try (OutputStream out = Files.newOutputStream(jar);
+        JarOutputStream jarOut = new JarOutputStream(out)) {
+      for (String entry : entries) {
+        jarOut.putNextEntry(new JarEntry(entry));
+        jarOut.write(new byte[] {(byte) 0xca, (byte) 0xfe, (byte) 0xba, (byte) 0xbe});
+        jarOut.closeEntry();
+      }
+    }
+    return jar;
+  }
+
+  private static URLClassLoader newClassLoader(Path path) throws IOException {
+    return new URLClassLoader(new URL[] {path.toUri().toURL()}, null);
+  }
+}
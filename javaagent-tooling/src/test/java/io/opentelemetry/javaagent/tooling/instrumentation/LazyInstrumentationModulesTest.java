@@ -0,0 +1,214 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.instrumentation;
+
+import static java.util.Collections.singletonList;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import io.opentelemetry.javaagent.bootstrap.internal.ClassLoaderMatcherCacheHolder;
+import io.opentelemetry.javaagent.extension.instrumentation.InstrumentationModule;
+import io.opentelemetry.javaagent.extension.instrumentation.TypeInstrumentation;
+import io.opentelemetry.javaagent.extension.instrumentation.TypeTransformer;
+import io.opentelemetry.javaagent.tooling.EmptyConfigProperties;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.instrument.Instrumentation;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import net.bytebuddy.agent.ByteBuddyAgent;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.agent.builder.ResettableClassFileTransformer;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LazyInstrumentationModulesTest {
+
+  private static final String MARKER = "lazy-instrumentation-modules-test.marker";
+
+  @TempDir Path tempDir;
+
+  private final Instrumentation instrumentation = ByteBuddyAgent.install();
+  private ResettableClassFileTransformer transformer;
+
+  @AfterEach
+  void tearDown() {
+    if (transformer != null) {
+      transformer.reset(instrumentation, AgentBuilder.RedefinitionStrategy.RETRANSFORMATION);
+    }
+  }
+
+  @Test
+  void activatesModuleWhenClassLoaderMatches() throws Exception {
+    install();
+
+    try (TestClassLoader matching = new TestClassLoader(testClasses(), markerDirectory());
+        TestClassLoader other = new TestClassLoader(testClasses())) {
+      assertThat(greet(matching)).isEqualTo("instrumented");
+      assertThat(greet(other)).isEqualTo("hello");
+    }
+  }
+
+  @Test
+  void retransformsClassesLoadedBeforeActivation() throws Exception {
+    install();
+
+    try (TestClassLoader classLoader = new TestClassLoader(testClasses())) {
+      Class<?> greeter = classLoader.loadClass(Greeter.class.getName());
+      assertThat(greet(greeter)).isEqualTo("hello");
+
+      classLoader.addURL(markerDirectory());
+      // what the instrumentation of URLClassLoader.addURL() does
+      ClassLoaderMatcherCacheHolder.invalidateAllCachesForClassLoader(classLoader);
+      // the next loaded class activates the module
+      classLoader.loadClass(Other.class.getName());
+
+      await()
+          .atMost(Duration.ofSeconds(10))
+          .untilAsserted(() -> assertThat(greet(greeter)).isEqualTo("instrumented"));
+    }
+  }
+
+  @Test
+  void agentTransformerAppliesActivatedModules() throws Exception {
+    install();
+
+    // the lambda classes are transformed by calling the agent's transformer directly, it has to
+    // apply the lazily activated modules too
+    try (TestClassLoader classLoader = new TestClassLoader(testClasses(), markerDirectory())) {
+      classLoader.loadClass(Other.class.getName());
+
+      String className = Greeter.class.getName().replace('.', '/');
+      byte[] classBytes = readClassBytes(className);
+      assertThat(transformer.transform(classLoader, className, null, null, classBytes))
+          .isNotNull()
+          .isNotEqualTo(classBytes);
+    }
+  }
+
+  private void install() {
+    LazyInstrumentationModules lazyModules =
+        new LazyInstrumentationModules(
+            new InstrumentationModuleInstaller(instrumentation),
+            EmptyConfigProperties.INSTANCE,
+            instrumentation);
+    assertThat(lazyModules.register(new GreeterInstrumentationModule())).isTrue();
+
+    AgentBuilder agentBuilder =
+        new AgentBuilder.Default()
+            .disableClassFormatChanges()
+            .with(AgentBuilder.RedefinitionStrategy.RETRANSFORMATION);
+    transformer = lazyModules.extend(agentBuilder).installOn(instrumentation);
+  }
+
+  private static URL testClasses() {
+    return Greeter.class.getProtectionDomain().getCodeSource().getLocation();
+  }
+
+  private URL markerDirectory() throws IOException {
+    Path directory = tempDir.resolve("marker");
+    Files.createDirectories(directory);
+    Files.write(directory.resolve(MARKER), new byte[0]);
+    return directory.toUri().toURL();
+  }
+
+  private static String greet(ClassLoader classLoader) throws Exception {
+    return greet(classLoader.loadClass(Greeter.class.getName()));
+  }
+
+  private static String greet(Class<?> greeter) throws Exception {
+    return (String) greeter.getMethod("greet").invoke(null);
+  }
+
+  private static byte[] readClassBytes(String className) throws IOException {
+    try (InputStream in =
+        LazyInstrumentationModulesTest.class
+            .getClassLoader()
+            .getResourceAsStream(className + ".class")) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      byte[] buffer = new byte[8192];
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        out.write(buffer, 0, read);
+      }
+      return out.toByteArray();
+    }
+  }
+
+  private static final class TestClassLoader extends URLClassLoader {
+
+    TestClassLoader(URL... urls) {
+      super(urls, null);
+    }
+
+    @Override
+    public void addURL(URL url) {
+      super.addURL(url);
+    }
+  }
+
+  public static class Greeter {
+    public static String greet() {
+      return "hello";
+    }
+  }
+
+  public static class Other {}
+
+  public static class GreeterInstrumentationModule extends InstrumentationModule {
+
+    GreeterInstrumentationModule() {
+      super("lazy-test");
+    }
+
+    @Override
+    public ElementMatcher.Junction<ClassLoader> classLoaderMatcher() {
+      return new ElementMatcher.Junction.AbstractBase<ClassLoader>() {
+        @Override
+        public boolean matches(ClassLoader classLoader) {
+          return classLoader instanceof TestClassLoader && classLoader.getResource(MARKER) != null;
+        }
+      };
+    }
+
+    @Override
+    public List<TypeInstrumentation> typeInstrumentations() {
+      return singletonList(new GreeterInstrumentation());
+    }
+  }
+
+  public static class GreeterInstrumentation implements TypeInstrumentation {
+
+    @Override
+    public ElementMatcher<TypeDescription> typeMatcher() {
+      return named(Greeter.class.getName());
+    }
+
+    @Override
+    public void transform(TypeTransformer transformer) {
+      transformer.applyAdviceToMethod(named("greet"), GreeterAdvice.class.getName());
+    }
+  }
+
+  @SuppressWarnings("unused")
+  public static class GreeterAdvice {
+
+    @Advice.OnMethodExit(suppress = Throwable.class)
+    public static void onExit(@Advice.Return(readOnly = false) String result) {
+      result = "instrumented";
+    }
+  }
+}
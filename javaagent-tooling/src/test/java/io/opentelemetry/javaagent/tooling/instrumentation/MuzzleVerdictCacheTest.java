@@ -0,0 +1,111 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.instrumentation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MuzzleVerdictCacheTest {
+
+  private static final String MODULE = "com.example.ExampleInstrumentationModule";
+  private static final String OTHER_MODULE = "com.example.OtherInstrumentationModule";
+
+  @TempDir Path tempDir;
+
+  @Test
+  void sharesVerdictsBetweenClassLoadersWithSameJars() throws IOException {
+    Path jar = createJar("app.jar");
+    Path otherJar = createJar("other.jar");
+
+    MuzzleVerdictCache cache = MuzzleVerdictCache.load(tempDir.resolve("muzzle.bin"), "");
+    try (URLClassLoader classLoader = newClassLoader(jar);
+        URLClassLoader sameJars = newClassLoader(jar);
+        URLClassLoader otherJars = newClassLoader(otherJar)) {
+      assertThat(cache.get(classLoader, MODULE)).isNull();
+      cache.put(classLoader, MODULE, false);
+
+      assertThat(cache.get(sameJars, MODULE)).isFalse();
+      assertThat(cache.get(sameJars, OTHER_MODULE)).isNull();
+      assertThat(cache.get(otherJars, MODULE)).isNull();
+    }
+  }
+
+  @Test
+  void persistsVerdictsWhileFingerprintAndJarsDoNotChange() throws IOException {
+    Path cacheFile = tempDir.resolve("cache").resolve("muzzle.bin");
+    Path jar = createJar("app.jar");
+
+    MuzzleVerdictCache cache = MuzzleVerdictCache.load(cacheFile, "fingerprint");
+    try (URLClassLoader classLoader = newClassLoader(jar)) {
+      cache.put(classLoader, MODULE, true);
+      cache.put(classLoader, OTHER_MODULE, false);
+      cache.save();
+    }
+
+    cache = MuzzleVerdictCache.load(cacheFile, "fingerprint");
+    try (URLClassLoader classLoader = newClassLoader(jar)) {
+      assertThat(cache.get(classLoader, MODULE)).isTrue();
+      assertThat(cache.get(classLoader, OTHER_MODULE)).isFalse();
+    }
+
+    cache = MuzzleVerdictCache.load(cacheFile, "other fingerprint");
+    try (URLClassLoader classLoader = newClassLoader(jar)) {
+      assertThat(cache.get(classLoader, MODULE)).isNull();
+    }
+
+    createJar("app.jar", "com/example/Added.class");
+    cache = MuzzleVerdictCache.load(cacheFile, "fingerprint");
+    try (URLClassLoader classLoader = newClassLoader(jar)) {
+      assertThat(cache.get(classLoader, MODULE)).isNull();
+    }
+  }
+
+  @Test
+  void sharesVerdictsBetweenClassLoadersWithSameDirectory() throws IOException {
+    Path classesDir = Files.createDirectories(tempDir.resolve("classes"));
+    Files.write(classesDir.resolve("Example.class"), new byte[] {1});
+
+    MuzzleVerdictCache cache = MuzzleVerdictCache.load(tempDir.resolve("muzzle.bin"), "");
+    try (URLClassLoader classLoader = newClassLoader(classesDir);
+        URLClassLoader sameDirectory = newClassLoader(classesDir)) {
+      cache.put(classLoader, MODULE, true);
+      assertThat(cache.get(sameDirectory, MODULE)).isTrue();
+    }
+
+    Files.write(classesDir.resolve("Added.class"), new byte[] {2});
+    try (URLClassLoader changedDirectory = newClassLoader(classesDir)) {
+      assertThat(cache.get(changedDirectory, MODULE)).isNull();
+    }
+  }
+
+  private Path createJar(String name, String... entries) throws IOException {
+    Path jar = tempDir.resolve(name);
+    try (OutputStream out = Files.newOutputStream(jar);
+        JarOutputStream jarOut = new JarOutputStream(out)) {
+      jarOut.putNextEntry(new JarEntry("com/example/Example.class"));
+      jarOut.closeEntry();
+      for (String entry : entries) {
+        jarOut.putNextEntry(new JarEntry(entry));
+        jarOut.closeEntry();
+      }
+    }
+    return jar;
+  }
+
+  private static URLClassLoader newClassLoader(Path path) throws IOException {
+    return new URLClassLoader(new URL[] {path.toUri().toURL()}, null);
+  }
+}
@@ -50,4 +50,65 @@ class TrieTest {
 
     assertEquals(-1, trie.getOrDefault("acdc", -1));
   }
+
+  @Test
+  void shouldMatchLongestPrefixAmongManyEntries() {
+    String[] prefixes = {
+      "java.",
+      "javax.",
+      "jdk.",
+      "sun.",
+      "com.sun.",
+      "com.google.",
+      "com.google.common.",
+      "org.springframework.",
+      "org.springframework.web.",
+      "org.springframework.web.servlet.",
+      "org.apache.",
+      "org.apache.catalina.",
+      "org.apache.tomcat.",
+      "net.bytebuddy.",
+      "a",
+      "ab"
+    };
+    Trie.Builder<Integer> builder = Trie.builder();
+    for (int i = 0; i < prefixes.length; i++) {
+      builder.put(prefixes[i], i);
+    }
+    Trie<Integer> trie = builder.build();
+
+    String[] classNames = {
+      "java.lang.String",
+      "javax.servlet.Filter",
+      "jdk.internal.misc.Unsafe",
+      "sun.misc.Unsafe",
+      "com.sun.proxy.$Proxy12",
+      "com.google.common.collect.ImmutableList",
+      "com.google.gson.Gson",
+      "org.springframework.web.servlet.DispatcherServlet",
+      "org.springframework.web.bind.Foo",
+      "org.springframework.boot.SpringApplication",
+      "org.apache.catalina.core.StandardContext",
+      "org.apache.commons.lang3.StringUtils",
+      "net.bytebuddy.ByteBuddy",
+      "abc",
+      "a",
+      "b",
+      "",
+      "com.example.Main",
+      "java",
+      "org.springframewor"
+    };
+    for (String className : classNames) {
+      Integer expected = null;
+      int longest = -1;
+      for (int i = 0; i < prefixes.length; i++) {
+        if (className.startsWith(prefixes[i]) && prefixes[i].length() > longest) {
+          expected = i;
+          longest = prefixes[i].length();
+        }
+      }
+      assertEquals(expected, trie.getOrNull(className), className);
+    }
+  }
 }
@@ -5,9 +5,11 @@
 
 package io.opentelemetry.javaagent.tooling;
 
+import static io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics.CounterNames.HELPER_CLASS_LOADER_INJECTIONS;
 import static java.util.logging.Level.FINE;
 import static java.util.logging.Level.SEVERE;
 
+import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
 import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import io.opentelemetry.javaagent.bootstrap.HelperResources;
 import io.opentelemetry.javaagent.bootstrap.InjectedClassHelper;
@@ -79,6 +81,9 @@ public class HelperInjector implements Transformer {
         }
       };
 
+  private static final SupportabilityMetrics.Counter classLoaderInjections =
+      SupportabilityMetrics.instance().counter(HELPER_CLASS_LOADER_INJECTIONS);
+
   private static final Cache<ClassLoader, Map<String, HelperClassInjector>> helperInjectors =
       Cache.weak();
 
@@ -89,6 +94,8 @@ public class HelperInjector implements Transformer {
   @Nullable private final ClassLoader helpersSource;
   @Nullable private final Instrumentation instrumentation;
   private final Map<String, byte[]> dynamicTypeMap = new LinkedHashMap<>();
+  // helper class bytes are read from the helpers source only once and shared by all class loaders
+  @Nullable private volatile Map<String, byte[]> helperMap;
 
   private final Cache<ClassLoader, Boolean> injectedClassLoaders = Cache.weak();
   private final Cache<ClassLoader, Boolean> resourcesInjectedClassLoaders = Cache.weak();
@@ -147,8 +154,12 @@ public class HelperInjector implements Transformer {
   }
 
   private Map<String, byte[]> getHelperMap() throws IOException {
-    if (dynamicTypeMap.isEmpty()) {
-      Map<String, byte[]> classnameToBytes = new LinkedHashMap<>();
+    if (!dynamicTypeMap.isEmpty()) {
+      return dynamicTypeMap;
+    }
+    Map<String, byte[]> classnameToBytes = helperMap;
+    if (classnameToBytes == null) {
+      classnameToBytes = new LinkedHashMap<>();
 
       ClassFileLocator locator = ClassFileLocator.ForClassLoader.of(helpersSource);
 
@@ -157,10 +168,9 @@ public class HelperInjector implements Transformer {
         classnameToBytes.put(helperClassName, classBytes);
       }
 
-      return classnameToBytes;
-    } else {
-      return dynamicTypeMap;
+      helperMap = classnameToBytes;
     }
+    return classnameToBytes;
   }
 
   @Override
@@ -251,21 +261,37 @@ public class HelperInjector implements Transformer {
             Map<String, byte[]> classnameToBytes = getHelperMap();
             Map<String, HelperClassInjector> map =
                 helperInjectors.computeIfAbsent(cl, (unused) -> new ConcurrentHashMap<>());
-            for (Map.Entry<String, byte[]> entry : classnameToBytes.entrySet()) {
-              // for boot loader we use a placeholder injector, we only need these classes to be
-              // in the injected classes map to later tell which of the classes are injected
-              HelperClassInjector injector =
-                  isBootClassLoader(cl)
-                      ? BOOT_CLASS_INJECTOR
-                      : new HelperClassInjector(entry.getValue());
-              map.put(entry.getKey(), injector);
-            }
+            // helpers shared by several instrumentation modules are registered only by the first
+            // module that is applied to the class loader, the lock makes sure that a shared boot
+            // loader helper is defined before the other modules that use it are injected
+            synchronized (map) {
+              Map<String, byte[]> newHelpers = new LinkedHashMap<>();
+              for (Map.Entry<String, byte[]> entry : classnameToBytes.entrySet()) {
+                if (!map.containsKey(entry.getKey())) {
+                  newHelpers.put(entry.getKey(), entry.getValue());
+                }
+              }
+              if (newHelpers.isEmpty()) {
+                return true;
+              }
 
-            // For boot loader we define the classes immediately. For other loaders we load them
-            // from the loadClass method of the class loader.
-            if (isBootClassLoader(cl)) {
-              injectBootstrapClassLoader(classnameToBytes);
+              for (Map.Entry<String, byte[]> entry : newHelpers.entrySet()) {
+                // for boot loader we use a placeholder injector, we only need these classes to be
+                // in the injected classes map to later tell which of the classes are injected
+                HelperClassInjector injector =
+                    isBootClassLoader(cl)
+                        ? BOOT_CLASS_INJECTOR
+                        : new HelperClassInjector(entry.getValue());
+                map.put(entry.getKey(), injector);
+              }
+
+              // For boot loader we define the classes immediately. For other loaders we load them
+              // from the loadClass method of the class loader.
+              if (isBootClassLoader(cl)) {
+                injectBootstrapClassLoader(newHelpers);
+              }
             }
+            classLoaderInjections.increment();
           } catch (Exception e) {
             if (logger.isLoggable(SEVERE)) {
               logger.log(